@@ -2,17 +2,39 @@ package com.studentapp.backend.config;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 
 import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Properties;
+import java.util.Set;
 
 @Configuration
 public class DatabaseConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseConfig.class);
+
+    // Autocommit statements a transaction pooler may route to different backends
+    private static final int POOLER_PROBE_STATEMENTS = 5;
+
+    private static final int DEFAULT_MINIMUM_IDLE = 2;
+
     @Value("${spring.datasource.url}")
     private String jdbcUrl;
 
@@ -25,45 +47,163 @@ public class DatabaseConfig {
     @Value("${spring.datasource.driver-class-name:org.postgresql.Driver}")
     private String driverClassName;
 
+    // Cores of the database server, for the default pool size; 0 assumes it matches this host
+    @Value("${app.datasource.db-cores:0}")
+    private int dbCores;
+
+    // Optional read replica; when unset all traffic uses the primary
+    @Value("${app.datasource.replica.url:}")
+    private String replicaUrl;
+
+    @Value("${app.datasource.replica.username:${spring.datasource.username:#{null}}}")
+    private String replicaUsername;
+
+    @Value("${app.datasource.replica.password:${spring.datasource.password:#{null}}}")
+    private String replicaPassword;
+
+    @Value("${app.datasource.replica.read-your-writes-window-ms:5000}")
+    private long readYourWritesWindowMs;
+
+    @Value("${app.datasource.prepared-statements.mode:auto}")
+    private String preparedStatementMode;
+
+    @Value("${app.datasource.prepared-statements.transaction-pooler-ports:6543}")
+    private List<Integer> transactionPoolerPorts;
+
+    @Value("${app.datasource.prepared-statements.prepare-threshold:5}")
+    private int prepareThreshold;
+
+    @Value("${app.datasource.prepared-statements.cache-queries:256}")
+    private int statementCacheQueries;
+
+    @Value("${app.datasource.prepared-statements.cache-size-mib:5}")
+    private int statementCacheSizeMiB;
+
+    /**
+     * Pool settings from {@code spring.datasource.hikari.*}; anything left unset gets the
+     * defaults in {@link #applyPoolDefaults}.
+     */
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariConfig hikariConfig() {
+        return new HikariConfig();
+    }
+
     @Bean
     @Primary
-    public DataSource dataSource() {
-        HikariConfig config = new HikariConfig();
-        config.setJdbcUrl(jdbcUrl);
+    public DataSource dataSource(HikariConfig config, ObjectProvider<MeterRegistry> meterRegistry) {
+        applyPoolDefaults(config, dbCores > 0 ? dbCores : Runtime.getRuntime().availableProcessors());
+        boolean hasReplica = replicaUrl != null && !replicaUrl.isBlank();
+
+        // The replica pool is sized and tuned like the primary; copy the settings before they are sealed
+        HikariConfig replicaConfig = new HikariConfig();
+        if (hasReplica) {
+            config.copyStateTo(replicaConfig);
+            Properties replicaProps = new Properties();
+            replicaProps.putAll(config.getDataSourceProperties());
+            replicaConfig.setDataSourceProperties(replicaProps);
+        }
+
+        HikariDataSource primary = buildPool(config, jdbcUrl, username, password, config.getPoolName(), meterRegistry);
+        if (!hasReplica) {
+            return primary;
+        }
+
+        // Read-only transactions go to the replica pool
+        HikariDataSource replica = buildPool(replicaConfig, replicaUrl, replicaUsername, replicaPassword,
+            config.getPoolName() + "-replica", meterRegistry);
+        logger.info("Routing read-only transactions to replica {}", redact(replicaUrl));
+        return ReplicaRoutingDataSource.lazy(new ReplicaRoutingDataSource(primary, replica,
+            Duration.ofMillis(readYourWritesWindowMs), ReplicaRoutingDataSource::securityContextUser));
+    }
+
+    private HikariDataSource buildPool(HikariConfig config, String url, String user, String pass, String poolName,
+                                       ObjectProvider<MeterRegistry> meterRegistry) {
+        config.setJdbcUrl(url);
+        config.setPoolName(poolName);
         
         // Only set username and password if they are provided separately
         // (not embedded in the URL)
-        if (username != null) {
-            config.setUsername(username);
+        if (user != null) {
+            config.setUsername(user);
         }
-        if (password != null) {
-            config.setPassword(password);
+        if (pass != null) {
+            config.setPassword(pass);
         }
         
         config.setDriverClassName(driverClassName);
 
         config.setAutoCommit(false);
 
-        // Connection pool settings
-        config.setMaximumPoolSize(10);
-        config.setMinimumIdle(2);
-        config.setConnectionTimeout(20000);
-        config.setIdleTimeout(300000);
-        config.setLeakDetectionThreshold(60000);
-
-        // PostgreSQL specific properties to avoid prepared statement conflicts
-        Properties props = new Properties();
-        props.setProperty("prepareThreshold", "0");
-        props.setProperty("preparedStatementCacheQueries", "0");
-        props.setProperty("preparedStatementCacheSizeMiB", "0");
-        props.setProperty("defaultRowFetchSize", "1000");
-        
-        config.setDataSourceProperties(props);
+        // Named server-side prepared statements unless connections go through a transaction pooler;
+        // driver properties set explicitly under spring.datasource.hikari.data-source-properties win
+        PreparedStatementMode mode = PreparedStatementMode.resolve(preparedStatementMode, url,
+            transactionPoolerPorts, () -> probeTransactionPooler(url, user, pass));
+        logger.info("Using {} prepared statement mode for {}", mode, redact(url));
+        Properties props = config.getDataSourceProperties();
+        mode.driverProperties(prepareThreshold, statementCacheQueries, statementCacheSizeMiB).forEach(props::putIfAbsent);
+        props.putIfAbsent("defaultRowFetchSize", "1000");
 
-        // Connection validation
-        config.setConnectionTestQuery("SELECT 1");
-        config.setValidationTimeout(5000);
+        // Pool gauges (active, idle, pending) and acquire/usage/creation timers under hikaricp.*
+        meterRegistry.ifAvailable(registry -> config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
 
         return new HikariDataSource(config);
     }
+
+    /**
+     * Fill in unset pool settings. The default maximum follows the usual sizing rule for a
+     * PostgreSQL server, (cores * 2) + 1 effective spindle; more connections than that
+     * only queue inside the database. Connections are validated with JDBC4
+     * {@code isValid()}, which needs no extra query round trip, unless a test query is
+     * configured explicitly.
+     */
+    static void applyPoolDefaults(HikariConfig config, int dbCores) {
+        if (config.getMaximumPoolSize() <= 0) {
+            config.setMaximumPoolSize(dbCores * 2 + 1);
+        }
+        if (config.getMinimumIdle() < 0) {
+            config.setMinimumIdle(Math.min(DEFAULT_MINIMUM_IDLE, config.getMaximumPoolSize()));
+        }
+        if (config.getPoolName() == null) {
+            config.setPoolName("student-app");
+        }
+    }
+
+    /**
+     * Run a few autocommit statements on one connection and report whether they were served
+     * by more than one server backend, which only happens behind a transaction pooler. A
+     * quiet pooler may keep handing out the same backend, so ports known to be transaction
+     * pooled should be listed in configuration rather than left to the probe. If the probe
+     * cannot connect, assume a pooler: the pooler-safe mode is correct everywhere.
+     */
+    private boolean probeTransactionPooler(String url, String user, String pass) {
+        Properties props = PreparedStatementMode.POOLER_SAFE.driverProperties(0, 0, 0);
+        if (user != null) {
+            props.setProperty("user", user);
+        }
+        if (pass != null) {
+            props.setProperty("password", pass);
+        }
+        props.setProperty("connectTimeout", "5");
+        try (Connection connection = DriverManager.getConnection(url, props);
+             Statement statement = connection.createStatement()) {
+            Set<Integer> backends = new HashSet<>();
+            for (int i = 0; i < POOLER_PROBE_STATEMENTS; i++) {
+                try (ResultSet resultSet = statement.executeQuery("SELECT pg_backend_pid()")) {
+                    resultSet.next();
+                    backends.add(resultSet.getInt(1));
+                }
+            }
+            return backends.size() > 1;
+        } catch (SQLException e) {
+            logger.warn("Could not probe {} for a transaction pooler, using pooler-safe statements: {}",
+                redact(url), e.getMessage());
+            return true;
+        }
+    }
+
+    private static String redact(String url) {
+        int query = url.indexOf('?');
+        return query < 0 ? url : url.substring(0, query);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.studentapp.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Page-size limits shared by the keyset-paginated list endpoints.
+ */
+@Component
+public class PaginationProperties {
+
+    @Value("${app.pagination.default-page-size:50}")
+    private int defaultPageSize = 50;
+
+    @Value("${app.pagination.max-page-size:200}")
+    private int maxPageSize = 200;
+
+    /**
+     * Resolve a client-requested page size against the configured default and cap.
+     */
+    public int resolvePageSize(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return defaultPageSize;
+        }
+        return Math.min(requested, maxPageSize);
+    }
+}
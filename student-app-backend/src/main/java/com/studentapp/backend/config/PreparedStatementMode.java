@@ -0,0 +1,101 @@
+package com.studentapp.backend.config;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * How the PostgreSQL driver may reuse statements on a connection.
+ *
+ * A transaction-mode pooler (PgBouncer, Supavisor on Supabase's port 6543) hands each
+ * transaction to whichever server connection is free, so a named server-side prepared
+ * statement created in one transaction may not exist, or may mean something else, in the
+ * next. Without a pooler, or through a session-mode pooler, a connection keeps its server
+ * backend and named statements let PostgreSQL skip parsing and planning on reuse.
+ */
+public enum PreparedStatementMode {
+
+    /** Named server-side prepared statements after {@code prepareThreshold} executions, plus the driver's statement cache. */
+    SERVER,
+
+    /**
+     * Unnamed statements only ({@code prepareThreshold=0}), which a transaction pooler
+     * can route safely; the driver still caches parsed SQL on the client.
+     */
+    POOLER_SAFE;
+
+    private static final Pattern FIRST_HOST = Pattern.compile("^jdbc:postgresql://([^/?,]*)");
+    private static final int DEFAULT_PORT = 5432;
+
+    /**
+     * Resolve a configured mode ({@code server}, {@code pooler-safe} or {@code auto}). In
+     * auto mode a URL that names a transaction-pooler port or carries {@code pgbouncer=true}
+     * is pooler-safe without further checks; anything else is confirmed by the probe, which
+     * reports whether the connection was seen switching server backends.
+     */
+    public static PreparedStatementMode resolve(String configured, String jdbcUrl, Collection<Integer> poolerPorts,
+                                                BooleanSupplier transactionPoolerProbe) {
+        String mode = configured == null ? "auto" : configured.trim().toLowerCase(Locale.ROOT);
+        switch (mode) {
+            case "server":
+                return SERVER;
+            case "pooler-safe":
+                return POOLER_SAFE;
+            case "auto":
+                if (namesTransactionPooler(jdbcUrl, poolerPorts)) {
+                    return POOLER_SAFE;
+                }
+                return transactionPoolerProbe.getAsBoolean() ? POOLER_SAFE : SERVER;
+            default:
+                throw new IllegalArgumentException("Unknown prepared statement mode: " + configured
+                        + " (expected auto, server or pooler-safe)");
+        }
+    }
+
+    /**
+     * Whether the URL itself marks a transaction pooler: {@code pgbouncer=true} or one of the
+     * given pooler ports on its first host.
+     */
+    public static boolean namesTransactionPooler(String jdbcUrl, Collection<Integer> poolerPorts) {
+        if (jdbcUrl == null) {
+            return false;
+        }
+        if (jdbcUrl.toLowerCase(Locale.ROOT).matches(".*[?&]pgbouncer=true(&.*)?")) {
+            return true;
+        }
+        Matcher host = FIRST_HOST.matcher(jdbcUrl);
+        if (!host.find()) {
+            return false;
+        }
+        String hostPort = host.group(1);
+        int colon = hostPort.lastIndexOf(':');
+        int port = DEFAULT_PORT;
+        if (colon > hostPort.lastIndexOf(']')) {
+            try {
+                port = Integer.parseInt(hostPort.substring(colon + 1));
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+        return poolerPorts.contains(port);
+    }
+
+    /**
+     * pgjdbc data source properties for this mode.
+     *
+     * @param prepareThreshold   executions before a statement is promoted to a named
+     *                           server-side statement (SERVER only)
+     * @param cacheQueries       per-connection statement cache entries
+     * @param cacheSizeMiB       per-connection statement cache size
+     */
+    public Properties driverProperties(int prepareThreshold, int cacheQueries, int cacheSizeMiB) {
+        Properties props = new Properties();
+        props.setProperty("prepareThreshold", String.valueOf(this == SERVER ? prepareThreshold : 0));
+        props.setProperty("preparedStatementCacheQueries", String.valueOf(cacheQueries));
+        props.setProperty("preparedStatementCacheSizeMiB", String.valueOf(cacheSizeMiB));
+        return props;
+    }
+}
@@ -0,0 +1,327 @@
+package com.studentapp.backend.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ReflectionUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Development-time index advisor. At startup every repository {@code @Query} is planned with
+ * PostgreSQL's EXPLAIN against the seeded database, and startup fails if a plan contains a
+ * sequential scan of a large table.
+ *
+ * <p>The SQL checked is exactly what Hibernate generates: each query method is invoked with
+ * placeholder arguments while a statement inspector captures the statement and aborts it
+ * before it reaches the database, so modifying queries are never executed. Plans are generic
+ * ({@code plan_cache_mode = force_generic_plan}) and therefore independent of the placeholder
+ * values, and sequential scans are disabled while planning: the planner then only falls back
+ * to one when no index can serve the query, which keeps the check meaningful on seeded tables
+ * far smaller than production. Queries without parameters read whole tables by design
+ * (maintenance rebuilds and global counts) and are skipped.
+ *
+ * <p>Planning alone does not prove a query works, which matters most for native queries that
+ * the embedded test database cannot run (full-text search). Every non-modifying query is
+ * therefore also executed once with the placeholder arguments, in a transaction that is rolled
+ * back, and startup fails if it throws.
+ */
+@Component
+@Profile("dev")
+@ConditionalOnProperty(name = "app.query-plan-check.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryPlanVerifier implements ApplicationRunner, HibernatePropertiesCustomizer {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryPlanVerifier.class);
+
+    private static final Map<Class<?>, Object> PLACEHOLDERS = Map.ofEntries(
+            Map.entry(UUID.class, new UUID(0, 0)),
+            Map.entry(String.class, "plan-check"),
+            Map.entry(Integer.class, 0), Map.entry(int.class, 0),
+            Map.entry(Long.class, 0L), Map.entry(long.class, 0L),
+            Map.entry(Boolean.class, false), Map.entry(boolean.class, false),
+            Map.entry(BigDecimal.class, BigDecimal.ZERO),
+            Map.entry(LocalDate.class, LocalDate.of(2000, 1, 1)),
+            Map.entry(LocalDateTime.class, LocalDateTime.of(2000, 1, 1, 0, 0)),
+            Map.entry(Pageable.class, PageRequest.of(0, 20)));
+
+    private final StatementCapture capture = new StatementCapture();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    // Tables with fewer estimated rows (pg_class.reltuples after ANALYZE) may be scanned
+    @Value("${app.query-plan-check.large-table-rows:0}")
+    private long largeTableRows;
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, capture);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws SQLException {
+        Repositories repositories = new Repositories(applicationContext);
+        TransactionTemplate transaction = new TransactionTemplate(applicationContext.getBean(PlatformTransactionManager.class));
+        DataSource dataSource = applicationContext.getBean(DataSource.class);
+
+        List<String> problems = new ArrayList<>();
+        int checked = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE");
+                Map<String, Double> tableRows = tableRows(statement);
+                statement.execute("SET plan_cache_mode = force_generic_plan");
+                statement.execute("SET enable_seqscan = off");
+                for (Class<?> domainType : repositories) {
+                    Object repository = repositories.getRepositoryFor(domainType).orElseThrow();
+                    Class<?> repositoryInterface = repositories.getRequiredRepositoryInformation(domainType).getRepositoryInterface();
+                    for (Method method : repositoryInterface.getDeclaredMethods()) {
+                        if (!method.isAnnotationPresent(Query.class) || method.getParameterCount() == 0) {
+                            continue;
+                        }
+                        String name = repositoryInterface.getSimpleName() + "." + method.getName();
+                        Object[] arguments = placeholderArguments(method);
+                        if (arguments == null) {
+                            logger.warn("Query plan check skipped {}: unsupported parameter types", name);
+                            continue;
+                        }
+                        if (!method.isAnnotationPresent(Modifying.class)) {
+                            String failure = execute(transaction, repository, method, arguments);
+                            if (failure != null) {
+                                problems.add(name + " fails: " + failure);
+                                continue;
+                            }
+                        }
+                        String sql = captureSql(transaction, repository, method, arguments);
+                        if (sql == null) {
+                            logger.warn("Query plan check skipped {}: no statement captured", name);
+                            continue;
+                        }
+                        JsonNode plan;
+                        try {
+                            plan = explain(statement, sql);
+                        } catch (SQLException e) {
+                            logger.warn("Query plan check could not plan {}: {}", name, e.getMessage());
+                            continue;
+                        }
+                        for (String table : sequentialScans(plan)) {
+                            if (tableRows.getOrDefault(table, 0.0) >= largeTableRows) {
+                                problems.add(name + " scans " + table);
+                            }
+                        }
+                        checked++;
+                    }
+                }
+            } finally {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("RESET plan_cache_mode");
+                    statement.execute("RESET enable_seqscan");
+                }
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+
+        if (!problems.isEmpty()) {
+            throw new IllegalStateException("Repository queries fail or plan sequential scans on large tables "
+                    + "(fix the query, add an index or set app.query-plan-check.enabled=false):\n  " + String.join("\n  ", problems));
+        }
+        logger.info("Query plan check: {} repository queries are served by indexes", checked);
+    }
+
+    /**
+     * Invoke the query method for real in a rolled-back transaction; returns the failure
+     * message, or null if the query ran.
+     */
+    private static String execute(TransactionTemplate transaction, Object repository, Method method, Object[] args) {
+        try {
+            transaction.executeWithoutResult(status -> {
+                status.setRollbackOnly();
+                ReflectionUtils.invokeMethod(method, repository, args);
+            });
+            return null;
+        } catch (RuntimeException e) {
+            Throwable cause = e;
+            while (cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            return cause.getMessage();
+        }
+    }
+
+    /**
+     * Invoke the query method and return the first statement Hibernate prepares for it,
+     * or null if no statement was issued.
+     */
+    private String captureSql(TransactionTemplate transaction, Object repository, Method method, Object[] args) {
+        capture.start();
+        try {
+            transaction.executeWithoutResult(status -> {
+                status.setRollbackOnly();
+                ReflectionUtils.invokeMethod(method, repository, args);
+            });
+        } catch (RuntimeException expected) {
+            // The inspector aborts the statement once it has been captured
+        }
+        return capture.stop();
+    }
+
+    private JsonNode explain(Statement statement, String sql) throws SQLException {
+        NumberedSql numbered = numberParameters(sql);
+        statement.execute("PREPARE plan_check AS " + numbered.sql());
+        try (ResultSet plan = statement.executeQuery("EXPLAIN (FORMAT JSON) EXECUTE plan_check"
+                + (numbered.parameters() == 0 ? "" : "(" + String.join(", ", Collections.nCopies(numbered.parameters(), "NULL")) + ")"))) {
+            plan.next();
+            return objectMapper.readTree(plan.getString(1));
+        } catch (JsonProcessingException e) {
+            throw new SQLException("Unreadable plan", e);
+        } finally {
+            statement.execute("DEALLOCATE plan_check");
+        }
+    }
+
+    private static Map<String, Double> tableRows(Statement statement) throws SQLException {
+        Map<String, Double> rows = new HashMap<>();
+        try (ResultSet tables = statement.executeQuery("SELECT c.relname, GREATEST(c.reltuples, 0) FROM pg_class c "
+                + "JOIN pg_namespace n ON n.oid = c.relnamespace WHERE c.relkind IN ('r', 'p') AND n.nspname = current_schema()")) {
+            while (tables.next()) {
+                rows.put(tables.getString(1), tables.getDouble(2));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Placeholder arguments for every parameter of the method, or null if one has an unsupported type.
+     */
+    static Object[] placeholderArguments(Method method) {
+        Type[] types = method.getGenericParameterTypes();
+        Object[] args = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            args[i] = placeholder(types[i]);
+            if (args[i] == null) {
+                return null;
+            }
+        }
+        return args;
+    }
+
+    static Object placeholder(Type type) {
+        if (type instanceof ParameterizedType parameterized && parameterized.getRawType() instanceof Class<?> raw
+                && Collection.class.isAssignableFrom(raw)) {
+            Object element = placeholder(parameterized.getActualTypeArguments()[0]);
+            return element == null ? null : List.of(element);
+        }
+        if (type instanceof Class<?> raw && raw.isEnum()) {
+            return raw.getEnumConstants()[0];
+        }
+        return PLACEHOLDERS.get(type);
+    }
+
+    record NumberedSql(String sql, int parameters) {
+    }
+
+    /**
+     * Rewrite JDBC {@code ?} placeholders as PostgreSQL {@code $n} parameters for PREPARE,
+     * leaving question marks inside string literals alone.
+     */
+    static NumberedSql numberParameters(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        boolean inLiteral = false;
+        int parameters = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '\'') {
+                inLiteral = !inLiteral;
+            }
+            if (c == '?' && !inLiteral) {
+                numbered.append('$').append(++parameters);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return new NumberedSql(numbered.toString(), parameters);
+    }
+
+    /**
+     * Tables read by a sequential scan anywhere in EXPLAIN (FORMAT JSON) output, subplans included.
+     */
+    static List<String> sequentialScans(JsonNode explainOutput) {
+        List<String> tables = new ArrayList<>();
+        for (JsonNode statement : explainOutput) {
+            collectSequentialScans(statement.path("Plan"), tables);
+        }
+        return tables;
+    }
+
+    private static void collectSequentialScans(JsonNode node, List<String> tables) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            tables.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSequentialScans(child, tables);
+        }
+    }
+
+    /**
+     * Captures the SQL of the next statement prepared on this thread and aborts it, so the
+     * check sees the generated SQL without running it. Inactive (pass-through) otherwise.
+     */
+    static final class StatementCapture implements StatementInspector {
+
+        private final ThreadLocal<AtomicReference<String>> captured = new ThreadLocal<>();
+
+        void start() {
+            captured.set(new AtomicReference<>());
+        }
+
+        String stop() {
+            String sql = captured.get().get();
+            captured.remove();
+            return sql;
+        }
+
+        @Override
+        public String inspect(String sql) {
+            AtomicReference<String> slot = captured.get();
+            if (slot == null) {
+                return sql;
+            }
+            slot.compareAndSet(null, sql);
+            throw new IllegalStateException("Statement captured for plan check");
+        }
+    }
+}
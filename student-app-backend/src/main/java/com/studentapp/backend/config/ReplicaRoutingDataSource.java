@@ -0,0 +1,118 @@
+package com.studentapp.backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.studentapp.backend.security.AuthenticatedUser;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Sends connections for {@code @Transactional(readOnly = true)} work to a replica and
+ * everything else to the primary.
+ *
+ * Replicas lag the primary, so a user whose read-write transaction committed within the
+ * last {@code readYourWritesWindow} keeps reading from the primary and sees their own
+ * change. Other users' reads may briefly trail the primary by the replication lag.
+ *
+ * Must be used through {@link #lazy}: the routing decision needs the transaction's
+ * read-only flag, which is only set after the transaction manager asks for a connection.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    enum Route { PRIMARY, REPLICA }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final Cache<UUID, Boolean> recentWriters;
+    private final Supplier<UUID> currentUser;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration readYourWritesWindow,
+                                    Supplier<UUID> currentUser) {
+        this.primary = primary;
+        this.replica = replica;
+        this.recentWriters = Caffeine.newBuilder().expireAfterWrite(readYourWritesWindow).build();
+        this.currentUser = currentUser;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Route through a connection proxy that defers fetching the real connection until the
+     * first statement, by which time the transaction's read-only flag is known.
+     */
+    public static DataSource lazy(ReplicaRoutingDataSource routing) {
+        return new Lazy(routing);
+    }
+
+    /**
+     * The user of the current request, or null outside an authenticated request.
+     */
+    public static UUID securityContextUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+            return principal.getUserId();
+        }
+        return null;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        UUID user = currentUser.get();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWriteOnCommit(user);
+            return Route.PRIMARY;
+        }
+        if (user != null && recentWriters.getIfPresent(user) != null) {
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource pool : new DataSource[] {replica, primary}) {
+            if (pool instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private void rememberWriteOnCommit(UUID user) {
+        if (user == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(user, Boolean.TRUE);
+            }
+        });
+    }
+
+    // Closeable so the container shuts both pools down with the context
+    private static final class Lazy extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+        private final ReplicaRoutingDataSource routing;
+
+        Lazy(ReplicaRoutingDataSource routing) {
+            super(routing);
+            this.routing = routing;
+        }
+
+        @Override
+        public void close() throws Exception {
+            routing.close();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.studentapp.backend.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.studentapp.common.model.BudgetLimit;
+import com.studentapp.common.model.ExpenseCategory;
+import com.studentapp.common.model.TaskColumn;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level cache for read-mostly reference data: expense categories, task
+ * columns and budget limits, plus the per-user list queries over them. Regions live in a
+ * Caffeine-backed JCache manager with bounded size and expiry; Hibernate keeps them
+ * consistent on writes (entity regions are read-write, query results are invalidated
+ * through the update timestamps of the tables they read).
+ * <p>
+ * Regions, including the update timestamps, are local to each instance: a write on one
+ * instance does not invalidate what another has cached. Rather than run a shared or
+ * replicated cache for a few small tables, entries expire after a short TTL (30 s by
+ * default), which bounds how long another instance can serve a stale category, column
+ * or budget limit while still absorbing the repeated lookups of a page load.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    /** Query cache region for the cached per-user repository lookups. */
+    public static final String REFERENCE_QUERY_REGION = "reference-queries";
+
+    private static final List<String> ENTITY_REGIONS = List.of(
+            ExpenseCategory.class.getName(), TaskColumn.class.getName(), BudgetLimit.class.getName());
+    private static final String DEFAULT_QUERY_REGION = "default-query-results-region";
+    private static final String TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Value("${app.jpa.cache.max-entries:10000}")
+    private long maxEntries;
+
+    @Value("${app.jpa.cache.entity-ttl-seconds:30}")
+    private long entityTtlSeconds;
+
+    @Value("${app.jpa.cache.query-ttl-seconds:30}")
+    private long queryTtlSeconds;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        for (String region : ENTITY_REGIONS) {
+            createRegion(cacheManager, region, regionConfiguration(maxEntries, Duration.ofSeconds(entityTtlSeconds)));
+        }
+        createRegion(cacheManager, REFERENCE_QUERY_REGION, regionConfiguration(maxEntries, Duration.ofSeconds(queryTtlSeconds)));
+        createRegion(cacheManager, DEFAULT_QUERY_REGION, regionConfiguration(maxEntries, Duration.ofSeconds(queryTtlSeconds)));
+        // One entry per table; it must never be evicted while query results depending on it are cached
+        createRegion(cacheManager, TIMESTAMPS_REGION, regionConfiguration(null, null));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put("hibernate.javax.cache.cache_manager", hibernateCacheManager);
+    }
+
+    /**
+     * Hit, miss, eviction and size metrics per region (cache_gets_total{cache=..., result=hit|miss}).
+     */
+    @Bean
+    public MeterBinder hibernateCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> {
+            for (String name : hibernateCacheManager.getCacheNames()) {
+                Cache<?, ?> cache = hibernateCacheManager.getCache(name);
+                CaffeineCacheMetrics.monitor(registry, cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class), name);
+            }
+        };
+    }
+
+    // The provider's default manager is shared per class loader, so a region may already exist
+    private static void createRegion(CacheManager cacheManager, String name, CaffeineConfiguration<Object, Object> configuration) {
+        if (cacheManager.getCache(name) == null) {
+            cacheManager.createCache(name, configuration);
+        }
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(Long maximumSize, Duration expireAfterWrite) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setNativeStatisticsEnabled(true);
+        if (maximumSize != null) {
+            configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        }
+        if (expireAfterWrite != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(expireAfterWrite.toNanos()));
+        }
+        return configuration;
+    }
+}
@@ -2,13 +2,16 @@ package com.studentapp.backend.controller;
 
 import com.studentapp.common.model.User;
 import com.studentapp.backend.repository.UserRepository;
+import com.studentapp.backend.security.CustomUserDetailsService;
 import com.studentapp.backend.security.JwtUtil;
 import com.studentapp.backend.service.CategoryInitializationService;
 import com.studentapp.backend.service.TaskInitializationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -27,6 +30,9 @@ public class AuthController {
     @Autowired
     private TaskInitializationService taskInitializationService;
 
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
     private BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
 
     @PostMapping("/signup")
@@ -73,4 +79,20 @@ public class AuthController {
         }
         return "Invalid username or password";
     }
+
+    @PutMapping("/password")
+    public String changePassword(@RequestBody Map<String, String> passwordData, Authentication authentication) {
+        Optional<User> userOpt = userRepository.findByUsername(authentication.getName());
+        if (userOpt.isPresent()) {
+            User user = userOpt.get();
+            if (passwordEncoder.matches(passwordData.get("currentPassword"), user.getPassword())) {
+                user.setPassword(passwordEncoder.encode(passwordData.get("newPassword")));
+                userRepository.save(user);
+                // Cached principals must not outlive a credential change
+                userDetailsService.evictUser(user.getUsername());
+                return "Password updated successfully";
+            }
+        }
+        return "Invalid username or password";
+    }
 }
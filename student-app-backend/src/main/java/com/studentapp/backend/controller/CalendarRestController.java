@@ -1,12 +1,18 @@
 package com.studentapp.backend.controller;
 
 import com.studentapp.common.model.CalendarEvent;
+import com.studentapp.backend.config.PaginationProperties;
+import com.studentapp.backend.dto.CursorPage;
 import com.studentapp.backend.service.CalendarService;
 import com.studentapp.backend.security.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,11 +24,14 @@ public class CalendarRestController {
 
   private final CalendarService calendarService;
   private final JwtUtil jwtUtil;
+  private final PaginationProperties paginationProperties;
 
   @Autowired
-  public CalendarRestController(CalendarService calendarService, JwtUtil jwtUtil) {
+  public CalendarRestController(CalendarService calendarService, JwtUtil jwtUtil,
+                                PaginationProperties paginationProperties) {
     this.calendarService = calendarService;
     this.jwtUtil = jwtUtil;
+    this.paginationProperties = paginationProperties;
   }
 
   private UUID extractUserIdFromRequest(HttpServletRequest request) {
@@ -34,16 +43,51 @@ public class CalendarRestController {
     throw new RuntimeException("Invalid or missing Authorization header");
   }
 
+  // Ids stay strings on the wire; one that is not a UUID cannot name an event
+  private static Optional<UUID> parseEventId(String id) {
+    try {
+      return Optional.of(UUID.fromString(id));
+    } catch (IllegalArgumentException e) {
+      return Optional.empty();
+    }
+  }
+
+  // With from and to, events overlapping [from, to) with recurring series expanded into occurrences;
+  // without them, every stored event of the user, each series once with its recurrence rule
   @GetMapping("/events")
-  public List<CalendarEvent> getAllEvents(HttpServletRequest request) throws NoSuchFieldException {
+  public List<CalendarEvent> getAllEvents(@RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                          @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                          HttpServletRequest request) throws NoSuchFieldException {
     UUID userId = extractUserIdFromRequest(request);
-    return calendarService.getAllEvents(userId);
+    if (from == null && to == null) {
+      return calendarService.getAllEvents(userId);
+    }
+    if (from == null || to == null) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Both from and to are required for a range");
+    }
+    try {
+      return calendarService.getEventsInRange(userId, from, to);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid range");
+    }
+  }
+
+  @GetMapping("/events/page")
+  public CursorPage<CalendarEvent> getEventsPage(@RequestParam(name = "cursor", required = false) String cursor,
+                                                 @RequestParam(name = "limit", required = false) Integer limit,
+                                                 HttpServletRequest request) {
+    UUID userId = extractUserIdFromRequest(request);
+    try {
+      return calendarService.getEventsPage(userId, cursor, paginationProperties.resolvePageSize(limit));
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+    }
   }
 
   @GetMapping("/events/{id}")
   public Optional<CalendarEvent> getEventById(@PathVariable("id") String id, HttpServletRequest request) throws NoSuchFieldException {
     UUID userId = extractUserIdFromRequest(request);
-    return calendarService.getEventById(id, userId);
+    return parseEventId(id).flatMap(eventId -> calendarService.getEventById(eventId, userId));
   }
 
   @GetMapping("/events/date/{date}")
@@ -55,19 +99,37 @@ public class CalendarRestController {
   @PostMapping("/events")
   public CalendarEvent createOrUpdateEvent(@RequestBody CalendarEvent event, HttpServletRequest request) throws NoSuchFieldException {
     UUID userId = extractUserIdFromRequest(request);
-    return calendarService.saveEvent(event, userId);
+    return save(event, userId);
   }
 
+  // With occurrence (an occurrence's start time), cancels only that occurrence of a recurring series
   @DeleteMapping("/events/{id}")
-  public void deleteEvent(@PathVariable("id") String id, HttpServletRequest request) throws NoSuchFieldException {
+  public void deleteEvent(@PathVariable("id") String id,
+                          @RequestParam(name = "occurrence", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime occurrence,
+                          HttpServletRequest request) throws NoSuchFieldException {
     UUID userId = extractUserIdFromRequest(request);
-    calendarService.deleteEvent(id, userId);
+    parseEventId(id).ifPresent(eventId -> {
+      if (occurrence != null) {
+        calendarService.deleteOccurrence(eventId, occurrence, userId);
+      } else {
+        calendarService.deleteEvent(eventId, userId);
+      }
+    });
   }
 
   @PutMapping("/events/{id}")
   public CalendarEvent updateEvent(@PathVariable("id") String id, @RequestBody CalendarEvent event, HttpServletRequest request) throws NoSuchFieldException {
     UUID userId = extractUserIdFromRequest(request);
-    event.setId(id);
-    return calendarService.saveEvent(event, userId);
+    event.setId(parseEventId(id)
+        .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid event id")));
+    return save(event, userId);
+  }
+
+  private CalendarEvent save(CalendarEvent event, UUID userId) {
+    try {
+      return calendarService.saveEvent(event, userId);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid recurrence: " + e.getMessage());
+    }
   }
 }
\ No newline at end of file
@@ -1,13 +1,18 @@
 package com.studentapp.backend.controller;
 
+import com.studentapp.backend.config.PaginationProperties;
+import com.studentapp.backend.dto.CursorPage;
+import com.studentapp.backend.dto.SpendingTrends;
 import com.studentapp.backend.service.FinanceService;
 import com.studentapp.backend.repository.UserRepository;
+import com.studentapp.backend.security.AuthenticatedUser;
 import com.studentapp.common.model.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -27,13 +32,26 @@ public class FinanceController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PaginationProperties paginationProperties;
+
     private UUID resolveUserId(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+            return principal.getUserId();
+        }
         String username = authentication.getName();
         return userRepository.findByUsername(username)
                 .map(com.studentapp.common.model.User::getId)
                 .orElseThrow(() -> new RuntimeException("User not found: " + username));
     }
 
+    // Month and year come straight from the request; out of range they would fail deep in the date arithmetic
+    private static void requireValidMonth(int month, int year) {
+        if (month < 1 || month > 12 || year < 1 || year > 9999) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid month or year");
+        }
+    }
+
     // Expense Category endpoints
     @GetMapping("/categories")
     public ResponseEntity<List<ExpenseCategory>> getAllCategories(Authentication authentication) {
@@ -85,6 +103,20 @@ public class FinanceController {
         return ResponseEntity.ok(expenses);
     }
 
+    @GetMapping("/expenses/page")
+    public ResponseEntity<CursorPage<Expense>> getExpensesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication) {
+        UUID userId = resolveUserId(authentication);
+        try {
+            CursorPage<Expense> page = financeService.getExpensesPage(userId, cursor, paginationProperties.resolvePageSize(limit));
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/expenses/{id}")
     public ResponseEntity<Expense> getExpenseById(@PathVariable UUID id, Authentication authentication) {
         UUID userId = resolveUserId(authentication);
@@ -95,6 +127,7 @@ public class FinanceController {
 
     @GetMapping("/expenses/month/{year}/{month}")
     public ResponseEntity<List<Expense>> getExpensesByMonth(@PathVariable int year, @PathVariable int month, Authentication authentication) {
+        requireValidMonth(month, year);
         UUID userId = resolveUserId(authentication);
         List<Expense> expenses = financeService.getExpensesByMonth(userId, month, year);
         return ResponseEntity.ok(expenses);
@@ -152,6 +185,7 @@ public class FinanceController {
             @RequestParam int month,
             @RequestParam int year,
             Authentication authentication) {
+        requireValidMonth(month, year);
         UUID userId = resolveUserId(authentication);
         List<BudgetLimit> budgetLimits = financeService.getBudgetLimitsByMonth(userId, month, year);
         return ResponseEntity.ok(budgetLimits);
@@ -241,6 +275,7 @@ public class FinanceController {
             @RequestParam int month,
             @RequestParam int year,
             Authentication authentication) {
+        requireValidMonth(month, year);
         UUID userId = resolveUserId(authentication);
         BigDecimal total = financeService.getTotalExpensesByMonth(userId, month, year);
         return ResponseEntity.ok(total);
@@ -251,6 +286,7 @@ public class FinanceController {
             @RequestParam int month,
             @RequestParam int year,
             Authentication authentication) {
+        requireValidMonth(month, year);
         UUID userId = resolveUserId(authentication);
         Map<String, BigDecimal> categoryExpenses = financeService.getCategoryWiseExpenses(userId, month, year);
         return ResponseEntity.ok(categoryExpenses);
@@ -261,17 +297,19 @@ public class FinanceController {
             @RequestParam int month,
             @RequestParam int year,
             Authentication authentication) {
+        requireValidMonth(month, year);
         UUID userId = resolveUserId(authentication);
         Map<String, Object> analysis = financeService.getBudgetAnalysis(userId, month, year);
         return ResponseEntity.ok(analysis);
     }
 
     @GetMapping("/analytics/spending-trends")
-    public ResponseEntity<Map<String, Object>> getSpendingTrends(
+    public ResponseEntity<SpendingTrends> getSpendingTrends(
             @RequestParam(defaultValue = "6") int months,
+            @RequestParam(defaultValue = "false") boolean byCategory,
             Authentication authentication) {
         UUID userId = resolveUserId(authentication);
-        Map<String, Object> trends = financeService.getSpendingTrends(userId, months);
+        SpendingTrends trends = financeService.getSpendingTrends(userId, months, byCategory);
         return ResponseEntity.ok(trends);
     }
 
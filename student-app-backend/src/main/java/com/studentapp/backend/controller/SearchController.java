@@ -0,0 +1,56 @@
+package com.studentapp.backend.controller;
+
+import com.studentapp.backend.config.PaginationProperties;
+import com.studentapp.backend.dto.SearchResult;
+import com.studentapp.backend.repository.UserRepository;
+import com.studentapp.backend.search.SearchDocument.Type;
+import com.studentapp.backend.search.SearchIndex;
+import com.studentapp.backend.security.AuthenticatedUser;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = "*")
+public class SearchController {
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PaginationProperties paginationProperties;
+
+    private UUID resolveUserId(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+            return principal.getUserId();
+        }
+        String username = authentication.getName();
+        return userRepository.findByUsername(username)
+                .map(com.studentapp.common.model.User::getId)
+                .orElseThrow(() -> new RuntimeException("User not found: " + username));
+    }
+
+    /**
+     * Search tasks, expenses and calendar events together; {@code types} narrows the search
+     * to some of them (e.g. types=TASK,EVENT).
+     */
+    @GetMapping
+    public ResponseEntity<List<SearchResult>> search(@RequestParam("q") String query,
+                                                     @RequestParam(required = false) Set<Type> types,
+                                                     @RequestParam(required = false) Integer limit,
+                                                     Authentication authentication) {
+        UUID userId = resolveUserId(authentication);
+        Set<Type> searched = types == null || types.isEmpty() ? EnumSet.allOf(Type.class) : types;
+        return ResponseEntity.ok(searchIndex.search(userId, query, searched, paginationProperties.resolvePageSize(limit)));
+    }
+}
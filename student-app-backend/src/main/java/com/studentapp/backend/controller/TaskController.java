@@ -1,12 +1,20 @@
 package com.studentapp.backend.controller;
 
+import com.studentapp.backend.config.PaginationProperties;
 import com.studentapp.backend.service.TaskService;
 import com.studentapp.backend.repository.UserRepository;
+import com.studentapp.backend.security.AuthenticatedUser;
+import com.studentapp.backend.dto.CursorPage;
+import com.studentapp.backend.dto.TaskBoardDto;
 import com.studentapp.backend.dto.TaskColumnDto;
 import com.studentapp.backend.dto.TaskDto;
+import com.studentapp.backend.dto.TaskSearchHit;
+import com.studentapp.backend.dto.TaskStatistics;
 import com.studentapp.common.model.*;
 import com.studentapp.common.model.Task.Priority;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -29,7 +37,13 @@ public class TaskController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PaginationProperties paginationProperties;
+
     private UUID resolveUserId(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+            return principal.getUserId();
+        }
         String username = authentication.getName();
         return userRepository.findByUsername(username)
                 .map(com.studentapp.common.model.User::getId)
@@ -104,6 +118,20 @@ public class TaskController {
         return ResponseEntity.ok(taskDtos);
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<TaskDto>> getTasksPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication) {
+        UUID userId = resolveUserId(authentication);
+        try {
+            CursorPage<Task> page = taskService.getTasksPage(userId, cursor, paginationProperties.resolvePageSize(limit));
+            return ResponseEntity.ok(page.map(TaskDto::new));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<TaskDto> getTaskById(@PathVariable("id") UUID id, Authentication authentication) {
         UUID userId = resolveUserId(authentication);
@@ -153,13 +181,11 @@ public class TaskController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<TaskDto>> searchTasks(@RequestParam String query, Authentication authentication) {
+    public ResponseEntity<List<TaskSearchHit>> searchTasks(@RequestParam String query,
+                                                           @RequestParam(required = false) Integer limit,
+                                                           Authentication authentication) {
         UUID userId = resolveUserId(authentication);
-        List<Task> tasks = taskService.searchTasks(userId, query);
-        List<TaskDto> taskDtos = tasks.stream()
-            .map(TaskDto::new)
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(taskDtos);
+        return ResponseEntity.ok(taskService.searchTasks(userId, query, paginationProperties.resolvePageSize(limit)));
     }
 
     @PostMapping
@@ -214,34 +240,34 @@ public class TaskController {
 
     // Bulk operations
     @PostMapping("/bulk/move")
-    public ResponseEntity<Void> moveMultipleTasks(@RequestBody Map<String, Object> bulkData, Authentication authentication) {
+    public ResponseEntity<Map<String, Integer>> moveMultipleTasks(@RequestBody Map<String, Object> bulkData, Authentication authentication) {
         UUID userId = resolveUserId(authentication);
         @SuppressWarnings("unchecked")
         List<String> taskIdStrings = (List<String>) bulkData.get("taskIds");
         List<UUID> taskIds = taskIdStrings.stream().map(UUID::fromString).toList();
         UUID targetColumnId = UUID.fromString((String) bulkData.get("targetColumnId"));
-        taskService.moveMultipleTasks(taskIds, targetColumnId, userId);
-        return ResponseEntity.ok().build();
+        int moved = taskService.moveMultipleTasks(taskIds, targetColumnId, userId);
+        return ResponseEntity.ok(Map.of("moved", moved));
     }
 
     @PostMapping("/bulk/delete")
-    public ResponseEntity<Void> deleteMultipleTasks(@RequestBody Map<String, List<String>> bulkData, Authentication authentication) {
+    public ResponseEntity<Map<String, Integer>> deleteMultipleTasks(@RequestBody Map<String, List<String>> bulkData, Authentication authentication) {
         UUID userId = resolveUserId(authentication);
         List<String> taskIdStrings = bulkData.get("taskIds");
         List<UUID> taskIds = taskIdStrings.stream().map(UUID::fromString).toList();
-        taskService.deleteMultipleTasks(taskIds, userId);
-        return ResponseEntity.noContent().build();
+        int deleted = taskService.deleteMultipleTasks(taskIds, userId);
+        return ResponseEntity.ok(Map.of("deleted", deleted));
     }
 
     @PostMapping("/bulk/priority")
-    public ResponseEntity<Void> updateMultipleTasksPriority(@RequestBody Map<String, Object> bulkData, Authentication authentication) {
+    public ResponseEntity<Map<String, Integer>> updateMultipleTasksPriority(@RequestBody Map<String, Object> bulkData, Authentication authentication) {
         UUID userId = resolveUserId(authentication);
         @SuppressWarnings("unchecked")
         List<String> taskIdStrings = (List<String>) bulkData.get("taskIds");
         List<UUID> taskIds = taskIdStrings.stream().map(UUID::fromString).toList();
         Priority priority = Priority.valueOf((String) bulkData.get("priority"));
-        taskService.updateMultipleTasksPriority(taskIds, priority, userId);
-        return ResponseEntity.ok().build();
+        int updated = taskService.updateMultipleTasksPriority(taskIds, priority, userId);
+        return ResponseEntity.ok(Map.of("updated", updated));
     }
 
     // Task Attachment endpoints
@@ -287,6 +313,13 @@ public class TaskController {
         return ResponseEntity.ok(stats);
     }
 
+    // Every statistic below in one response, from one query
+    @GetMapping("/stats/summary")
+    public ResponseEntity<TaskStatistics> getTaskStatisticsSummary(Authentication authentication) {
+        UUID userId = resolveUserId(authentication);
+        return ResponseEntity.ok(taskService.getTaskStatisticsSummary(userId));
+    }
+
     @GetMapping("/stats/priority")
     public ResponseEntity<Map<Priority, Long>> getTaskCountByPriority(Authentication authentication) {
         UUID userId = resolveUserId(authentication);
@@ -301,6 +334,21 @@ public class TaskController {
         return ResponseEntity.ok(stats);
     }
 
+    // Everything the board screen needs in one response. A client holding the current ETag
+    // gets a 304 after one aggregate query, without the board being loaded
+    @GetMapping("/board")
+    public ResponseEntity<TaskBoardDto> getBoard(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                 Authentication authentication) {
+        UUID userId = resolveUserId(authentication);
+        TaskBoardDto board = taskService.getBoard(userId, ifNoneMatch);
+        // Private and always revalidated: the URL is the same for every user
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        if (!board.isModified()) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(board.getEtag()).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(board.getEtag()).cacheControl(cacheControl).body(board);
+    }
+
     @GetMapping("/due-soon")
     public ResponseEntity<List<Task>> getTasksDueSoon(@RequestParam(defaultValue = "3") int days, Authentication authentication) {
         UUID userId = resolveUserId(authentication);
@@ -0,0 +1,77 @@
+package com.studentapp.backend.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset cursor: the sort key and id of the last row on the previous page,
+ * encoded as URL-safe base64 so clients cannot depend on its layout.
+ */
+public final class PageCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final String sortKey;
+    private final String id;
+
+    private PageCursor(String sortKey, String id) {
+        this.sortKey = sortKey;
+        this.id = id;
+    }
+
+    public static String encode(Object sortKey, Object id) {
+        String raw = sortKey + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode}
+     */
+    public static PageCursor decode(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        int separator = raw.lastIndexOf(SEPARATOR);
+        if (separator <= 0 || separator == raw.length() - 1) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return new PageCursor(raw.substring(0, separator), raw.substring(separator + 1));
+    }
+
+    public int sortKeyAsInt() {
+        try {
+            return Integer.parseInt(sortKey);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public LocalDate sortKeyAsDate() {
+        try {
+            return LocalDate.parse(sortKey);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public LocalDateTime sortKeyAsDateTime() {
+        try {
+            return LocalDateTime.parse(sortKey);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public UUID idAsUuid() {
+        return UUID.fromString(id);
+    }
+
+    public String getId() { return id; }
+}
@@ -0,0 +1,44 @@
+package com.studentapp.backend.dto;
+
+import com.studentapp.backend.search.SearchDocument;
+import com.studentapp.backend.search.SearchDocument.Type;
+
+import java.time.LocalDateTime;
+
+/**
+ * One hit from the unified search endpoint. {@code date} is the task due date (or
+ * creation time), the expense date or the event start, whichever applies to the type.
+ */
+public class SearchResult {
+    private Type type;
+    private String id;
+    private String title;
+    private LocalDateTime date;
+    private double score;
+
+    public SearchResult() {}
+
+    public SearchResult(SearchDocument document, double score) {
+        this.type = document.getKey().getType();
+        this.id = document.getKey().getId();
+        this.title = document.getTitle();
+        this.date = document.getDate();
+        this.score = score;
+    }
+
+    // Getters and Setters
+    public Type getType() { return type; }
+    public void setType(Type type) { this.type = type; }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public LocalDateTime getDate() { return date; }
+    public void setDate(LocalDateTime date) { this.date = date; }
+
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+}
@@ -0,0 +1,74 @@
+package com.studentapp.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Monthly spending totals for a trailing window, oldest month first. Months without
+ * expenses are present with a zero total; {@code categories} is only populated when
+ * a per-category breakdown was requested.
+ */
+public class SpendingTrends {
+    private List<MonthlySpending> monthlyTotals = new ArrayList<>();
+
+    public SpendingTrends() {}
+
+    public SpendingTrends(List<MonthlySpending> monthlyTotals) {
+        this.monthlyTotals = monthlyTotals;
+    }
+
+    // Getters and Setters
+    public List<MonthlySpending> getMonthlyTotals() { return monthlyTotals; }
+    public void setMonthlyTotals(List<MonthlySpending> monthlyTotals) { this.monthlyTotals = monthlyTotals; }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class MonthlySpending {
+        private String month;
+        private BigDecimal total;
+        private List<CategorySpending> categories;
+
+        public MonthlySpending() {}
+
+        public MonthlySpending(String month, BigDecimal total, List<CategorySpending> categories) {
+            this.month = month;
+            this.total = total;
+            this.categories = categories;
+        }
+
+        public String getMonth() { return month; }
+        public void setMonth(String month) { this.month = month; }
+
+        public BigDecimal getTotal() { return total; }
+        public void setTotal(BigDecimal total) { this.total = total; }
+
+        public List<CategorySpending> getCategories() { return categories; }
+        public void setCategories(List<CategorySpending> categories) { this.categories = categories; }
+    }
+
+    public static class CategorySpending {
+        private UUID categoryId;
+        private String categoryName;
+        private BigDecimal total;
+
+        public CategorySpending() {}
+
+        public CategorySpending(UUID categoryId, String categoryName, BigDecimal total) {
+            this.categoryId = categoryId;
+            this.categoryName = categoryName;
+            this.total = total;
+        }
+
+        public UUID getCategoryId() { return categoryId; }
+        public void setCategoryId(UUID categoryId) { this.categoryId = categoryId; }
+
+        public String getCategoryName() { return categoryName; }
+        public void setCategoryName(String categoryName) { this.categoryName = categoryName; }
+
+        public BigDecimal getTotal() { return total; }
+        public void setTotal(BigDecimal total) { this.total = total; }
+    }
+}
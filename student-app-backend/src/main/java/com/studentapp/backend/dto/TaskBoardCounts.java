@@ -0,0 +1,48 @@
+package com.studentapp.backend.dto;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Headline task counts of a board together with what changes whenever the board does:
+ * task and column counts and their latest update times. Loaded by a single aggregate
+ * query, it answers conditional board requests without loading the board itself.
+ */
+public class TaskBoardCounts {
+    private final long totalTasks;
+    private final long completedTasks;
+    private final long overdueTasks;
+    private final LocalDateTime tasksUpdatedAt;
+    private final long columns;
+    private final LocalDateTime columnsUpdatedAt;
+
+    public TaskBoardCounts(Long totalTasks, Long completedTasks, Long overdueTasks, LocalDateTime tasksUpdatedAt,
+                           Long columns, LocalDateTime columnsUpdatedAt) {
+        this.totalTasks = totalTasks != null ? totalTasks : 0;
+        this.completedTasks = completedTasks != null ? completedTasks : 0;
+        this.overdueTasks = overdueTasks != null ? overdueTasks : 0;
+        this.tasksUpdatedAt = tasksUpdatedAt;
+        this.columns = columns != null ? columns : 0;
+        this.columnsUpdatedAt = columnsUpdatedAt;
+    }
+
+    /**
+     * Strong ETag for the user's board. Every task or column write bumps an updated_at or a
+     * count, and overdue tasks are counted, so the tag also moves when a due date passes.
+     */
+    public String etag(UUID userId) {
+        String version = userId + "|" + totalTasks + "|" + completedTasks + "|" + overdueTasks + "|"
+                + tasksUpdatedAt + "|" + columns + "|" + columnsUpdatedAt;
+        return "\"" + DigestUtils.md5DigestAsHex(version.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    public long getTotalTasks() { return totalTasks; }
+    public long getCompletedTasks() { return completedTasks; }
+    public long getOverdueTasks() { return overdueTasks; }
+    public LocalDateTime getTasksUpdatedAt() { return tasksUpdatedAt; }
+    public long getColumns() { return columns; }
+    public LocalDateTime getColumnsUpdatedAt() { return columnsUpdatedAt; }
+}
@@ -0,0 +1,78 @@
+package com.studentapp.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.studentapp.common.model.Task.Priority;
+import com.studentapp.common.model.TaskColumn;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the task board screen renders: the columns in order, each with its tasks in
+ * order, plus the same statistics as the /stats, /stats/priority and /stats/status endpoints.
+ * A board the client already holds comes back as {@link #notModified}, carrying only its ETag.
+ */
+public class TaskBoardDto {
+    private List<Column> columns = new ArrayList<>();
+    private Map<String, Long> statistics;
+    private Map<Priority, Long> countByPriority;
+    private Map<String, Long> countByStatus;
+    @JsonIgnore
+    private String etag;
+    @JsonIgnore
+    private boolean modified = true;
+
+    public TaskBoardDto() {}
+
+    public static TaskBoardDto notModified(String etag) {
+        TaskBoardDto board = new TaskBoardDto();
+        board.etag = etag;
+        board.modified = false;
+        return board;
+    }
+
+    public TaskBoardDto(List<Column> columns, Map<String, Long> statistics, Map<Priority, Long> countByPriority,
+                        Map<String, Long> countByStatus, String etag) {
+        this.columns = columns;
+        this.statistics = statistics;
+        this.countByPriority = countByPriority;
+        this.countByStatus = countByStatus;
+        this.etag = etag;
+    }
+
+    // Getters and Setters
+    public List<Column> getColumns() { return columns; }
+    public void setColumns(List<Column> columns) { this.columns = columns; }
+
+    public Map<String, Long> getStatistics() { return statistics; }
+    public void setStatistics(Map<String, Long> statistics) { this.statistics = statistics; }
+
+    public Map<Priority, Long> getCountByPriority() { return countByPriority; }
+    public void setCountByPriority(Map<Priority, Long> countByPriority) { this.countByPriority = countByPriority; }
+
+    public Map<String, Long> getCountByStatus() { return countByStatus; }
+    public void setCountByStatus(Map<String, Long> countByStatus) { this.countByStatus = countByStatus; }
+
+    public String getEtag() { return etag; }
+    public void setEtag(String etag) { this.etag = etag; }
+
+    public boolean isModified() { return modified; }
+
+    /**
+     * A board column with its tasks.
+     */
+    public static class Column extends TaskColumnDto {
+        private List<TaskDto> tasks = new ArrayList<>();
+
+        public Column() {}
+
+        public Column(TaskColumn taskColumn) {
+            super(taskColumn);
+            taskColumn.getTasks().forEach(task -> tasks.add(new TaskDto(task)));
+        }
+
+        public List<TaskDto> getTasks() { return tasks; }
+        public void setTasks(List<TaskDto> tasks) { this.tasks = tasks; }
+    }
+}
@@ -13,6 +13,7 @@ public class TaskColumnDto {
     private String title;
     private String color;
     private Integer position;
+    private Boolean terminal;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -24,6 +25,7 @@ public class TaskColumnDto {
         this.title = taskColumn.getTitle();
         this.color = taskColumn.getColor();
         this.position = taskColumn.getPosition();
+        this.terminal = taskColumn.getTerminal();
         this.createdAt = taskColumn.getCreatedAt();
         this.updatedAt = taskColumn.getUpdatedAt();
     }
@@ -44,6 +46,9 @@ public class TaskColumnDto {
     public Integer getPosition() { return position; }
     public void setPosition(Integer position) { this.position = position; }
 
+    public Boolean getTerminal() { return terminal; }
+    public void setTerminal(Boolean terminal) { this.terminal = terminal; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
@@ -0,0 +1,10 @@
+package com.studentapp.backend.dto;
+
+import com.studentapp.common.model.Task.Priority;
+
+/**
+ * Task, completed and overdue counts for one (priority, column title) group of a user's
+ * tasks; the rows of a single statistics query, rolled up into {@link TaskStatistics}.
+ */
+public record TaskCountRow(Priority priority, String status, Long tasks, Long completed, Long overdue) {
+}
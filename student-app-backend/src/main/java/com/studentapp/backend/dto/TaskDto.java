@@ -20,6 +20,7 @@ public class TaskDto {
     private String tags;
     private UUID assignedTo;
     private UUID projectId;
+    private LocalDateTime completedAt;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -37,6 +38,7 @@ public class TaskDto {
         this.tags = task.getTags();
         this.assignedTo = task.getAssignedTo();
         this.projectId = task.getProjectId();
+        this.completedAt = task.getCompletedAt();
         this.createdAt = task.getCreatedAt();
         this.updatedAt = task.getUpdatedAt();
     }
@@ -75,6 +77,9 @@ public class TaskDto {
     public UUID getProjectId() { return projectId; }
     public void setProjectId(UUID projectId) { this.projectId = projectId; }
 
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
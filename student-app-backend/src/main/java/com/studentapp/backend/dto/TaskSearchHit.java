@@ -0,0 +1,118 @@
+package com.studentapp.backend.dto;
+
+import com.studentapp.common.model.Task;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * A task search result: the task itself plus the character ranges of the title and
+ * description that matched the query, for the client to highlight. Offsets index into
+ * the returned strings, start inclusive and end exclusive, sorted and non-overlapping.
+ */
+public class TaskSearchHit extends TaskDto {
+    private List<Highlight> titleHighlights;
+    private List<Highlight> descriptionHighlights;
+
+    public TaskSearchHit() {}
+
+    public TaskSearchHit(Task task, List<String> terms) {
+        super(task);
+        this.titleHighlights = highlight(task.getTitle(), terms);
+        this.descriptionHighlights = highlight(task.getDescription(), terms);
+    }
+
+    /**
+     * Split a search query into the words worth highlighting. Quotes and surrounding
+     * punctuation are dropped, as are excluded ("-word") terms and the OR keyword of
+     * PostgreSQL's websearch syntax.
+     */
+    public static List<String> termsOf(String query) {
+        if (query == null) {
+            return List.of();
+        }
+        List<String> terms = new ArrayList<>();
+        for (String word : query.trim().split("\\s+")) {
+            if (word.startsWith("-") || word.equalsIgnoreCase("or")) {
+                continue;
+            }
+            String term = word.replaceAll("^[^\\p{L}\\p{N}]+|[^\\p{L}\\p{N}]+$", "").toLowerCase(Locale.ROOT);
+            if (!term.isEmpty() && !terms.contains(term)) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Case-insensitive occurrences of any term in the text, with overlapping or touching
+     * ranges merged.
+     */
+    static List<Highlight> highlight(String text, List<String> terms) {
+        if (text == null || text.isEmpty() || terms.isEmpty()) {
+            return List.of();
+        }
+        List<Highlight> found = new ArrayList<>();
+        for (String term : terms) {
+            for (int i = 0; i + term.length() <= text.length(); i++) {
+                if (text.regionMatches(true, i, term, 0, term.length())) {
+                    found.add(new Highlight(i, i + term.length()));
+                }
+            }
+        }
+        found.sort(Comparator.comparingInt(Highlight::getStart));
+        List<Highlight> merged = new ArrayList<>();
+        for (Highlight range : found) {
+            Highlight last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && range.getStart() <= last.getEnd()) {
+                merged.set(merged.size() - 1, new Highlight(last.getStart(), Math.max(last.getEnd(), range.getEnd())));
+            } else {
+                merged.add(range);
+            }
+        }
+        return merged;
+    }
+
+    // Getters and Setters
+    public List<Highlight> getTitleHighlights() { return titleHighlights; }
+    public void setTitleHighlights(List<Highlight> titleHighlights) { this.titleHighlights = titleHighlights; }
+
+    public List<Highlight> getDescriptionHighlights() { return descriptionHighlights; }
+    public void setDescriptionHighlights(List<Highlight> descriptionHighlights) { this.descriptionHighlights = descriptionHighlights; }
+
+    public static class Highlight {
+        private int start;
+        private int end;
+
+        public Highlight() {}
+
+        public Highlight(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        public int getStart() { return start; }
+        public void setStart(int start) { this.start = start; }
+
+        public int getEnd() { return end; }
+        public void setEnd(int end) { this.end = end; }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Highlight other && start == other.start && end == other.end;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return "[" + start + ", " + end + ")";
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.studentapp.backend.dto;
+
+import com.studentapp.common.model.Task.Priority;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Every task dashboard statistic of a user. Built from one grouped query, so the /stats,
+ * /stats/priority and /stats/status endpoints each cost a single statement. Groups without
+ * tasks are absent from the maps.
+ */
+public record TaskStatistics(long totalTasks, long completedTasks, long overdueTasks,
+                             Map<Priority, Long> countByPriority, Map<String, Long> countByStatus) {
+
+    public static TaskStatistics of(List<TaskCountRow> rows) {
+        long total = 0;
+        long completed = 0;
+        long overdue = 0;
+        Map<Priority, Long> countByPriority = new HashMap<>();
+        Map<String, Long> countByStatus = new HashMap<>();
+        for (TaskCountRow row : rows) {
+            total += row.tasks();
+            completed += row.completed();
+            overdue += row.overdue();
+            countByPriority.merge(row.priority(), row.tasks(), Long::sum);
+            countByStatus.merge(row.status(), row.tasks(), Long::sum);
+        }
+        return new TaskStatistics(total, completed, overdue, countByPriority, countByStatus);
+    }
+
+    /**
+     * The totals in the shape of the /stats endpoint.
+     */
+    public Map<String, Long> headline() {
+        Map<String, Long> stats = new HashMap<>();
+        stats.put("totalTasks", totalTasks);
+        stats.put("completedTasks", completedTasks);
+        stats.put("overdueTasks", overdueTasks);
+        return stats;
+    }
+}
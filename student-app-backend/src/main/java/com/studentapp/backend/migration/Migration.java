@@ -0,0 +1,195 @@
+package com.studentapp.backend.migration;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One versioned schema migration script, {@code V<version>__<description>.sql}.
+ *
+ * <p>A script is split into statements on semicolons outside string literals, quoted
+ * identifiers, dollar-quoted bodies and comments. Scripts that use {@code CONCURRENTLY} are
+ * online: PostgreSQL cannot run those statements inside a transaction block, so they are
+ * executed one by one in autocommit mode and must be idempotent ({@code IF [NOT] EXISTS}).
+ * All other scripts run in a single transaction.
+ */
+public final class Migration implements Comparable<Migration> {
+
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    private static final Pattern CONCURRENTLY = Pattern.compile("\\bCONCURRENTLY\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern CREATE_INDEX = Pattern.compile(
+            "CREATE\\s+(?:UNIQUE\\s+)?INDEX\\s+(?:CONCURRENTLY\\s+)?(?:IF\\s+NOT\\s+EXISTS\\s+)?(\\w+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern DROP_INDEX = Pattern.compile(
+            "DROP\\s+INDEX\\s+(?:CONCURRENTLY\\s+)?(?:IF\\s+EXISTS\\s+)?(\\w+(?:\\s*,\\s*\\w+)*)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern RENAME_INDEX = Pattern.compile(
+            "ALTER\\s+INDEX\\s+(?:IF\\s+EXISTS\\s+)?(\\w+)\\s+RENAME\\s+TO\\s+(\\w+)", Pattern.CASE_INSENSITIVE);
+
+    private final int version;
+    private final String description;
+    private final String checksum;
+    private final List<String> statements;
+    private final boolean online;
+
+    private Migration(int version, String description, String checksum, List<String> statements) {
+        this.version = version;
+        this.description = description;
+        this.checksum = checksum;
+        this.statements = statements;
+        this.online = statements.stream().anyMatch(statement -> CONCURRENTLY.matcher(statement).find());
+    }
+
+    /**
+     * Parse a script; the version and description come from its file name.
+     *
+     * @throws IllegalArgumentException if the file name does not follow {@code V<version>__<description>.sql}
+     */
+    public static Migration of(String fileName, String script) {
+        Matcher matcher = FILE_NAME.matcher(fileName);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Migration file name must be V<version>__<description>.sql: " + fileName);
+        }
+        String normalized = script.replace("\r\n", "\n");
+        return new Migration(Integer.parseInt(matcher.group(1)), matcher.group(2).replace('_', ' '),
+                checksum(normalized), splitStatements(normalized));
+    }
+
+    public int getVersion() { return version; }
+
+    public String getDescription() { return description; }
+
+    public String getChecksum() { return checksum; }
+
+    public List<String> getStatements() { return statements; }
+
+    public boolean isOnline() { return online; }
+
+    @Override
+    public int compareTo(Migration other) {
+        return Integer.compare(version, other.version);
+    }
+
+    @Override
+    public String toString() {
+        return "V" + version + " (" + description + ")";
+    }
+
+    /**
+     * The index a statement creates, lower-cased, or null if it does not create one.
+     */
+    static String indexCreatedBy(String statement) {
+        Matcher matcher = CREATE_INDEX.matcher(statement);
+        return matcher.lookingAt() ? matcher.group(1).toLowerCase(Locale.ROOT) : null;
+    }
+
+    /**
+     * Apply the index changes of a statement to the set of indexes the scripts so far have created.
+     */
+    static void applyIndexChanges(String statement, Set<String> indexes) {
+        String created = indexCreatedBy(statement);
+        if (created != null) {
+            indexes.add(created);
+            return;
+        }
+        Matcher drop = DROP_INDEX.matcher(statement);
+        if (drop.lookingAt()) {
+            for (String name : drop.group(1).split("\\s*,\\s*")) {
+                indexes.remove(name.toLowerCase(Locale.ROOT));
+            }
+            return;
+        }
+        Matcher rename = RENAME_INDEX.matcher(statement);
+        if (rename.lookingAt() && indexes.remove(rename.group(1).toLowerCase(Locale.ROOT))) {
+            indexes.add(rename.group(2).toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * Split a script into statements, dropping comments and empty statements.
+     */
+    static List<String> splitStatements(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int i = 0;
+        while (i < script.length()) {
+            char c = script.charAt(i);
+            if (c == '-' && script.startsWith("--", i)) {
+                int end = script.indexOf('\n', i);
+                i = end < 0 ? script.length() : end;
+            } else if (c == '/' && script.startsWith("/*", i)) {
+                int end = script.indexOf("*/", i + 2);
+                i = end < 0 ? script.length() : end + 2;
+                current.append(' ');
+            } else if (c == '\'' || c == '"') {
+                int end = closingQuote(script, i, c);
+                current.append(script, i, end);
+                i = end;
+            } else if (c == '$' && dollarTag(script, i) != null) {
+                String tag = dollarTag(script, i);
+                int close = script.indexOf(tag, i + tag.length());
+                int end = close < 0 ? script.length() : close + tag.length();
+                current.append(script, i, end);
+                i = end;
+            } else if (c == ';') {
+                addStatement(statements, current);
+                i++;
+            } else {
+                current.append(c);
+                i++;
+            }
+        }
+        addStatement(statements, current);
+        return statements;
+    }
+
+    // End (exclusive) of a quoted literal or identifier; doubled quotes are escapes
+    private static int closingQuote(String script, int start, char quote) {
+        int i = start + 1;
+        while (i < script.length()) {
+            if (script.charAt(i) == quote) {
+                if (i + 1 < script.length() && script.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return script.length();
+    }
+
+    // The $tag$ opening a dollar-quoted body at start, or null if there is none
+    private static String dollarTag(String script, int start) {
+        int i = start + 1;
+        while (i < script.length() && (Character.isLetterOrDigit(script.charAt(i)) || script.charAt(i) == '_')) {
+            i++;
+        }
+        if (i < script.length() && script.charAt(i) == '$' && (i == start + 1 || !Character.isDigit(script.charAt(start + 1)))) {
+            return script.substring(start, i + 1);
+        }
+        return null;
+    }
+
+    private static void addStatement(List<String> statements, StringBuilder current) {
+        String statement = current.toString().strip();
+        if (!statement.isEmpty()) {
+            statements.add(statement);
+        }
+        current.setLength(0);
+    }
+
+    private static String checksum(String script) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(script.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
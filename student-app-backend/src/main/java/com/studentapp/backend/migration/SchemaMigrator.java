@@ -0,0 +1,370 @@
+package com.studentapp.backend.migration;
+
+import com.studentapp.backend.config.PreparedStatementMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the versioned scripts under {@code db/migration} at startup, before JPA and the
+ * script-based data initialization (see {@link SchemaMigratorDetector}), and records them in
+ * {@code schema_migrations}.
+ *
+ * <p>Lock safety: a session advisory lock serialises instances starting together. It is
+ * polled for up to {@code lock-wait-ms}, since another instance may hold it for as long as
+ * its concurrent index builds take; {@code lock_timeout} is only set once it is held. Every DDL
+ * statement waits at most {@code lock-timeout-ms} for its lock instead of queueing traffic
+ * behind it, and is retried after a back-off when the wait times out. Transactional scripts
+ * hold their locks until commit, so they run under a time budget and are rolled back when
+ * they exceed it. Online scripts ({@code CONCURRENTLY}) run in autocommit mode; an invalid
+ * index left behind by an interrupted concurrent build is dropped before the build is
+ * retried. Afterwards every index the scripts create must exist and be valid.
+ */
+@Component
+@ConditionalOnProperty(name = "app.migrations.enabled", havingValue = "true", matchIfMissing = true)
+public class SchemaMigrator implements InitializingBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigrator.class);
+
+    static final String LOCATION = "classpath*:db/migration/V*__*.sql";
+
+    // Arbitrary application-wide key for pg_advisory_lock
+    private static final long ADVISORY_LOCK_KEY = 7_310_264_518_392_041L;
+    private static final String LOCK_NOT_AVAILABLE = "55P03";
+    private static final String QUERY_CANCELED = "57014";
+    private static final long LOCK_POLL_MS = 1000;
+
+    private static final String CREATE_HISTORY = "CREATE TABLE IF NOT EXISTS schema_migrations ("
+            + "version INTEGER PRIMARY KEY, description VARCHAR(200) NOT NULL, checksum VARCHAR(64) NOT NULL, "
+            + "execution_ms BIGINT NOT NULL, installed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)";
+
+    @Autowired
+    private DataSource dataSource;
+
+    // A direct or session-pooler connection; defaults to the application's data source
+    @Value("${app.migrations.url:}")
+    private String url;
+
+    @Value("${spring.datasource.url:}")
+    private String datasourceUrl;
+
+    @Value("${app.datasource.prepared-statements.transaction-pooler-ports:6543}")
+    private List<Integer> transactionPoolerPorts;
+
+    @Value("${app.migrations.username:${spring.datasource.username:#{null}}}")
+    private String username;
+
+    @Value("${app.migrations.password:${spring.datasource.password:#{null}}}")
+    private String password;
+
+    @Value("${app.migrations.lock-timeout-ms:5000}")
+    private long lockTimeoutMs;
+
+    @Value("${app.migrations.lock-wait-ms:600000}")
+    private long lockWaitMs;
+
+    @Value("${app.migrations.lock-retries:3}")
+    private int lockRetries;
+
+    @Value("${app.migrations.transactional-budget-ms:10000}")
+    private long transactionalBudgetMs;
+
+    @Value("${app.migrations.verify-indexes:true}")
+    private boolean verifyIndexes;
+
+    @Override
+    public void afterPropertiesSet() throws IOException, SQLException {
+        migrate(loadMigrations());
+    }
+
+    static List<Migration> loadMigrations() throws IOException {
+        List<Migration> migrations = new ArrayList<>();
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources(LOCATION)) {
+            String script = StreamUtils.copyToString(resource.getInputStream(), StandardCharsets.UTF_8);
+            migrations.add(Migration.of(Objects.requireNonNull(resource.getFilename()), script));
+        }
+        Collections.sort(migrations);
+        for (int i = 1; i < migrations.size(); i++) {
+            if (migrations.get(i).getVersion() == migrations.get(i - 1).getVersion()) {
+                throw new IllegalStateException("Duplicate schema migration version " + migrations.get(i).getVersion());
+            }
+        }
+        return migrations;
+    }
+
+    /**
+     * Refuse to migrate through a transaction pooler: it routes each statement to any free
+     * server backend, so the advisory lock would stay held on one backend while the unlock and
+     * lock_timeout land on others, and a later deploy could block forever on the lock.
+     */
+    static void checkConnectionTarget(String migrationUrl, String datasourceUrl, Collection<Integer> poolerPorts) {
+        if ((migrationUrl == null || migrationUrl.isBlank())
+                && PreparedStatementMode.namesTransactionPooler(datasourceUrl, poolerPorts)) {
+            throw new IllegalStateException("The data source connects through a transaction pooler, which cannot "
+                    + "hold the migration lock; set app.migrations.url (DB_MIGRATION_URL in prod) to a direct or "
+                    + "session-pooler connection, or disable app.migrations.enabled");
+        }
+    }
+
+    private void migrate(List<Migration> migrations) throws SQLException {
+        checkConnectionTarget(url, datasourceUrl, transactionPoolerPorts);
+        try (Connection connection = url.isBlank() ? dataSource.getConnection()
+                : DriverManager.getConnection(url, username, password)) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                acquireLock(statement, ADVISORY_LOCK_KEY, lockWaitMs, LOCK_POLL_MS);
+                statement.execute("SET lock_timeout = " + lockTimeoutMs);
+                // Concurrent index builds may legitimately run for a long time
+                statement.execute("SET statement_timeout = 0");
+                try {
+                    statement.execute(CREATE_HISTORY);
+                    Map<Integer, String> applied = appliedChecksums(statement);
+                    int pending = 0;
+                    for (Migration migration : migrations) {
+                        String checksum = applied.remove(migration.getVersion());
+                        if (checksum == null) {
+                            apply(connection, migration);
+                            pending++;
+                        } else if (!checksum.equals(migration.getChecksum())) {
+                            throw new IllegalStateException("Schema migration " + migration
+                                    + " was changed after it was applied; add a new version instead");
+                        }
+                    }
+                    if (!applied.isEmpty()) {
+                        logger.warn("Database has schema migrations this build does not know: {}", applied.keySet());
+                    }
+                    logger.info("Schema is at version {} ({} migrations applied now)",
+                            migrations.isEmpty() ? 0 : migrations.get(migrations.size() - 1).getVersion(), pending);
+                    if (verifyIndexes) {
+                        verifyIndexes(connection, migrations);
+                    }
+                } finally {
+                    statement.execute("SELECT pg_advisory_unlock(" + ADVISORY_LOCK_KEY + ")");
+                    statement.execute("RESET lock_timeout");
+                    statement.execute("RESET statement_timeout");
+                }
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * Take the session advisory lock, polling with {@code pg_try_advisory_lock}. A blocking
+     * {@code pg_advisory_lock} would be cut short by {@code lock_timeout}, which applies to
+     * advisory locks too, and fail startup while another instance is still migrating.
+     */
+    static void acquireLock(Statement statement, long key, long waitMs, long pollMs) throws SQLException {
+        long started = System.nanoTime();
+        for (int attempt = 0; ; attempt++) {
+            try (ResultSet rows = statement.executeQuery("SELECT pg_try_advisory_lock(" + key + ")")) {
+                if (rows.next() && rows.getBoolean(1)) {
+                    return;
+                }
+            }
+            if (elapsedMs(started) >= waitMs) {
+                throw new IllegalStateException("Another instance held the schema migration lock for more than "
+                        + waitMs + " ms; raise app.migrations.lock-wait-ms if its migrations are still running");
+            }
+            if (attempt == 0) {
+                logger.info("Waiting up to {} ms for another instance to finish its schema migrations", waitMs);
+            }
+            try {
+                Thread.sleep(pollMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the schema migration lock", e);
+            }
+        }
+    }
+
+    private static Map<Integer, String> appliedChecksums(Statement statement) throws SQLException {
+        Map<Integer, String> applied = new TreeMap<>();
+        try (ResultSet rows = statement.executeQuery("SELECT version, checksum FROM schema_migrations")) {
+            while (rows.next()) {
+                applied.put(rows.getInt(1), rows.getString(2));
+            }
+        }
+        return applied;
+    }
+
+    private void apply(Connection connection, Migration migration) throws SQLException {
+        long started = System.nanoTime();
+        if (migration.isOnline()) {
+            applyOnline(connection, migration);
+            record(connection, migration, elapsedMs(started));
+        } else {
+            applyInTransaction(connection, migration);
+        }
+        logger.info("Applied schema migration {} in {} ms{}", migration, elapsedMs(started),
+                migration.isOnline() ? " (online)" : "");
+    }
+
+    /**
+     * Run the script in one transaction together with its history row. Each statement may use
+     * what is left of the budget; a lock timeout rolls everything back and retries the script.
+     */
+    private void applyInTransaction(Connection connection, Migration migration) throws SQLException {
+        for (int attempt = 0; ; attempt++) {
+            long started = System.nanoTime();
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                for (String sql : migration.getStatements()) {
+                    long remainingMs = transactionalBudgetMs - elapsedMs(started);
+                    if (remainingMs <= 0) {
+                        throw new SQLException("budget exhausted", QUERY_CANCELED);
+                    }
+                    statement.execute("SET LOCAL statement_timeout = " + remainingMs);
+                    statement.execute(sql);
+                }
+                record(connection, migration, elapsedMs(started));
+                connection.commit();
+                return;
+            } catch (SQLException e) {
+                connection.rollback();
+                if (LOCK_NOT_AVAILABLE.equals(e.getSQLState()) && attempt < lockRetries) {
+                    backOff(migration, attempt);
+                    continue;
+                }
+                if (QUERY_CANCELED.equals(e.getSQLState())) {
+                    throw new IllegalStateException("Schema migration " + migration + " exceeded its "
+                            + transactionalBudgetMs + " ms budget and was rolled back; split it or move long-running "
+                            + "steps (index builds, backfills) into an online migration", e);
+                }
+                throw new IllegalStateException("Schema migration " + migration + " failed: " + e.getMessage(), e);
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Run the statements one by one outside a transaction. They are idempotent, so a script
+     * interrupted part-way is simply run again on the next start.
+     */
+    private void applyOnline(Connection connection, Migration migration) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : migration.getStatements()) {
+                String index = Migration.indexCreatedBy(sql);
+                for (int attempt = 0; ; attempt++) {
+                    try {
+                        if (index != null) {
+                            dropInvalidIndex(connection, statement, index);
+                        }
+                        statement.execute(sql);
+                        break;
+                    } catch (SQLException e) {
+                        if (LOCK_NOT_AVAILABLE.equals(e.getSQLState()) && attempt < lockRetries) {
+                            backOff(migration, attempt);
+                            continue;
+                        }
+                        throw new IllegalStateException("Schema migration " + migration + " failed at \""
+                                + sql + "\": " + e.getMessage(), e);
+                    }
+                }
+            }
+        }
+    }
+
+    // An interrupted CREATE INDEX CONCURRENTLY leaves an invalid index that IF NOT EXISTS would keep
+    private static void dropInvalidIndex(Connection connection, Statement statement, String index) throws SQLException {
+        try (PreparedStatement invalid = connection.prepareStatement("SELECT 1 FROM pg_index i "
+                + "JOIN pg_class c ON c.oid = i.indexrelid JOIN pg_namespace n ON n.oid = c.relnamespace "
+                + "WHERE c.relname = ? AND n.nspname = current_schema() AND NOT i.indisvalid")) {
+            invalid.setString(1, index);
+            try (ResultSet rows = invalid.executeQuery()) {
+                if (!rows.next()) {
+                    return;
+                }
+            }
+        }
+        logger.warn("Dropping invalid index {} left by an interrupted concurrent build", index);
+        statement.execute("DROP INDEX CONCURRENTLY IF EXISTS " + index);
+    }
+
+    private static void record(Connection connection, Migration migration, long executionMs) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO schema_migrations (version, description, checksum, execution_ms) VALUES (?, ?, ?, ?)")) {
+            insert.setInt(1, migration.getVersion());
+            insert.setString(2, migration.getDescription());
+            insert.setString(3, migration.getChecksum());
+            insert.setLong(4, executionMs);
+            insert.executeUpdate();
+        }
+    }
+
+    /**
+     * Fail startup when an index the migrations create is missing or invalid, e.g. dropped by
+     * hand or left behind by a failed concurrent build.
+     */
+    private static void verifyIndexes(Connection connection, List<Migration> migrations) throws SQLException {
+        Set<String> expected = expectedIndexes(migrations);
+        Map<String, Boolean> existing = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT c.relname, i.indisvalid FROM pg_index i "
+                     + "JOIN pg_class c ON c.oid = i.indexrelid JOIN pg_namespace n ON n.oid = c.relnamespace "
+                     + "WHERE n.nspname = current_schema()")) {
+            while (rows.next()) {
+                existing.put(rows.getString(1), rows.getBoolean(2));
+            }
+        }
+        List<String> problems = new ArrayList<>();
+        for (String index : expected) {
+            Boolean valid = existing.get(index);
+            if (valid == null) {
+                problems.add(index + " is missing");
+            } else if (!valid) {
+                problems.add(index + " is invalid");
+            }
+        }
+        if (!problems.isEmpty()) {
+            throw new IllegalStateException("Schema index verification failed: " + String.join(", ", problems));
+        }
+        logger.info("Verified {} indexes created by schema migrations", expected.size());
+    }
+
+    static Set<String> expectedIndexes(List<Migration> migrations) {
+        Set<String> indexes = new LinkedHashSet<>();
+        for (Migration migration : migrations) {
+            for (String statement : migration.getStatements()) {
+                Migration.applyIndexChanges(statement, indexes);
+            }
+        }
+        return indexes;
+    }
+
+    private static void backOff(Migration migration, int attempt) {
+        long delayMs = TimeUnit.SECONDS.toMillis(1L << attempt);
+        logger.warn("Schema migration {} timed out waiting for a lock; retrying in {} ms", migration, delayMs);
+        try {
+            Thread.sleep(delayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying schema migration " + migration, e);
+        }
+    }
+
+    private static long elapsedMs(long startedNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+    }
+}
@@ -0,0 +1,23 @@
+package com.studentapp.backend.migration;
+
+import org.springframework.boot.sql.init.dependency.AbstractBeansOfTypeDatabaseInitializerDetector;
+
+import java.util.Set;
+
+/**
+ * Registers {@link SchemaMigrator} as a database initializer (META-INF/spring.factories), so the
+ * entity manager factory and other database users wait for it, and it runs ahead of the
+ * script-based data initialization.
+ */
+public class SchemaMigratorDetector extends AbstractBeansOfTypeDatabaseInitializerDetector {
+
+    @Override
+    protected Set<Class<?>> getDatabaseInitializerBeanTypes() {
+        return Set.of(SchemaMigrator.class);
+    }
+
+    @Override
+    public int getOrder() {
+        return 1;
+    }
+}
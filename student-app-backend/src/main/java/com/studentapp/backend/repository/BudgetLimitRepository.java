@@ -1,8 +1,12 @@
 package com.studentapp.backend.repository;
 
+import com.studentapp.backend.config.SecondLevelCacheConfig;
 import com.studentapp.common.model.BudgetLimit;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
@@ -13,6 +17,9 @@ public interface BudgetLimitRepository extends JpaRepository<BudgetLimit, UUID>
 
     List<BudgetLimit> findByUserId(UUID userId);
 
+    // Served from the second-level query cache; invalidated by any write to the table
+    @QueryHints({@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.REFERENCE_QUERY_REGION)})
     List<BudgetLimit> findByUserIdAndBudgetYearAndBudgetMonth(UUID userId, Integer budgetYear, Integer budgetMonth);
 
     Optional<BudgetLimit> findByUserIdAndCategoryIdAndBudgetYearAndBudgetMonth(
@@ -21,6 +28,14 @@ public interface BudgetLimitRepository extends JpaRepository<BudgetLimit, UUID>
     @Query("SELECT bl FROM BudgetLimit bl WHERE bl.userId = :userId AND bl.budgetYear = :year")
     List<BudgetLimit> findByUserIdAndYear(@Param("userId") UUID userId, @Param("year") Integer year);
 
+    // Each budget of the month with its category name and the amount spent in that category,
+    // read from the monthly spend rollup in one query; spent is null when the category has no expenses
+    @Query("SELECT c.name, bl.limitAmount, bl.alertThreshold, m.totalAmount FROM BudgetLimit bl JOIN bl.category c "
+        + "LEFT JOIN MonthlyCategorySpend m ON m.userId = bl.userId AND m.categoryId = c.id "
+        + "AND m.spendYear = bl.budgetYear AND m.spendMonth = bl.budgetMonth AND m.expenseCount > 0 "
+        + "WHERE bl.userId = :userId AND bl.budgetYear = :year AND bl.budgetMonth = :month")
+    List<Object[]> findBudgetUsage(@Param("userId") UUID userId, @Param("year") Integer year, @Param("month") Integer month);
+
     @Query("SELECT COUNT(bl) FROM BudgetLimit bl WHERE bl.userId = :userId")
     Long countByUserId(@Param("userId") UUID userId);
 }
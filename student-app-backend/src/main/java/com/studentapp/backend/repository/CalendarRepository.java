@@ -1,7 +1,10 @@
 package com.studentapp.backend.repository;
 
 import com.studentapp.common.model.CalendarEvent;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -9,8 +12,28 @@ import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface CalendarRepository extends JpaRepository<CalendarEvent, String> {
+public interface CalendarRepository extends JpaRepository<CalendarEvent, UUID> {
   List<CalendarEvent> findAllByStartTimeBetween(LocalDateTime start, LocalDateTime end);
   List<CalendarEvent> findAllByUserId(UUID userId);
   List<CalendarEvent> findAllByUserIdAndStartTimeBetween(UUID userId, LocalDateTime start, LocalDateTime end);
+
+  // Keyset pages in id order for the search index build; backed by idx_calendar_events_user_id_id
+  List<CalendarEvent> findByUserIdAndIdGreaterThanOrderByIdAsc(UUID userId, UUID id, Pageable pageable);
+
+  // Keyset pagination over (start_time, id); backed by idx_calendar_events_user_start_id
+  List<CalendarEvent> findByUserIdOrderByStartTimeAscIdAsc(UUID userId, Pageable pageable);
+
+  @Query("SELECT e FROM CalendarEvent e WHERE e.userId = :userId AND (e.startTime > :startTime OR (e.startTime = :startTime AND e.id > :id)) ORDER BY e.startTime ASC, e.id ASC")
+  List<CalendarEvent> findPageAfter(@Param("userId") UUID userId, @Param("startTime") LocalDateTime startTime, @Param("id") UUID id, Pageable pageable);
+
+  // One-off events overlapping [from, to), multi-day events included; backed by idx_calendar_events_user_end_start.
+  // An event ending exactly at from belongs to the previous window, except a zero-length event starting at from.
+  // The leading endTime >= :from keeps the index range scan; the OR only trims its first key value.
+  @Query("SELECT e FROM CalendarEvent e WHERE e.userId = :userId AND e.recurrenceRule IS NULL AND e.startTime < :to AND e.endTime >= :from "
+      + "AND (e.endTime > :from OR e.startTime >= :from) ORDER BY e.startTime ASC, e.id ASC")
+  List<CalendarEvent> findOverlapping(@Param("userId") UUID userId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+  // Recurring series that may have an occurrence in [from, to); backed by idx_calendar_events_user_series
+  @Query("SELECT e FROM CalendarEvent e WHERE e.userId = :userId AND e.recurrenceRule IS NOT NULL AND e.startTime < :to AND (e.recurrenceEnd IS NULL OR e.recurrenceEnd >= :from)")
+  List<CalendarEvent> findSeriesOverlapping(@Param("userId") UUID userId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
\ No newline at end of file
@@ -1,8 +1,12 @@
 package com.studentapp.backend.repository;
 
+import com.studentapp.backend.config.SecondLevelCacheConfig;
 import com.studentapp.common.model.ExpenseCategory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
@@ -10,6 +14,9 @@ import java.util.UUID;
 
 public interface ExpenseCategoryRepository extends JpaRepository<ExpenseCategory, UUID> {
 
+    // Served from the second-level query cache; invalidated by any write to the table
+    @QueryHints({@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.REFERENCE_QUERY_REGION)})
     List<ExpenseCategory> findByUserIdAndIsActiveTrue(UUID userId);
 
     List<ExpenseCategory> findByUserId(UUID userId);
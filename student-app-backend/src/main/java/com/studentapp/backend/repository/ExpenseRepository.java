@@ -1,12 +1,16 @@
 package com.studentapp.backend.repository;
 
 import com.studentapp.common.model.Expense;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.UUID;
 
@@ -14,22 +18,67 @@ public interface ExpenseRepository extends JpaRepository<Expense, UUID> {
 
     List<Expense> findByUserIdOrderByExpenseDateDesc(UUID userId);
 
+    // Keyset pages in id order for the search index build; backed by idx_expenses_user_id_id
+    List<Expense> findByUserIdAndIdGreaterThanOrderByIdAsc(UUID userId, UUID id, Pageable pageable);
+
+    // Keyset pagination over (expense_date DESC, id DESC); backed by idx_expenses_user_date_id
+    List<Expense> findByUserIdOrderByExpenseDateDescIdDesc(UUID userId, Pageable pageable);
+
+    @Query("SELECT e FROM Expense e WHERE e.userId = :userId AND (e.expenseDate < :expenseDate OR (e.expenseDate = :expenseDate AND e.id < :id)) ORDER BY e.expenseDate DESC, e.id DESC")
+    List<Expense> findPageAfter(@Param("userId") UUID userId, @Param("expenseDate") LocalDate expenseDate, @Param("id") UUID id, Pageable pageable);
+
     List<Expense> findByUserIdAndExpenseDateBetweenOrderByExpenseDateDesc(
         UUID userId, LocalDate startDate, LocalDate endDate);
 
     List<Expense> findByCategoryIdOrderByExpenseDateDesc(UUID categoryId);
 
-    @Query("SELECT e FROM Expense e WHERE e.userId = :userId AND EXTRACT(MONTH FROM e.expenseDate) = :month AND EXTRACT(YEAR FROM e.expenseDate) = :year ORDER BY e.expenseDate DESC")
-    List<Expense> findByUserIdAndMonth(@Param("userId") UUID userId, @Param("month") int month, @Param("year") int year);
+    // Stored (userId, categoryId, expenseDate, amount) of an expense. Does not flush pending
+    // changes first, so it still sees the row as it was before an in-flight update.
+    @QueryHints(@QueryHint(name = "org.hibernate.flushMode", value = "COMMIT"))
+    @Query("SELECT e.userId, e.category.id, e.expenseDate, e.amount FROM Expense e WHERE e.id = :id")
+    List<Object[]> findStoredValuesById(@Param("id") UUID id);
+
+    // Month filters are half-open date ranges so (user_id, expense_date) and
+    // (category_id, expense_date) indexes stay usable; the (month, year) overloads
+    // below translate to [first day of month, first day of next month).
+    @Query("SELECT e FROM Expense e WHERE e.userId = :userId AND e.expenseDate >= :fromDate AND e.expenseDate < :toDate ORDER BY e.expenseDate DESC")
+    List<Expense> findByUserIdAndDateRange(@Param("userId") UUID userId, @Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+    @Query("SELECT SUM(e.amount) FROM Expense e WHERE e.userId = :userId AND e.expenseDate >= :fromDate AND e.expenseDate < :toDate")
+    BigDecimal getTotalExpensesByUserAndDateRange(@Param("userId") UUID userId, @Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+    @Query("SELECT SUM(e.amount) FROM Expense e WHERE e.category.id = :categoryId AND e.expenseDate >= :fromDate AND e.expenseDate < :toDate")
+    BigDecimal getTotalExpensesByCategoryAndDateRange(@Param("categoryId") UUID categoryId, @Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+    @Query("SELECT e.category.id, e.category.name, SUM(e.amount) FROM Expense e WHERE e.userId = :userId AND e.expenseDate >= :fromDate AND e.expenseDate < :toDate GROUP BY e.category.id, e.category.name")
+    List<Object[]> getCategoryWiseExpensesByDateRange(@Param("userId") UUID userId, @Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+    // Monthly buckets for trend charts: one grouped scan of the range instead of a query per month
+    @Query("SELECT YEAR(e.expenseDate), MONTH(e.expenseDate), SUM(e.amount) FROM Expense e WHERE e.userId = :userId AND e.expenseDate >= :fromDate AND e.expenseDate < :toDate GROUP BY YEAR(e.expenseDate), MONTH(e.expenseDate)")
+    List<Object[]> getMonthlyTotalsByDateRange(@Param("userId") UUID userId, @Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+    @Query("SELECT YEAR(e.expenseDate), MONTH(e.expenseDate), e.category.id, e.category.name, SUM(e.amount) FROM Expense e WHERE e.userId = :userId AND e.expenseDate >= :fromDate AND e.expenseDate < :toDate GROUP BY YEAR(e.expenseDate), MONTH(e.expenseDate), e.category.id, e.category.name")
+    List<Object[]> getMonthlyCategoryTotalsByDateRange(@Param("userId") UUID userId, @Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+    default List<Expense> findByUserIdAndMonth(UUID userId, int month, int year) {
+        YearMonth period = YearMonth.of(year, month);
+        return findByUserIdAndDateRange(userId, period.atDay(1), period.plusMonths(1).atDay(1));
+    }
 
-    @Query("SELECT SUM(e.amount) FROM Expense e WHERE e.userId = :userId AND EXTRACT(MONTH FROM e.expenseDate) = :month AND EXTRACT(YEAR FROM e.expenseDate) = :year")
-    BigDecimal getTotalExpensesByUserAndMonth(@Param("userId") UUID userId, @Param("month") int month, @Param("year") int year);
+    default BigDecimal getTotalExpensesByUserAndMonth(UUID userId, int month, int year) {
+        YearMonth period = YearMonth.of(year, month);
+        return getTotalExpensesByUserAndDateRange(userId, period.atDay(1), period.plusMonths(1).atDay(1));
+    }
 
-    @Query("SELECT SUM(e.amount) FROM Expense e WHERE e.category.id = :categoryId AND EXTRACT(MONTH FROM e.expenseDate) = :month AND EXTRACT(YEAR FROM e.expenseDate) = :year")
-    BigDecimal getTotalExpensesByCategoryAndMonth(@Param("categoryId") UUID categoryId, @Param("month") int month, @Param("year") int year);
+    default BigDecimal getTotalExpensesByCategoryAndMonth(UUID categoryId, int month, int year) {
+        YearMonth period = YearMonth.of(year, month);
+        return getTotalExpensesByCategoryAndDateRange(categoryId, period.atDay(1), period.plusMonths(1).atDay(1));
+    }
 
-    @Query("SELECT e.category.id, e.category.name, SUM(e.amount) FROM Expense e WHERE e.userId = :userId AND EXTRACT(MONTH FROM e.expenseDate) = :month AND EXTRACT(YEAR FROM e.expenseDate) = :year GROUP BY e.category.id, e.category.name")
-    List<Object[]> getCategoryWiseExpensesByMonth(@Param("userId") UUID userId, @Param("month") int month, @Param("year") int year);
+    default List<Object[]> getCategoryWiseExpensesByMonth(UUID userId, int month, int year) {
+        YearMonth period = YearMonth.of(year, month);
+        return getCategoryWiseExpensesByDateRange(userId, period.atDay(1), period.plusMonths(1).atDay(1));
+    }
 
     @Query("SELECT COUNT(e) FROM Expense e WHERE e.userId = :userId")
     Long countByUserId(@Param("userId") UUID userId);
@@ -0,0 +1,74 @@
+package com.studentapp.backend.repository;
+
+import com.studentapp.common.model.MonthlyCategorySpend;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+public interface MonthlyCategorySpendRepository extends JpaRepository<MonthlyCategorySpend, MonthlyCategorySpend.Key> {
+
+    // Creates a bucket holding the delta; returns 0 when the bucket exists, e.g. inserted by a concurrent first write.
+    // The query space limits invalidation to this table; without it Hibernate clears every cached query result.
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "monthly_category_spend"))
+    @Query(value = "INSERT INTO monthly_category_spend (user_id, category_id, spend_year, spend_month, total_amount, expense_count) "
+        + "VALUES (:userId, :categoryId, :year, :month, :amount, :count) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") UUID userId, @Param("categoryId") UUID categoryId, @Param("year") Integer year,
+                       @Param("month") Integer month, @Param("amount") BigDecimal amount, @Param("count") Long count);
+
+    // Adds a signed delta to an existing bucket; returns 0 when the bucket does not exist yet
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE MonthlyCategorySpend m SET m.totalAmount = m.totalAmount + :amount, m.expenseCount = m.expenseCount + :count "
+        + "WHERE m.userId = :userId AND m.categoryId = :categoryId AND m.spendYear = :year AND m.spendMonth = :month")
+    int applyDelta(@Param("userId") UUID userId, @Param("categoryId") UUID categoryId, @Param("year") Integer year,
+                   @Param("month") Integer month, @Param("amount") BigDecimal amount, @Param("count") Long count);
+
+    @Query("SELECT SUM(m.totalAmount) FROM MonthlyCategorySpend m WHERE m.userId = :userId AND m.spendYear = :year AND m.spendMonth = :month")
+    BigDecimal getTotalByUserAndMonth(@Param("userId") UUID userId, @Param("year") Integer year, @Param("month") Integer month);
+
+    @Query("SELECT m.categoryId, c.name, m.totalAmount FROM MonthlyCategorySpend m JOIN ExpenseCategory c ON c.id = m.categoryId "
+        + "WHERE m.userId = :userId AND m.spendYear = :year AND m.spendMonth = :month AND m.expenseCount > 0")
+    List<Object[]> getCategoryTotalsByUserAndMonth(@Param("userId") UUID userId, @Param("year") Integer year, @Param("month") Integer month);
+
+    // Trailing windows are addressed as year * 12 + month so the range spans year boundaries
+    @Query("SELECT m.spendYear, m.spendMonth, SUM(m.totalAmount) FROM MonthlyCategorySpend m WHERE m.userId = :userId "
+        + "AND m.spendYear * 12 + m.spendMonth BETWEEN :fromPeriod AND :toPeriod GROUP BY m.spendYear, m.spendMonth")
+    List<Object[]> getMonthlyTotals(@Param("userId") UUID userId, @Param("fromPeriod") Integer fromPeriod, @Param("toPeriod") Integer toPeriod);
+
+    @Query("SELECT m.spendYear, m.spendMonth, m.categoryId, c.name, m.totalAmount FROM MonthlyCategorySpend m "
+        + "JOIN ExpenseCategory c ON c.id = m.categoryId WHERE m.userId = :userId AND m.expenseCount > 0 "
+        + "AND m.spendYear * 12 + m.spendMonth BETWEEN :fromPeriod AND :toPeriod")
+    List<Object[]> getMonthlyCategoryTotals(@Param("userId") UUID userId, @Param("fromPeriod") Integer fromPeriod, @Param("toPeriod") Integer toPeriod);
+
+    @Query("SELECT COUNT(m) FROM MonthlyCategorySpend m")
+    long countBuckets();
+
+    @Modifying
+    @Query("DELETE FROM MonthlyCategorySpend m WHERE m.userId = :userId")
+    int deleteByUserId(@Param("userId") UUID userId);
+
+    @Modifying
+    @Query("DELETE FROM MonthlyCategorySpend m")
+    int deleteAllBuckets();
+
+    // Backfill: re-aggregate raw expenses into buckets in a single INSERT ... SELECT
+    @Modifying
+    @Query("INSERT INTO MonthlyCategorySpend (userId, categoryId, spendYear, spendMonth, totalAmount, expenseCount) "
+        + "SELECT e.userId, e.category.id, YEAR(e.expenseDate), MONTH(e.expenseDate), SUM(e.amount), COUNT(e) FROM Expense e "
+        + "WHERE e.userId = :userId GROUP BY e.userId, e.category.id, YEAR(e.expenseDate), MONTH(e.expenseDate)")
+    int rebuildForUser(@Param("userId") UUID userId);
+
+    @Modifying
+    @Query("INSERT INTO MonthlyCategorySpend (userId, categoryId, spendYear, spendMonth, totalAmount, expenseCount) "
+        + "SELECT e.userId, e.category.id, YEAR(e.expenseDate), MONTH(e.expenseDate), SUM(e.amount), COUNT(e) FROM Expense e "
+        + "GROUP BY e.userId, e.category.id, YEAR(e.expenseDate), MONTH(e.expenseDate)")
+    int rebuildAll();
+}
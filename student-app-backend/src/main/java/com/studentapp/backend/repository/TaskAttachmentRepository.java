@@ -2,9 +2,11 @@ package com.studentapp.backend.repository;
 
 import com.studentapp.common.model.TaskAttachment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -24,4 +26,9 @@ public interface TaskAttachmentRepository extends JpaRepository<TaskAttachment,
 
     @Query("SELECT CASE WHEN COUNT(ta) > 0 THEN true ELSE false END FROM TaskAttachment ta WHERE ta.task.id = :taskId AND ta.fileName = :fileName")
     boolean existsByTaskIdAndFileName(@Param("taskId") UUID taskId, @Param("fileName") String fileName);
+
+    // Removes attachments ahead of a bulk task delete, which bypasses JPA cascades
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM TaskAttachment ta WHERE ta.task.id IN (SELECT t.id FROM Task t WHERE t.id IN :taskIds AND t.userId = :userId)")
+    int deleteByTaskIds(@Param("taskIds") Collection<UUID> taskIds, @Param("userId") UUID userId);
 }
\ No newline at end of file
@@ -1,9 +1,12 @@
 package com.studentapp.backend.repository;
 
+import com.studentapp.backend.config.SecondLevelCacheConfig;
 import com.studentapp.common.model.TaskColumn;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
@@ -11,6 +14,9 @@ import java.util.UUID;
 
 public interface TaskColumnRepository extends JpaRepository<TaskColumn, UUID> {
 
+    // Served from the second-level query cache; invalidated by any write to the table
+    @QueryHints({@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.REFERENCE_QUERY_REGION)})
     List<TaskColumn> findByUserIdOrderByPositionAsc(UUID userId);
 
     @Query("SELECT tc FROM TaskColumn tc WHERE tc.userId = :userId AND tc.position = :position")
@@ -24,9 +30,17 @@ public interface TaskColumnRepository extends JpaRepository<TaskColumn, UUID> {
 
     boolean existsByUserIdAndTitle(UUID userId, String title);
 
-    @Modifying
-    @Query("UPDATE TaskColumn tc SET tc.position = tc.position + 1 WHERE tc.userId = :userId AND tc.position >= :fromPosition")
-    void incrementPositionsFrom(@Param("userId") UUID userId, @Param("fromPosition") Integer fromPosition);
+    // Sparse-rank ordering: neighbours of a drop index, and the full list for a rebalance
+    @Query("SELECT tc.position FROM TaskColumn tc WHERE tc.userId = :userId AND tc.id <> :excludeId "
+        + "ORDER BY tc.position ASC, tc.id ASC LIMIT 2 OFFSET :offset")
+    List<Integer> findNeighbourPositions(@Param("userId") UUID userId, @Param("excludeId") UUID excludeId,
+                                         @Param("offset") int offset);
+
+    List<TaskColumn> findByUserIdOrderByPositionAscIdAsc(UUID userId);
+
+    // Task board: every column with its tasks (ordered by TaskColumn.tasks' @OrderBy) in one statement
+    @Query("SELECT tc FROM TaskColumn tc LEFT JOIN FETCH tc.tasks WHERE tc.userId = :userId ORDER BY tc.position ASC, tc.id ASC")
+    List<TaskColumn> findBoardByUserId(@Param("userId") UUID userId);
 
     @Query("SELECT tc FROM TaskColumn tc WHERE tc.userId = :userId AND tc.position >= :fromPosition ORDER BY tc.position ASC")
     List<TaskColumn> findByUserIdAndPositionGreaterThanEqual(@Param("userId") UUID userId, @Param("fromPosition") Integer fromPosition);
@@ -1,12 +1,17 @@
 package com.studentapp.backend.repository;
 
+import com.studentapp.backend.dto.TaskBoardCounts;
+import com.studentapp.backend.dto.TaskCountRow;
 import com.studentapp.common.model.Task;
 import com.studentapp.common.model.Task.Priority;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -14,38 +19,92 @@ public interface TaskRepository extends JpaRepository<Task, UUID> {
 
     List<Task> findByUserIdOrderByPositionAsc(UUID userId);
 
+    // Keyset pagination over (position, id); backed by idx_tasks_user_position_id
+    List<Task> findByUserIdOrderByPositionAscIdAsc(UUID userId, Pageable pageable);
+
+    @Query("SELECT t FROM Task t WHERE t.userId = :userId AND (t.position > :position OR (t.position = :position AND t.id > :id)) ORDER BY t.position ASC, t.id ASC")
+    List<Task> findPageAfter(@Param("userId") UUID userId, @Param("position") Integer position, @Param("id") UUID id, Pageable pageable);
+
     List<Task> findByUserIdAndColumn_IdOrderByPositionAsc(UUID userId, UUID columnId);
 
+    // Sparse-rank ordering: neighbours of a drop index, and the full column for a rebalance
+    @Query("SELECT t.position FROM Task t WHERE t.userId = :userId AND t.column.id = :columnId AND t.id <> :excludeId "
+        + "ORDER BY t.position ASC, t.id ASC LIMIT 2 OFFSET :offset")
+    List<Integer> findNeighbourPositions(@Param("userId") UUID userId, @Param("columnId") UUID columnId,
+                                         @Param("excludeId") UUID excludeId, @Param("offset") int offset);
+
+    List<Task> findByUserIdAndColumn_IdOrderByPositionAscIdAsc(UUID userId, UUID columnId);
+
     List<Task> findByUserIdAndPriorityOrderByCreatedAtDesc(UUID userId, Priority priority);
 
+    // Keyset pages in id order for the search index build; backed by idx_tasks_user_id_id
+    List<Task> findByUserIdAndIdGreaterThanOrderByIdAsc(UUID userId, UUID id, Pageable pageable);
+
     List<Task> findByUserIdAndDueDateBetweenOrderByDueDateAsc(UUID userId, LocalDateTime startDate, LocalDateTime endDate);
 
-    @Query("SELECT t FROM Task t WHERE t.userId = :userId AND t.dueDate < :currentDate ORDER BY t.dueDate ASC")
+    // Deadline queries only look at open tasks, served by the partial idx_tasks_user_due_pending
+    @Query("SELECT t FROM Task t WHERE t.userId = :userId AND t.completedAt IS NULL AND t.dueDate < :currentDate ORDER BY t.dueDate ASC")
     List<Task> findOverdueTasksByUserId(@Param("userId") UUID userId, @Param("currentDate") LocalDateTime currentDate);
 
-    @Query("SELECT t FROM Task t WHERE t.userId = :userId AND t.dueDate BETWEEN :startDate AND :endDate ORDER BY t.dueDate ASC")
+    @Query("SELECT t FROM Task t WHERE t.userId = :userId AND t.completedAt IS NULL AND t.dueDate BETWEEN :startDate AND :endDate ORDER BY t.dueDate ASC")
     List<Task> findUpcomingTasksByUserId(@Param("userId") UUID userId, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
 
-    @Query("SELECT t FROM Task t WHERE t.userId = :userId AND (LOWER(t.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR LOWER(t.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))) ORDER BY t.createdAt DESC")
-    List<Task> searchTasksByUserId(@Param("userId") UUID userId, @Param("searchTerm") String searchTerm);
+    // PostgreSQL only: full-text matches on tasks.search_vector ranked first, then substring
+    // matches served by the lower(title)/lower(description) trigram indexes
+    @Query(value = "SELECT t.* FROM tasks t, websearch_to_tsquery('english', :searchTerm) q "
+        + "WHERE t.user_id = :userId AND (t.search_vector @@ q OR lower(t.title) LIKE :likePattern ESCAPE '\\' "
+        + "OR lower(t.description) LIKE :likePattern ESCAPE '\\') "
+        + "ORDER BY ts_rank(t.search_vector, q) DESC, t.created_at DESC LIMIT :limit", nativeQuery = true)
+    List<Task> searchTasksByUserId(@Param("userId") UUID userId, @Param("searchTerm") String searchTerm,
+                                   @Param("likePattern") String likePattern, @Param("limit") int limit);
 
     @Query("SELECT COUNT(t) FROM Task t WHERE t.userId = :userId")
     Long countByUserId(@Param("userId") UUID userId);
 
-    @Query("SELECT COUNT(t) FROM Task t WHERE t.userId = :userId AND t.column.title = 'Done'")
-    Long countCompletedTasksByUserId(@Param("userId") UUID userId);
-
-    @Query("SELECT COUNT(t) FROM Task t WHERE t.userId = :userId AND t.dueDate < :currentDate")
-    Long countOverdueTasksByUserId(@Param("userId") UUID userId, @Param("currentDate") LocalDateTime currentDate);
 
-    @Query("SELECT t.priority, COUNT(t) FROM Task t WHERE t.userId = :userId GROUP BY t.priority")
-    List<Object[]> getTaskCountByPriority(@Param("userId") UUID userId);
-
-    @Query("SELECT t.column.title, COUNT(t) FROM Task t WHERE t.userId = :userId GROUP BY t.column.title")
-    List<Object[]> getTaskCountByStatus(@Param("userId") UUID userId);
+    // Task board version and headline counts in one pass; the column subqueries cover column-only edits
+    @Query("SELECT new com.studentapp.backend.dto.TaskBoardCounts(COUNT(t), "
+        + "SUM(CASE WHEN t.completedAt IS NOT NULL THEN 1 ELSE 0 END), "
+        + "SUM(CASE WHEN t.completedAt IS NULL AND t.dueDate < :currentDate THEN 1 ELSE 0 END), "
+        + "MAX(t.updatedAt), (SELECT COUNT(tc) FROM TaskColumn tc WHERE tc.userId = :userId), "
+        + "(SELECT MAX(tc.updatedAt) FROM TaskColumn tc WHERE tc.userId = :userId)) "
+        + "FROM Task t WHERE t.userId = :userId")
+    TaskBoardCounts getBoardCounts(@Param("userId") UUID userId, @Param("currentDate") LocalDateTime currentDate);
+
+    // All dashboard statistics in one pass: a row per (priority, column title), rolled up by TaskStatistics.
+    // Completion comes from completedAt; the column join only supplies titles for the status breakdown.
+    // SUM(CASE ...) rather than COUNT(*) FILTER, which Hibernate's H2 dialect renders incorrectly
+    @Query("SELECT new com.studentapp.backend.dto.TaskCountRow(t.priority, c.title, COUNT(t), "
+        + "SUM(CASE WHEN t.completedAt IS NOT NULL THEN 1 ELSE 0 END), "
+        + "SUM(CASE WHEN t.completedAt IS NULL AND t.dueDate < :currentDate THEN 1 ELSE 0 END)) "
+        + "FROM Task t JOIN t.column c WHERE t.userId = :userId GROUP BY t.priority, c.title")
+    List<TaskCountRow> getTaskCounts(@Param("userId") UUID userId, @Param("currentDate") LocalDateTime currentDate);
 
     @Query("SELECT MAX(t.position) FROM Task t WHERE t.userId = :userId AND t.column.id = :columnId")
     Integer findMaxPositionByUserIdAndColumnId(@Param("userId") UUID userId, @Param("columnId") UUID columnId);
 
     List<Task> findByAssignedToOrderByCreatedAtDesc(UUID assignedTo);
+
+    // Bulk operations: callers chunk ids to keep the IN list bounded
+    List<Task> findByUserIdAndIdIn(UUID userId, Collection<UUID> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.priority = :priority, t.updatedAt = :updatedAt WHERE t.id IN :ids AND t.userId = :userId")
+    int updatePriorityByIds(@Param("ids") Collection<UUID> ids, @Param("userId") UUID userId,
+                            @Param("priority") Priority priority, @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Keep completedAt in step with a column whose terminal flag was switched
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.completedAt = :now, t.updatedAt = :now "
+        + "WHERE t.userId = :userId AND t.column.id = :columnId AND t.completedAt IS NULL")
+    int completeByColumnId(@Param("columnId") UUID columnId, @Param("userId") UUID userId, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.completedAt = NULL, t.updatedAt = :now "
+        + "WHERE t.userId = :userId AND t.column.id = :columnId AND t.completedAt IS NOT NULL")
+    int reopenByColumnId(@Param("columnId") UUID columnId, @Param("userId") UUID userId, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Task t WHERE t.id IN :ids AND t.userId = :userId")
+    int deleteByIds(@Param("ids") Collection<UUID> ids, @Param("userId") UUID userId);
 }
\ No newline at end of file
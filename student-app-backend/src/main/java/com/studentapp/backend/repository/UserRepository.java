@@ -2,6 +2,10 @@ package com.studentapp.backend.repository;
 
 import com.studentapp.common.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -9,4 +13,13 @@ import java.util.UUID;
 public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
-} 
\ No newline at end of file
+
+    // Version of the user's searchable rows, see SearchIndex
+    @Query("SELECT u.searchVersion FROM User u WHERE u.id = :userId")
+    Optional<Long> findSearchVersion(@Param("userId") UUID userId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.searchVersion = u.searchVersion + 1 WHERE u.id = :userId")
+    int incrementSearchVersion(@Param("userId") UUID userId);
+}
@@ -0,0 +1,119 @@
+package com.studentapp.backend.search;
+
+import com.studentapp.common.model.CalendarEvent;
+import com.studentapp.common.model.Expense;
+import com.studentapp.common.model.Task;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * The searchable text of one task, expense or calendar event, reduced to index terms
+ * with a weight per term (the highest weight of any field the term appears in).
+ */
+public class SearchDocument {
+
+    public enum Type {
+        TASK, EXPENSE, EVENT
+    }
+
+    static final int TITLE_WEIGHT = 3;
+    static final int TAG_WEIGHT = 2;
+    static final int TEXT_WEIGHT = 1;
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Key key;
+    private final UUID userId;
+    private final String title;
+    private final LocalDateTime date;
+    private final Map<String, Integer> terms = new HashMap<>();
+
+    private SearchDocument(Type type, String id, UUID userId, String title, LocalDateTime date) {
+        this.key = new Key(type, id);
+        this.userId = userId;
+        this.title = title;
+        this.date = date;
+    }
+
+    public static SearchDocument of(Task task) {
+        SearchDocument document = new SearchDocument(Type.TASK, task.getId().toString(), task.getUserId(),
+                task.getTitle(), task.getDueDate() != null ? task.getDueDate() : task.getCreatedAt());
+        return document.add(task.getTitle(), TITLE_WEIGHT)
+                .add(task.getTags(), TAG_WEIGHT)
+                .add(task.getDescription(), TEXT_WEIGHT);
+    }
+
+    public static SearchDocument of(Expense expense) {
+        SearchDocument document = new SearchDocument(Type.EXPENSE, expense.getId().toString(), expense.getUserId(),
+                expense.getTitle(), expense.getExpenseDate() != null ? expense.getExpenseDate().atStartOfDay() : null);
+        return document.add(expense.getTitle(), TITLE_WEIGHT)
+                .add(expense.getTags(), TAG_WEIGHT)
+                .add(expense.getDescription(), TEXT_WEIGHT)
+                .add(expense.getLocation(), TEXT_WEIGHT);
+    }
+
+    public static SearchDocument of(CalendarEvent event) {
+        SearchDocument document = new SearchDocument(Type.EVENT, event.getId().toString(), event.getUserId(),
+                event.getEventName(), event.getStartTime());
+        return document.add(event.getEventName(), TITLE_WEIGHT)
+                .add(event.getDescription(), TEXT_WEIGHT);
+    }
+
+    /**
+     * Lowercased words of the text; anything that is not a letter or digit separates words.
+     */
+    static String[] tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        return NON_WORD.splitAsStream(text.toLowerCase(Locale.ROOT))
+                .filter(token -> !token.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    private SearchDocument add(String text, int weight) {
+        for (String token : tokenize(text)) {
+            terms.merge(token, weight, Math::max);
+        }
+        return this;
+    }
+
+    public Key getKey() { return key; }
+    public UUID getUserId() { return userId; }
+    public String getTitle() { return title; }
+    public LocalDateTime getDate() { return date; }
+    Map<String, Integer> getTerms() { return Collections.unmodifiableMap(terms); }
+
+    /**
+     * Identity of a document within one user's index.
+     */
+    public static final class Key {
+        private final Type type;
+        private final String id;
+
+        public Key(Type type, String id) {
+            this.type = type;
+            this.id = id;
+        }
+
+        public Type getType() { return type; }
+        public String getId() { return id; }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && type == other.type && id.equals(other.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, id);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.studentapp.backend.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.studentapp.backend.dto.SearchResult;
+import com.studentapp.backend.repository.CalendarRepository;
+import com.studentapp.backend.repository.ExpenseRepository;
+import com.studentapp.backend.repository.TaskRepository;
+import com.studentapp.backend.repository.UserRepository;
+import com.studentapp.backend.search.SearchDocument.Key;
+import com.studentapp.backend.search.SearchDocument.Type;
+import com.studentapp.common.model.CalendarEvent;
+import com.studentapp.common.model.Expense;
+import com.studentapp.common.model.Task;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Per-user in-memory search over task, expense and calendar event text. A user's index
+ * is built from the database on their first search, reading all of the user's rows in
+ * keyset pages of {@code load-page-size}, and then kept current by the service save and
+ * delete paths, which report changes here once their transaction commits. Idle users'
+ * indexes are evicted and rebuilt on demand, bounding memory.
+ *
+ * <p>The index lives in this JVM, so writes made on another backend instance do not reach
+ * it. Every reported write therefore also increments the user's {@code search_version} in
+ * the same transaction, and each search compares that version with the one the index was
+ * built at: one primary-key read per search. The index is rebuilt only when a write it has
+ * not seen was made elsewhere.
+ */
+@Component
+public class SearchIndex {
+
+    private final Cache<UUID, UserIndex> indexes;
+    private final TaskRepository taskRepository;
+    private final ExpenseRepository expenseRepository;
+    private final CalendarRepository calendarRepository;
+    private final UserRepository userRepository;
+    private final int loadPageSize;
+
+    public SearchIndex(TaskRepository taskRepository,
+                       ExpenseRepository expenseRepository,
+                       CalendarRepository calendarRepository,
+                       UserRepository userRepository,
+                       @Value("${app.search.index.max-users:1000}") long maxUsers,
+                       @Value("${app.search.index.idle-minutes:30}") long idleMinutes,
+                       @Value("${app.search.index.load-page-size:500}") int loadPageSize) {
+        this.taskRepository = taskRepository;
+        this.expenseRepository = expenseRepository;
+        this.calendarRepository = calendarRepository;
+        this.userRepository = userRepository;
+        this.loadPageSize = loadPageSize;
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .build();
+    }
+
+    /**
+     * Top {@code limit} documents of the given types that match every query word, either
+     * exactly or as the prefix of an indexed word.
+     */
+    public List<SearchResult> search(UUID userId, String query, Set<Type> types, int limit) {
+        String[] words = SearchDocument.tokenize(query);
+        if (words.length == 0) {
+            return List.of();
+        }
+        // Read before any load, so a write racing the load leaves the index behind, never ahead
+        long version = currentVersion(userId);
+        UserIndex index = indexes.get(userId, id -> new UserIndex());
+        if (index.isLoaded() && index.version() != version) {
+            // Another instance wrote to this user's rows
+            indexes.asMap().remove(userId, index);
+            index = indexes.get(userId, id -> new UserIndex());
+        }
+        index.ensureLoaded(() -> load(userId), version);
+        return index.search(words, types, limit).stream()
+                .map(scored -> new SearchResult(scored.document(), scored.score()))
+                .collect(Collectors.toList());
+    }
+
+    public void index(SearchDocument document) {
+        long version = incrementVersion(document.getUserId());
+        afterCommit(() -> {
+            UserIndex index = indexes.getIfPresent(document.getUserId());
+            if (index != null) {
+                index.upsert(document, version);
+            }
+        });
+    }
+
+    public void remove(UUID userId, Type type, Collection<?> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<Key> keys = ids.stream().map(id -> new Key(type, id.toString())).collect(Collectors.toList());
+        long version = incrementVersion(userId);
+        afterCommit(() -> {
+            UserIndex index = indexes.getIfPresent(userId);
+            if (index != null) {
+                index.remove(keys, version);
+            }
+        });
+    }
+
+    private long currentVersion(UUID userId) {
+        return userRepository.findSearchVersion(userId).orElse(0L);
+    }
+
+    // Runs in the caller's transaction, so the new version commits together with the write
+    private long incrementVersion(UUID userId) {
+        userRepository.incrementSearchVersion(userId);
+        return currentVersion(userId);
+    }
+
+    private List<SearchDocument> load(UUID userId) {
+        List<SearchDocument> documents = new ArrayList<>();
+        loadPages((after, page) -> taskRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(userId, after, page),
+                Task::getId, SearchDocument::of, documents);
+        loadPages((after, page) -> expenseRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(userId, after, page),
+                Expense::getId, SearchDocument::of, documents);
+        loadPages((after, page) -> calendarRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(userId, after, page),
+                CalendarEvent::getId, SearchDocument::of, documents);
+        return documents;
+    }
+
+    // Every row, one page at a time; the nil UUID sorts before every id
+    private <T> void loadPages(BiFunction<UUID, Pageable, List<T>> pageAfter, Function<T, UUID> idOf,
+                               Function<T, SearchDocument> toDocument, List<SearchDocument> documents) {
+        Pageable page = PageRequest.of(0, loadPageSize);
+        UUID after = new UUID(0, 0);
+        List<T> rows;
+        do {
+            rows = pageAfter.apply(after, page);
+            rows.forEach(row -> documents.add(toDocument.apply(row)));
+            if (!rows.isEmpty()) {
+                after = idOf.apply(rows.get(rows.size() - 1));
+            }
+        } while (rows.size() == loadPageSize);
+    }
+
+    // A rolled-back write must not reach the index, so changes made inside a transaction wait for its commit
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.studentapp.backend.search;
+
+import com.studentapp.backend.search.SearchDocument.Key;
+import com.studentapp.backend.search.SearchDocument.Type;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Inverted index over one user's documents. Terms are kept sorted so a query word
+ * matches every indexed term it is a prefix of with a single range scan; the cost of a
+ * query depends on the postings of the matched terms, not on how many documents the
+ * user has.
+ *
+ * The index starts empty and is filled from the database on first search. Changes that
+ * arrive while it is loading are queued and replayed on top of the loaded snapshot, so
+ * a write committed during the load is never lost.
+ *
+ * It also records the search version (see {@link SearchIndex}) of the database state it
+ * reflects. Every write increments that version by one, so a change only keeps the index
+ * current when it carries the version right after the index's own; anything else means a
+ * write the index has not seen.
+ */
+class UserIndex {
+
+    // An exact word match outranks a longer word that merely starts with the query word
+    private static final double PREFIX_FACTOR = 0.5;
+
+    private static final Comparator<Scored> RANKING = Comparator.comparingDouble(Scored::score)
+            .thenComparing(scored -> scored.document().getDate(), Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final NavigableMap<String, Map<Key, Integer>> postings = new TreeMap<>();
+    private final Map<Key, SearchDocument> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object loadLock = new Object();
+    private final List<Consumer<UserIndex>> pending = new ArrayList<>();
+    private volatile boolean loaded;
+    private long version;
+
+    /**
+     * Fill the index on first use; {@code version} must have been read before the loader runs.
+     */
+    void ensureLoaded(Supplier<List<SearchDocument>> loader, long version) {
+        if (loaded) {
+            return;
+        }
+        synchronized (loadLock) {
+            if (loaded) {
+                return;
+            }
+            List<SearchDocument> snapshot = loader.get();
+            lock.writeLock().lock();
+            try {
+                this.version = version;
+                snapshot.forEach(this::put);
+                pending.forEach(change -> change.accept(this));
+                pending.clear();
+                loaded = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    boolean isLoaded() {
+        return loaded;
+    }
+
+    long version() {
+        lock.readLock().lock();
+        try {
+            return version;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void upsert(SearchDocument document, long version) {
+        apply(index -> {
+            index.put(document);
+            index.advance(version);
+        });
+    }
+
+    void remove(Collection<Key> keys, long version) {
+        apply(index -> {
+            keys.forEach(index::delete);
+            index.advance(version);
+        });
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Documents containing every query word (as a word or word prefix), best first:
+     * highest summed field weight, then most recent.
+     */
+    List<Scored> search(String[] words, Set<Type> types, int limit) {
+        if (words.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Key, Double> scores = null;
+            for (String word : words) {
+                Map<Key, Double> matches = match(word, scores);
+                if (matches.isEmpty()) {
+                    return List.of();
+                }
+                if (scores != null) {
+                    Map<Key, Double> previous = scores;
+                    matches.replaceAll((key, score) -> score + previous.get(key));
+                }
+                scores = matches;
+            }
+            PriorityQueue<Scored> top = new PriorityQueue<>(limit + 1, RANKING);
+            for (Map.Entry<Key, Double> entry : scores.entrySet()) {
+                if (!types.contains(entry.getKey().getType())) {
+                    continue;
+                }
+                top.add(new Scored(documents.get(entry.getKey()), entry.getValue()));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<Scored> ranked = new ArrayList<>(top);
+            ranked.sort(RANKING.reversed());
+            return ranked;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Best score per document for one query word, restricted to the documents still in the running
+    private Map<Key, Double> match(String word, Map<Key, Double> candidates) {
+        Map<Key, Double> matches = new HashMap<>();
+        for (Map.Entry<String, Map<Key, Integer>> term : postings.tailMap(word, true).entrySet()) {
+            if (!term.getKey().startsWith(word)) {
+                break;
+            }
+            double factor = term.getKey().length() == word.length() ? 1.0 : PREFIX_FACTOR;
+            for (Map.Entry<Key, Integer> posting : term.getValue().entrySet()) {
+                if (candidates == null || candidates.containsKey(posting.getKey())) {
+                    matches.merge(posting.getKey(), posting.getValue() * factor, Math::max);
+                }
+            }
+        }
+        return matches;
+    }
+
+    private void apply(Consumer<UserIndex> change) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                change.accept(this);
+            } else {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void advance(long version) {
+        if (this.version == version - 1) {
+            this.version = version;
+        }
+    }
+
+    private void put(SearchDocument document) {
+        delete(document.getKey());
+        documents.put(document.getKey(), document);
+        document.getTerms().forEach((term, weight) ->
+                postings.computeIfAbsent(term, t -> new HashMap<>()).put(document.getKey(), weight));
+    }
+
+    private void delete(Key key) {
+        SearchDocument previous = documents.remove(key);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.getTerms().keySet()) {
+            Map<Key, Integer> postingList = postings.get(term);
+            if (postingList != null) {
+                postingList.remove(key);
+                if (postingList.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    static final class Scored {
+        private final SearchDocument document;
+        private final double score;
+
+        Scored(SearchDocument document, double score) {
+            this.document = document;
+            this.score = score;
+        }
+
+        SearchDocument document() { return document; }
+        double score() { return score; }
+    }
+}
@@ -0,0 +1,66 @@
+package com.studentapp.backend.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Principal placed in the security context for JWT-authenticated requests.
+ * Carries the user's id so controllers can resolve it without a users table lookup.
+ */
+public class AuthenticatedUser implements UserDetails {
+
+    private static final List<GrantedAuthority> DEFAULT_AUTHORITIES =
+            Collections.singletonList(new SimpleGrantedAuthority("USER"));
+
+    private final UUID userId;
+    private final String username;
+
+    public AuthenticatedUser(UUID userId, String username) {
+        this.userId = userId;
+        this.username = username;
+    }
+
+    public UUID getUserId() { return userId; }
+
+    @Override
+    public String getUsername() { return username; }
+
+    @Override
+    public String getPassword() { return null; }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() { return DEFAULT_AUTHORITIES; }
+
+    @Override
+    public boolean isAccountNonExpired() { return true; }
+
+    @Override
+    public boolean isAccountNonLocked() { return true; }
+
+    @Override
+    public boolean isCredentialsNonExpired() { return true; }
+
+    @Override
+    public boolean isEnabled() { return true; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AuthenticatedUser)) return false;
+        AuthenticatedUser that = (AuthenticatedUser) o;
+        return Objects.equals(userId, that.userId) && Objects.equals(username, that.username);
+    }
+
+    @Override
+    public int hashCode() { return Objects.hash(userId, username); }
+
+    @Override
+    public String toString() { return username; }
+}
@@ -17,6 +17,9 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserCache userCache;
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByUsername(username)
@@ -27,4 +30,24 @@ public class CustomUserDetailsService implements UserDetailsService {
                 Collections.singletonList(new SimpleGrantedAuthority("USER"))
         );
     }
-} 
\ No newline at end of file
+
+    /**
+     * Load the request principal for a username, served from the user cache when possible.
+     */
+    public AuthenticatedUser loadAuthenticatedUser(String username) throws UsernameNotFoundException {
+        AuthenticatedUser principal = userCache.get(username, name -> userRepository.findByUsername(name)
+                .map(user -> new AuthenticatedUser(user.getId(), user.getUsername()))
+                .orElse(null));
+        if (principal == null) {
+            throw new UsernameNotFoundException("User not found with username: " + username);
+        }
+        return principal;
+    }
+
+    /**
+     * Drop any cached principal for the user, e.g. after a password change.
+     */
+    public void evictUser(String username) {
+        userCache.evict(username);
+    }
+}
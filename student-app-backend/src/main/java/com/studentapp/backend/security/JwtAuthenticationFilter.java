@@ -1,15 +1,16 @@
 package com.studentapp.backend.security;
 
+import io.jsonwebtoken.JwtException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.UUID;
 
 import jakarta.servlet.ServletException;
 
@@ -20,28 +21,52 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtUtil jwtUtil;
 
     @Autowired
-    private UserDetailsService userDetailsService;
+    private CustomUserDetailsService userDetailsService;
 
     @Override
     protected void doFilterInternal(jakarta.servlet.http.HttpServletRequest request, jakarta.servlet.http.HttpServletResponse response, jakarta.servlet.FilterChain filterChain) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
-        String username = null;
-        String jwt = null;
 
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            jwt = authHeader.substring(7);
-            username = jwtUtil.extractUsername(jwt);
-        }
-
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            if (jwtUtil.validateToken(jwt)) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            AuthenticatedUser principal = authenticate(authHeader.substring(7));
+            if (principal != null) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails((jakarta.servlet.http.HttpServletRequest) request));
+                        principal, null, principal.getAuthorities());
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         }
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Verify the token once and resolve its principal through the user cache.
+     * Returns null when the token is invalid or no longer matches a known user.
+     */
+    private AuthenticatedUser authenticate(String jwt) {
+        ParsedToken token;
+        try {
+            token = jwtUtil.parseToken(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        if (token == null || token.getUsername() == null) {
+            return null;
+        }
+
+        AuthenticatedUser principal;
+        try {
+            principal = userDetailsService.loadAuthenticatedUser(token.getUsername());
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+
+        // Reject tokens issued to a different account that has since reused the username
+        UUID tokenUserId = token.getUserId();
+        if (tokenUserId != null && !tokenUserId.equals(principal.getUserId())) {
+            return null;
+        }
+        return principal;
+    }
+}
@@ -1,16 +1,25 @@
 package com.studentapp.backend.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.studentapp.common.model.User;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.impl.TextCodec;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtil {
@@ -21,6 +30,16 @@ public class JwtUtil {
     @Value("${jwt.expiration}")
     private long jwtExpirationMs;
 
+    @Value("${jwt.parse-cache.enabled:true}")
+    private boolean parseCacheEnabled = true;
+
+    @Value("${jwt.parse-cache.max-size:10000}")
+    private long parseCacheMaxSize = 10000;
+
+    // Derived lazily so the secret can be injected after construction
+    private volatile byte[] signingKey;
+    private volatile Cache<String, ParsedToken> parsedTokens;
+
     public String generateToken(User user) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("username", user.getUsername());
@@ -30,13 +49,30 @@ public class JwtUtil {
                 .setSubject(user.getUsername())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .signWith(SignatureAlgorithm.HS512, jwtSecret)
+                .signWith(SignatureAlgorithm.HS512, signingKey())
                 .compact();
     }
 
+    /**
+     * Verify a token and return its claims. Verified tokens are memoized by hash
+     * until they expire, so repeated calls for the same token skip HS512 verification.
+     */
+    public ParsedToken parseToken(String token) {
+        if (!parseCacheEnabled) {
+            return verify(token);
+        }
+        String key = hash(token);
+        ParsedToken parsed = parsedTokens().getIfPresent(key);
+        if (parsed == null || parsed.isExpired(System.currentTimeMillis())) {
+            parsed = verify(token);
+            parsedTokens().put(key, parsed);
+        }
+        return parsed;
+    }
+
     public boolean validateToken(String token) {
         try {
-            Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(token);
+            parseToken(token);
             return true;
         } catch (Exception e) {
             return false;
@@ -44,17 +80,78 @@ public class JwtUtil {
     }
 
     public String extractUsername(String token) {
-        Claims claims = Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(token).getBody();
-        return claims.getSubject();
+        return parseToken(token).getUsername();
     }
 
     public UUID extractUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .setSigningKey(jwtSecret)
-                .parseClaimsJws(token)
-                .getBody();
+        UUID userId = parseToken(token).getUserId();
+        if (userId == null) {
+            throw new IllegalArgumentException("Token has no userId claim");
+        }
+        return userId;
+    }
+
+    private ParsedToken verify(String token) {
+        Claims claims = Jwts.parser().setSigningKey(signingKey()).parseClaimsJws(token).getBody();
+        return ParsedToken.fromClaims(claims);
+    }
+
+    private byte[] signingKey() {
+        byte[] key = signingKey;
+        if (key == null) {
+            key = TextCodec.BASE64.decode(jwtSecret);
+            signingKey = key;
+        }
+        return key;
+    }
+
+    private Cache<String, ParsedToken> parsedTokens() {
+        Cache<String, ParsedToken> cache = parsedTokens;
+        if (cache == null) {
+            synchronized (this) {
+                cache = parsedTokens;
+                if (cache == null) {
+                    cache = Caffeine.newBuilder()
+                            .maximumSize(parseCacheMaxSize)
+                            .expireAfter(new TokenExpiry())
+                            .build();
+                    parsedTokens = cache;
+                }
+            }
+        }
+        return cache;
+    }
 
-        String userId = (String) claims.get("userId");
-        return UUID.fromString(userId);
+    /**
+     * Expires each cached token at its own exp claim.
+     */
+    private class TokenExpiry implements Expiry<String, ParsedToken> {
+        @Override
+        public long expireAfterCreate(String key, ParsedToken parsed, long currentTime) {
+            if (parsed.getExpiration() == null) {
+                return TimeUnit.MILLISECONDS.toNanos(jwtExpirationMs);
+            }
+            long remaining = parsed.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remaining, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, ParsedToken parsed, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, parsed, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, ParsedToken parsed, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
-} 
\ No newline at end of file
+}
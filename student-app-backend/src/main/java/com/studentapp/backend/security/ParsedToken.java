@@ -0,0 +1,41 @@
+package com.studentapp.backend.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Result of verifying a JWT once: its subject, userId claim and expiry.
+ * Instances are immutable and safe to share between requests.
+ */
+public final class ParsedToken {
+
+    private final String username;
+    private final UUID userId;
+    private final Date expiration;
+
+    ParsedToken(String username, UUID userId, Date expiration) {
+        this.username = username;
+        this.userId = userId;
+        this.expiration = expiration;
+    }
+
+    static ParsedToken fromClaims(Claims claims) {
+        Object userId = claims.get("userId");
+        return new ParsedToken(
+                claims.getSubject(),
+                userId != null ? UUID.fromString(userId.toString()) : null,
+                claims.getExpiration());
+    }
+
+    public String getUsername() { return username; }
+
+    public UUID getUserId() { return userId; }
+
+    public Date getExpiration() { return expiration; }
+
+    public boolean isExpired(long nowMillis) {
+        return expiration != null && expiration.getTime() <= nowMillis;
+    }
+}
@@ -0,0 +1,40 @@
+package com.studentapp.backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded, time-limited cache of authenticated principals keyed by username.
+ * Entries must be evicted whenever a user's credentials change; {@link UserCacheEvictionListener}
+ * does so for every committed update or delete of a user.
+ */
+@Component
+public class UserCache {
+
+    private final Cache<String, AuthenticatedUser> cache;
+
+    public UserCache(@Value("${app.security.user-cache.max-size:10000}") long maxSize,
+                     @Value("${app.security.user-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public AuthenticatedUser get(String username, Function<String, AuthenticatedUser> loader) {
+        return cache.get(username, loader);
+    }
+
+    public void evict(String username) {
+        cache.invalidate(username);
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+}
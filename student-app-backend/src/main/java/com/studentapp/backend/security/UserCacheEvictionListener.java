@@ -0,0 +1,74 @@
+package com.studentapp.backend.security;
+
+import com.studentapp.common.model.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts cached principals once an update or delete of a user row commits, so a deleted,
+ * renamed or re-credentialed user stops authenticating on this instance immediately.
+ * Changes made outside this application (SQL, other instances) are only picked up when the
+ * entry expires, see {@code app.security.user-cache.ttl-seconds}.
+ */
+@Component
+public class UserCacheEvictionListener implements PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof User user) {
+            userCache.evict(user.getUsername());
+            // A rename leaves the principal cached under the old username
+            Object[] oldState = event.getOldState();
+            if (oldState != null) {
+                Object oldUsername = oldState[event.getPersister().getPropertyIndex("username")];
+                if (oldUsername instanceof String username) {
+                    userCache.evict(username);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof User user) {
+            userCache.evict(user.getUsername());
+        }
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return User.class.isAssignableFrom(persister.getMappedClass());
+    }
+}
@@ -1,16 +1,21 @@
 package com.studentapp.backend.service;
 
+import com.studentapp.backend.dto.CursorPage;
 import com.studentapp.common.model.CalendarEvent;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface CalendarService {
   CalendarEvent saveEvent(CalendarEvent event, UUID userId);
-  Optional<CalendarEvent> getEventById(String id, UUID userId);
+  Optional<CalendarEvent> getEventById(UUID id, UUID userId);
   List<CalendarEvent> getAllEvents(UUID userId);
+  CursorPage<CalendarEvent> getEventsPage(UUID userId, String cursor, int limit);
+  List<CalendarEvent> getEventsInRange(UUID userId, LocalDateTime from, LocalDateTime to);
   List<CalendarEvent> getEventsForDate(LocalDate date, UUID userId);
-  void deleteEvent(String id, UUID userId);
+  void deleteOccurrence(UUID id, LocalDateTime occurrenceStart, UUID userId);
+  void deleteEvent(UUID id, UUID userId);
 }
\ No newline at end of file
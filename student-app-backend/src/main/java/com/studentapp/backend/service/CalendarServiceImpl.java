@@ -1,11 +1,23 @@
 package com.studentapp.backend.service;
 
 import com.studentapp.common.model.CalendarEvent;
+import com.studentapp.backend.dto.CursorPage;
+import com.studentapp.backend.dto.PageCursor;
 import com.studentapp.backend.repository.CalendarRepository;
+import com.studentapp.backend.search.SearchDocument;
+import com.studentapp.backend.search.SearchIndex;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -14,38 +26,157 @@ import java.util.UUID;
 public class CalendarServiceImpl implements CalendarService {
 
   private final CalendarRepository calendarRepository;
+  private final SearchIndex searchIndex;
+  private final RecurrenceExpander recurrenceExpander = new RecurrenceExpander();
 
-  public CalendarServiceImpl(CalendarRepository calendarRepository) {
+  public CalendarServiceImpl(CalendarRepository calendarRepository, SearchIndex searchIndex) {
     this.calendarRepository = calendarRepository;
+    this.searchIndex = searchIndex;
   }
 
   @Override
   public CalendarEvent saveEvent(CalendarEvent event, UUID userId) {
     event.setUserId(userId);
-    return calendarRepository.save(event);
+    if (event.getOccurrenceStart() != null) {
+      applyToSeries(event, userId);
+    }
+    event.setRecurrenceEnd(recurrenceEnd(event));
+    CalendarEvent savedEvent = calendarRepository.save(event);
+    searchIndex.index(SearchDocument.of(savedEvent));
+    return savedEvent;
   }
 
   @Override
-  public Optional<CalendarEvent> getEventById(String id, UUID userId) {
+  public Optional<CalendarEvent> getEventById(UUID id, UUID userId) {
     Optional<CalendarEvent> event = calendarRepository.findById(id);
     return event.filter(e -> userId.equals(e.getUserId()));
   }
 
+  // Stored rows: a recurring series appears once, as its first occurrence with its rule; an
+  // unbounded series has no finite expansion, so occurrences are only listed for a range
   @Override
+  @Transactional(readOnly = true)
   public List<CalendarEvent> getAllEvents(UUID userId) {
     return calendarRepository.findAllByUserId(userId);
   }
 
   @Override
+  @Transactional(readOnly = true)
+  public CursorPage<CalendarEvent> getEventsPage(UUID userId, String cursor, int limit) {
+    // Fetch one extra row to learn whether another page follows
+    Pageable pageable = PageRequest.of(0, limit + 1);
+    List<CalendarEvent> events;
+    if (cursor == null) {
+      events = calendarRepository.findByUserIdOrderByStartTimeAscIdAsc(userId, pageable);
+    } else {
+      PageCursor after = PageCursor.decode(cursor);
+      events = calendarRepository.findPageAfter(userId, after.sortKeyAsDateTime(), after.idAsUuid(), pageable);
+    }
+    return CursorPage.of(events, limit, event -> PageCursor.encode(event.getStartTime(), event.getId()));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<CalendarEvent> getEventsInRange(UUID userId, LocalDateTime from, LocalDateTime to) {
+    if (!to.isAfter(from)) {
+      throw new IllegalArgumentException("Range end must be after its start");
+    }
+    List<CalendarEvent> events = new ArrayList<>(calendarRepository.findOverlapping(userId, from, to));
+    // Recurring series are stored once and expanded only for the requested window
+    for (CalendarEvent series : calendarRepository.findSeriesOverlapping(userId, from, to)) {
+      events.addAll(recurrenceExpander.expand(series, from, to));
+    }
+    events.sort(Comparator.comparing(CalendarEvent::getStartTime));
+    return events;
+  }
+
+  // An edited occurrence carries the series id but its own times: shift the stored series by as
+  // much as the occurrence was moved, so the series keeps its first date and earlier occurrences.
+  // Cancelled occurrences move with it, or they would no longer match any occurrence start
+  private void applyToSeries(CalendarEvent occurrence, UUID userId) {
+    if (occurrence.getId() != null) {
+      calendarRepository.findById(occurrence.getId())
+          .filter(series -> userId.equals(series.getUserId()) && series.getRecurrenceRule() != null)
+          .ifPresent(series -> {
+            Duration moved = Duration.between(occurrence.getOccurrenceStart(), occurrence.getStartTime());
+            Duration length = Duration.between(occurrence.getStartTime(), occurrence.getEndTime());
+            occurrence.setStartTime(series.getStartTime().plus(moved));
+            occurrence.setEndTime(occurrence.getStartTime().plus(length));
+            occurrence.setRecurrenceExceptions(shiftExceptions(series.getRecurrenceExceptions(), moved));
+          });
+    }
+    occurrence.setOccurrenceStart(null);
+  }
+
+  private static String shiftExceptions(String recurrenceExceptions, Duration moved) {
+    if (recurrenceExceptions == null || recurrenceExceptions.isBlank()) {
+      return recurrenceExceptions;
+    }
+    List<String> shifted = new ArrayList<>();
+    for (String value : recurrenceExceptions.split(",")) {
+      if (!value.isBlank()) {
+        shifted.add(LocalDateTime.parse(value.trim()).plus(moved).toString());
+      }
+    }
+    return String.join(",", shifted);
+  }
+
+  // Lets the range query skip series that are over; validates the rule and exceptions on the way
+  private static LocalDateTime recurrenceEnd(CalendarEvent event) {
+    String rule = event.getRecurrenceRule();
+    if (rule == null || rule.isBlank()) {
+      event.setRecurrenceRule(null);
+      return null;
+    }
+    if (event.getRecurrenceExceptions() != null) {
+      for (String value : event.getRecurrenceExceptions().split(",")) {
+        try {
+          if (!value.isBlank()) {
+            LocalDateTime.parse(value.trim());
+          }
+        } catch (DateTimeParseException e) {
+          throw new IllegalArgumentException("Malformed recurrence exception: " + value, e);
+        }
+      }
+    }
+    LocalDateTime lastStart = RecurrenceRule.parse(rule).lastStart(event.getStartTime());
+    return lastStart == null ? null : lastStart.plus(Duration.between(event.getStartTime(), event.getEndTime()));
+  }
+
+  // The day as a range, so recurring series are expanded and events spanning midnight are included
+  @Override
+  @Transactional(readOnly = true)
   public List<CalendarEvent> getEventsForDate(LocalDate date, UUID userId) {
-    LocalDateTime start = date.atStartOfDay();
-    LocalDateTime end = date.atTime(23, 59, 59);
-    return calendarRepository.findAllByUserIdAndStartTimeBetween(userId, start, end);
+    return getEventsInRange(userId, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+  }
+
+  // Cancels one occurrence by adding its start to the series' exceptions; an event without a
+  // rule has no other occurrences, so it is deleted
+  @Override
+  public void deleteOccurrence(UUID id, LocalDateTime occurrenceStart, UUID userId) {
+    Optional<CalendarEvent> event = calendarRepository.findById(id);
+    event.filter(e -> userId.equals(e.getUserId())).ifPresent(e -> {
+      if (e.getRecurrenceRule() == null) {
+        deleteEvent(id, userId);
+        return;
+      }
+      String exceptions = e.getRecurrenceExceptions();
+      if (exceptions == null || exceptions.isBlank()) {
+        e.setRecurrenceExceptions(occurrenceStart.toString());
+      } else if (Arrays.stream(exceptions.split(","))
+          .noneMatch(value -> !value.isBlank() && LocalDateTime.parse(value.trim()).equals(occurrenceStart))) {
+        e.setRecurrenceExceptions(exceptions + "," + occurrenceStart);
+      }
+      calendarRepository.save(e);
+    });
   }
 
   @Override
-  public void deleteEvent(String id, UUID userId) {
+  public void deleteEvent(UUID id, UUID userId) {
     Optional<CalendarEvent> event = calendarRepository.findById(id);
-    event.filter(e -> userId.equals(e.getUserId())).ifPresent(e -> calendarRepository.deleteById(id));
+    event.filter(e -> userId.equals(e.getUserId())).ifPresent(e -> {
+      calendarRepository.deleteById(id);
+      searchIndex.remove(userId, SearchDocument.Type.EVENT, List.of(id));
+    });
   }
 }
\ No newline at end of file
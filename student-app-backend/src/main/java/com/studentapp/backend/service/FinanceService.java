@@ -1,5 +1,7 @@
 package com.studentapp.backend.service;
 
+import com.studentapp.backend.dto.CursorPage;
+import com.studentapp.backend.dto.SpendingTrends;
 import com.studentapp.common.model.Expense;
 import com.studentapp.common.model.ExpenseCategory;
 import com.studentapp.common.model.BudgetLimit;
@@ -26,10 +28,13 @@ public interface FinanceService {
     Expense saveExpense(Expense expense, UUID userId);
     Optional<Expense> getExpenseById(UUID id, UUID userId);
     List<Expense> getAllExpenses(UUID userId);
+    CursorPage<Expense> getExpensesPage(UUID userId, String cursor, int limit);
     List<Expense> getExpensesByDateRange(UUID userId, LocalDate startDate, LocalDate endDate);
     List<Expense> getExpensesByCategory(UUID categoryId, UUID userId);
     List<Expense> getExpensesByMonth(UUID userId, int month, int year);
     void deleteExpense(UUID id, UUID userId);
+    int rebuildMonthlySpend(UUID userId); // Recompute one user's monthly_category_spend rows from expenses
+    int rebuildMonthlySpend(); // Recompute all monthly_category_spend rows from expenses
 
     // Budget Limit operations
     BudgetLimit saveBudgetLimit(BudgetLimit budgetLimit, UUID userId);
@@ -49,6 +54,6 @@ public interface FinanceService {
     BigDecimal getTotalExpensesByMonth(UUID userId, int month, int year);
     Map<String, BigDecimal> getCategoryWiseExpenses(UUID userId, int month, int year);
     Map<String, Object> getBudgetAnalysis(UUID userId, int month, int year);
-    Map<String, Object> getSpendingTrends(UUID userId, int months);
+    SpendingTrends getSpendingTrends(UUID userId, int months, boolean byCategory);
     List<Map<String, Object>> getBudgetAlerts(UUID userId);
 }
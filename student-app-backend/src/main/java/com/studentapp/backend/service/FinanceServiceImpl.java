@@ -1,8 +1,15 @@
 package com.studentapp.backend.service;
 
+import com.studentapp.backend.dto.CursorPage;
+import com.studentapp.backend.dto.PageCursor;
+import com.studentapp.backend.dto.SpendingTrends;
 import com.studentapp.backend.repository.*;
+import com.studentapp.backend.search.SearchDocument;
+import com.studentapp.backend.search.SearchIndex;
 import com.studentapp.common.model.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,7 +20,7 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
-@Transactional
+@Transactional(readOnly = true)
 public class FinanceServiceImpl implements FinanceService {
 
     @Autowired
@@ -28,14 +35,22 @@ public class FinanceServiceImpl implements FinanceService {
     @Autowired
     private FinancialGoalRepository financialGoalRepository;
 
+    @Autowired
+    private MonthlyCategorySpendRepository monthlySpendRepository;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
     // Expense Category operations
     @Override
+    @Transactional
     public ExpenseCategory saveCategory(ExpenseCategory category, UUID userId) {
         category.setUserId(userId);
         return categoryRepository.save(category);
     }
 
     @Override
+    @Transactional
     public ExpenseCategory saveCategory(ExpenseCategory category) {
         // For internal use when userId is already set
         return categoryRepository.save(category);
@@ -58,6 +73,7 @@ public class FinanceServiceImpl implements FinanceService {
     }
 
     @Override
+    @Transactional
     public void deleteCategory(UUID id, UUID userId) {
         categoryRepository.findById(id)
             .filter(category -> category.getUserId().equals(userId))
@@ -69,9 +85,22 @@ public class FinanceServiceImpl implements FinanceService {
 
     // Expense operations
     @Override
+    @Transactional
     public Expense saveExpense(Expense expense, UUID userId) {
         expense.setUserId(userId);
-        return expenseRepository.save(expense);
+        // On update, back the previous amount out of the bucket it was counted in; the
+        // date or category may have moved it to a different bucket
+        if (expense.getId() != null) {
+            for (Object[] stored : expenseRepository.findStoredValuesById(expense.getId())) {
+                adjustMonthlySpend((UUID) stored[0], (UUID) stored[1], (LocalDate) stored[2],
+                    ((BigDecimal) stored[3]).negate(), -1L);
+            }
+        }
+        Expense savedExpense = expenseRepository.save(expense);
+        adjustMonthlySpend(userId, savedExpense.getCategory().getId(), savedExpense.getExpenseDate(),
+            savedExpense.getAmount(), 1L);
+        searchIndex.index(SearchDocument.of(savedExpense));
+        return savedExpense;
     }
 
     @Override
@@ -85,6 +114,20 @@ public class FinanceServiceImpl implements FinanceService {
         return expenseRepository.findByUserIdOrderByExpenseDateDesc(userId);
     }
 
+    @Override
+    public CursorPage<Expense> getExpensesPage(UUID userId, String cursor, int limit) {
+        // Fetch one extra row to learn whether another page follows
+        Pageable pageable = PageRequest.of(0, limit + 1);
+        List<Expense> expenses;
+        if (cursor == null) {
+            expenses = expenseRepository.findByUserIdOrderByExpenseDateDescIdDesc(userId, pageable);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            expenses = expenseRepository.findPageAfter(userId, after.sortKeyAsDate(), after.idAsUuid(), pageable);
+        }
+        return CursorPage.of(expenses, limit, expense -> PageCursor.encode(expense.getExpenseDate(), expense.getId()));
+    }
+
     @Override
     public List<Expense> getExpensesByDateRange(UUID userId, LocalDate startDate, LocalDate endDate) {
         return expenseRepository.findByUserIdAndExpenseDateBetweenOrderByExpenseDateDesc(userId, startDate, endDate);
@@ -104,14 +147,46 @@ public class FinanceServiceImpl implements FinanceService {
     }
 
     @Override
+    @Transactional
     public void deleteExpense(UUID id, UUID userId) {
         expenseRepository.findById(id)
             .filter(expense -> expense.getUserId().equals(userId))
-            .ifPresent(expenseRepository::delete);
+            .ifPresent(expense -> {
+                adjustMonthlySpend(expense.getUserId(), expense.getCategory().getId(), expense.getExpenseDate(),
+                    expense.getAmount().negate(), -1L);
+                expenseRepository.delete(expense);
+                searchIndex.remove(userId, SearchDocument.Type.EXPENSE, List.of(id));
+            });
+    }
+
+    @Override
+    @Transactional
+    public int rebuildMonthlySpend(UUID userId) {
+        monthlySpendRepository.deleteByUserId(userId);
+        return monthlySpendRepository.rebuildForUser(userId);
+    }
+
+    @Override
+    @Transactional
+    public int rebuildMonthlySpend() {
+        monthlySpendRepository.deleteAllBuckets();
+        return monthlySpendRepository.rebuildAll();
+    }
+
+    private void adjustMonthlySpend(UUID userId, UUID categoryId, LocalDate expenseDate, BigDecimal amount, long count) {
+        int year = expenseDate.getYear();
+        int month = expenseDate.getMonthValue();
+        // Update the bucket, else create it. Of two concurrent first writes only one insert wins;
+        // the other waits for it, inserts nothing and then finds the bucket to update
+        if (monthlySpendRepository.applyDelta(userId, categoryId, year, month, amount, count) == 0
+                && monthlySpendRepository.insertIfAbsent(userId, categoryId, year, month, amount, count) == 0) {
+            monthlySpendRepository.applyDelta(userId, categoryId, year, month, amount, count);
+        }
     }
 
     // Budget Limit operations
     @Override
+    @Transactional
     public BudgetLimit saveBudgetLimit(BudgetLimit budgetLimit, UUID userId) {
         budgetLimit.setUserId(userId);
         return budgetLimitRepository.save(budgetLimit);
@@ -134,6 +209,7 @@ public class FinanceServiceImpl implements FinanceService {
     }
 
     @Override
+    @Transactional
     public void deleteBudgetLimit(UUID id, UUID userId) {
         budgetLimitRepository.findById(id)
             .filter(budgetLimit -> budgetLimit.getUserId().equals(userId))
@@ -142,6 +218,7 @@ public class FinanceServiceImpl implements FinanceService {
 
     // Financial Goal operations
     @Override
+    @Transactional
     public FinancialGoal saveFinancialGoal(FinancialGoal goal, UUID userId) {
         goal.setUserId(userId);
         return financialGoalRepository.save(goal);
@@ -164,6 +241,7 @@ public class FinanceServiceImpl implements FinanceService {
     }
 
     @Override
+    @Transactional
     public void deleteFinancialGoal(UUID id, UUID userId) {
         financialGoalRepository.findById(id)
             .filter(goal -> goal.getUserId().equals(userId))
@@ -176,13 +254,13 @@ public class FinanceServiceImpl implements FinanceService {
     // Analytics and reporting
     @Override
     public BigDecimal getTotalExpensesByMonth(UUID userId, int month, int year) {
-        BigDecimal total = expenseRepository.getTotalExpensesByUserAndMonth(userId, month, year);
+        BigDecimal total = monthlySpendRepository.getTotalByUserAndMonth(userId, year, month);
         return total != null ? total : BigDecimal.ZERO;
     }
 
     @Override
     public Map<String, BigDecimal> getCategoryWiseExpenses(UUID userId, int month, int year) {
-        List<Object[]> results = expenseRepository.getCategoryWiseExpensesByMonth(userId, month, year);
+        List<Object[]> results = monthlySpendRepository.getCategoryTotalsByUserAndMonth(userId, year, month);
         Map<String, BigDecimal> categoryExpenses = new HashMap<>();
 
         for (Object[] result : results) {
@@ -216,47 +294,66 @@ public class FinanceServiceImpl implements FinanceService {
     }
 
     @Override
-    public Map<String, Object> getSpendingTrends(UUID userId, int months) {
-        Map<String, Object> trends = new HashMap<>();
-        List<Map<String, Object>> monthlyData = new ArrayList<>();
-
-        LocalDate currentDate = LocalDate.now();
-        for (int i = months - 1; i >= 0; i--) {
-            YearMonth yearMonth = YearMonth.from(currentDate.minusMonths(i));
-            BigDecimal monthlyTotal = getTotalExpensesByMonth(userId, yearMonth.getMonthValue(), yearMonth.getYear());
-
-            Map<String, Object> monthData = new HashMap<>();
-            monthData.put("month", yearMonth.toString());
-            monthData.put("total", monthlyTotal);
-            monthlyData.add(monthData);
+    public SpendingTrends getSpendingTrends(UUID userId, int months, boolean byCategory) {
+        YearMonth last = YearMonth.now();
+        YearMonth first = last.minusMonths(Math.max(months, 1) - 1L);
+        int fromPeriod = first.getYear() * 12 + first.getMonthValue();
+        int toPeriod = last.getYear() * 12 + last.getMonthValue();
+
+        // One rollup query for the whole window; the category rows also yield the month totals
+        Map<YearMonth, BigDecimal> totals = new HashMap<>();
+        Map<YearMonth, List<SpendingTrends.CategorySpending>> categories = new HashMap<>();
+        if (byCategory) {
+            for (Object[] row : monthlySpendRepository.getMonthlyCategoryTotals(userId, fromPeriod, toPeriod)) {
+                YearMonth yearMonth = YearMonth.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue());
+                BigDecimal amount = (BigDecimal) row[4];
+                totals.merge(yearMonth, amount, BigDecimal::add);
+                categories.computeIfAbsent(yearMonth, key -> new ArrayList<>())
+                    .add(new SpendingTrends.CategorySpending((UUID) row[2], (String) row[3], amount));
+            }
+        } else {
+            for (Object[] row : monthlySpendRepository.getMonthlyTotals(userId, fromPeriod, toPeriod)) {
+                YearMonth yearMonth = YearMonth.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue());
+                totals.put(yearMonth, (BigDecimal) row[2]);
+            }
         }
 
-        trends.put("monthlyTotals", monthlyData);
-        return trends;
+        List<SpendingTrends.MonthlySpending> monthlyData = new ArrayList<>();
+        for (YearMonth yearMonth = first; !yearMonth.isAfter(last); yearMonth = yearMonth.plusMonths(1)) {
+            List<SpendingTrends.CategorySpending> monthCategories = byCategory
+                ? categories.getOrDefault(yearMonth, Collections.emptyList())
+                : null;
+            monthlyData.add(new SpendingTrends.MonthlySpending(
+                yearMonth.toString(), totals.getOrDefault(yearMonth, BigDecimal.ZERO), monthCategories));
+        }
+        return new SpendingTrends(monthlyData);
     }
 
     @Override
     public List<Map<String, Object>> getBudgetAlerts(UUID userId) {
         List<Map<String, Object>> alerts = new ArrayList<>();
-        LocalDate now = LocalDate.now();
+        YearMonth current = YearMonth.now();
 
-        List<BudgetLimit> currentBudgets = getBudgetLimitsByMonth(userId, now.getMonthValue(), now.getYear());
+        // Limits, category names and spend arrive together; thresholds are checked as rows are read
+        List<Object[]> usage = budgetLimitRepository.findBudgetUsage(userId, current.getYear(), current.getMonthValue());
 
-        for (BudgetLimit budget : currentBudgets) {
-            BigDecimal spent = expenseRepository.getTotalExpensesByCategoryAndMonth(
-                budget.getCategory().getId(), now.getMonthValue(), now.getYear());
+        for (Object[] row : usage) {
+            String categoryName = (String) row[0];
+            BigDecimal limitAmount = (BigDecimal) row[1];
+            BigDecimal alertThreshold = (BigDecimal) row[2];
+            BigDecimal spent = (BigDecimal) row[3];
 
-            if (spent != null && budget.getLimitAmount().compareTo(BigDecimal.ZERO) > 0) {
+            if (spent != null && limitAmount.compareTo(BigDecimal.ZERO) > 0) {
                 BigDecimal percentageUsed = spent.multiply(BigDecimal.valueOf(100))
-                    .divide(budget.getLimitAmount(), 2, BigDecimal.ROUND_HALF_UP);
+                    .divide(limitAmount, 2, BigDecimal.ROUND_HALF_UP);
 
-                if (percentageUsed.compareTo(budget.getAlertThreshold()) >= 0) {
+                if (percentageUsed.compareTo(alertThreshold) >= 0) {
                     Map<String, Object> alert = new HashMap<>();
-                    alert.put("categoryName", budget.getCategory().getName());
-                    alert.put("budgetLimit", budget.getLimitAmount());
+                    alert.put("categoryName", categoryName);
+                    alert.put("budgetLimit", limitAmount);
                     alert.put("spent", spent);
                     alert.put("percentageUsed", percentageUsed);
-                    alert.put("alertThreshold", budget.getAlertThreshold());
+                    alert.put("alertThreshold", alertThreshold);
                     alerts.add(alert);
                 }
             }
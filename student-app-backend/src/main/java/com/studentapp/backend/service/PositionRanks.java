@@ -0,0 +1,68 @@
+package com.studentapp.backend.service;
+
+import java.util.List;
+
+/**
+ * Sparse integer ranks for task and column ordering. Rows are spaced {@link #GAP} apart,
+ * so a drag-and-drop move takes a free value between its new neighbours and updates
+ * only the moved row. When two neighbours have no integer between them the list is
+ * renumbered once and the move retried.
+ */
+final class PositionRanks {
+
+    static final int GAP = 1024;
+
+    private PositionRanks() {}
+
+    /**
+     * Rank for a row placed after every existing row, or null if it would overflow and the
+     * list needs renumbering first.
+     */
+    static Integer after(Integer maxPosition) {
+        return after(maxPosition, 1);
+    }
+
+    /**
+     * First of {@code count} ranks, one gap apart, for rows placed after every existing row,
+     * or null if the last of them would overflow and the list needs renumbering first.
+     */
+    static Integer after(Integer maxPosition, int count) {
+        long first = maxPosition != null ? (long) maxPosition + GAP : GAP;
+        long last = first + (long) Math.max(count - 1, 0) * GAP;
+        return last <= Integer.MAX_VALUE ? (int) first : null;
+    }
+
+    /**
+     * Rank for the i-th row of a freshly numbered list. Numbering starts at one gap so
+     * there is room to insert before the first row.
+     */
+    static int nth(int index) {
+        return (index + 1) * GAP;
+    }
+
+    /**
+     * Rank strictly between the neighbours of the drop slot, or null if the neighbours
+     * are adjacent and the list needs rebalancing first. Callers handle an index past the
+     * end of the list (no neighbours at all) by appending.
+     *
+     * @param neighbours positions of the rows at max(index - 1, 0) onwards, at most two,
+     *                   in list order
+     * @param index      the drop index the neighbours were read for
+     */
+    static Integer between(List<Integer> neighbours, int index) {
+        Integer before = index > 0 && !neighbours.isEmpty() ? neighbours.get(0) : null;
+        Integer after = index > 0 ? (neighbours.size() > 1 ? neighbours.get(1) : null)
+                                  : (neighbours.isEmpty() ? null : neighbours.get(0));
+        if (before == null && after == null) {
+            return GAP;
+        }
+        if (before == null) {
+            return after > 0 ? after / 2 : null;
+        }
+        if (after == null) {
+            return before <= Integer.MAX_VALUE - GAP ? before + GAP : null;
+        }
+        long gap = (long) after - before;
+        return gap > 1 ? (int) (before + gap / 2) : null;
+    }
+}
@@ -0,0 +1,94 @@
+package com.studentapp.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.studentapp.common.model.CalendarEvent;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Expands a recurring series into the occurrences overlapping a window, caching the
+ * occurrence start times per (series, window). The key carries the rule and first
+ * occurrence, so an edited series is simply a new key; cancelled occurrences are removed
+ * after the cache, so editing the exceptions never needs an eviction either.
+ */
+public class RecurrenceExpander {
+
+    static final long DEFAULT_MAX_SIZE = 10_000;
+
+    private record Key(UUID seriesId, String rule, LocalDateTime seriesStart, LocalDateTime from, LocalDateTime to) {}
+
+    // null when caching is disabled
+    private final Cache<Key, List<LocalDateTime>> cache;
+
+    public RecurrenceExpander() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public RecurrenceExpander(long maxSize) {
+        this.cache = maxSize > 0
+                ? Caffeine.newBuilder().maximumSize(maxSize).expireAfterAccess(Duration.ofMinutes(10)).build()
+                : null;
+    }
+
+    /**
+     * Occurrences of the series overlapping [from, to), with the same overlap rule as one-off
+     * events: an occurrence counts if it starts before to and either ends after from or is
+     * zero-length and starts at or after from. Each is
+     * a detached copy of the series row carrying the series id and, as its occurrence start,
+     * its own start time: editing an occurrence shifts the whole series, deleting it with its
+     * occurrence start cancels only that occurrence.
+     */
+    public List<CalendarEvent> expand(CalendarEvent series, LocalDateTime from, LocalDateTime to) {
+        Duration length = Duration.between(series.getStartTime(), series.getEndTime());
+        // An occurrence that starts up to one event length before the window still reaches into it
+        Key key = new Key(series.getId(), series.getRecurrenceRule(), series.getStartTime(), from.minus(length), to);
+        List<LocalDateTime> starts = cache != null ? cache.get(key, RecurrenceExpander::startsFor) : startsFor(key);
+
+        Set<LocalDateTime> cancelled = exceptions(series.getRecurrenceExceptions());
+        List<CalendarEvent> occurrences = new ArrayList<>(starts.size());
+        for (LocalDateTime start : starts) {
+            LocalDateTime end = start.plus(length);
+            // The cached starts include an occurrence ending exactly at from, which belongs to the previous window
+            if (!cancelled.contains(start) && (end.isAfter(from) || !start.isBefore(from))) {
+                occurrences.add(occurrence(series, start, end));
+            }
+        }
+        return occurrences;
+    }
+
+    private static List<LocalDateTime> startsFor(Key key) {
+        return List.copyOf(RecurrenceRule.parse(key.rule()).startsBetween(key.seriesStart(), key.from(), key.to()));
+    }
+
+    private static Set<LocalDateTime> exceptions(String recurrenceExceptions) {
+        Set<LocalDateTime> cancelled = new HashSet<>();
+        if (recurrenceExceptions != null) {
+            for (String value : recurrenceExceptions.split(",")) {
+                if (!value.isBlank()) {
+                    cancelled.add(LocalDateTime.parse(value.trim()));
+                }
+            }
+        }
+        return cancelled;
+    }
+
+    private static CalendarEvent occurrence(CalendarEvent series, LocalDateTime start, LocalDateTime end) {
+        CalendarEvent occurrence = new CalendarEvent(series.getEventName(), series.getDescription(), start, end,
+                series.getMeetingLinks());
+        occurrence.setId(series.getId());
+        occurrence.setEventType(series.getEventType());
+        occurrence.setUserId(series.getUserId());
+        occurrence.setRecurrenceRule(series.getRecurrenceRule());
+        occurrence.setRecurrenceExceptions(series.getRecurrenceExceptions());
+        occurrence.setRecurrenceEnd(series.getRecurrenceEnd());
+        occurrence.setOccurrenceStart(start);
+        return occurrence;
+    }
+}
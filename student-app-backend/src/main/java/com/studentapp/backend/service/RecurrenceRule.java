@@ -0,0 +1,221 @@
+package com.studentapp.backend.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * The subset of an iCalendar RRULE (RFC 5545) that calendar events support:
+ * FREQ=DAILY|WEEKLY|MONTHLY, INTERVAL, BYDAY (weekly rules only), and at most one of
+ * COUNT and UNTIL, e.g. {@code FREQ=WEEKLY;BYDAY=MO,WE;UNTIL=20240517}.
+ *
+ * Occurrences are generated period by period from the series start, which is always the
+ * first occurrence. Weeks start on Monday. Monthly rules skip months that lack the start
+ * day instead of clamping to the month end, as RFC 5545 requires. UNTIL is read as local
+ * time, like every other time in the calendar.
+ */
+public final class RecurrenceRule {
+
+    // Bounds the work of counting out a series on save
+    static final int MAX_COUNT = 10_000;
+
+    private static final DateTimeFormatter UNTIL_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter UNTIL_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    enum Frequency { DAILY, WEEKLY, MONTHLY }
+
+    private final Frequency frequency;
+    private final int interval;
+    private final Set<DayOfWeek> byDay;
+    private final Integer count;
+    private final LocalDateTime until;
+
+    private RecurrenceRule(Frequency frequency, int interval, Set<DayOfWeek> byDay, Integer count, LocalDateTime until) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.byDay = byDay;
+        this.count = count;
+        this.until = until;
+    }
+
+    /**
+     * Parses a rule, with or without the {@code RRULE:} prefix.
+     *
+     * @throws IllegalArgumentException if the rule is malformed or uses unsupported parts
+     */
+    public static RecurrenceRule parse(String rule) {
+        String body = rule.trim();
+        if (body.regionMatches(true, 0, "RRULE:", 0, 6)) {
+            body = body.substring(6);
+        }
+        Frequency frequency = null;
+        int interval = 1;
+        Set<DayOfWeek> byDay = EnumSet.noneOf(DayOfWeek.class);
+        Integer count = null;
+        LocalDateTime until = null;
+        for (String part : body.split(";")) {
+            String[] pair = part.split("=", 2);
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Malformed recurrence rule part: " + part);
+            }
+            String value = pair[1].trim().toUpperCase(Locale.ROOT);
+            switch (pair[0].trim().toUpperCase(Locale.ROOT)) {
+                case "FREQ" -> frequency = Frequency.valueOf(value);
+                case "INTERVAL" -> interval = Integer.parseInt(value);
+                case "BYDAY" -> {
+                    for (String day : value.split(",")) {
+                        byDay.add(dayOfWeek(day.trim()));
+                    }
+                }
+                case "COUNT" -> count = Integer.parseInt(value);
+                case "UNTIL" -> until = parseUntil(value);
+                default -> throw new IllegalArgumentException("Unsupported recurrence rule part: " + part);
+            }
+        }
+        if (frequency == null) {
+            throw new IllegalArgumentException("Recurrence rule needs a FREQ");
+        }
+        if (interval < 1) {
+            throw new IllegalArgumentException("INTERVAL must be positive");
+        }
+        if (!byDay.isEmpty() && frequency != Frequency.WEEKLY) {
+            throw new IllegalArgumentException("BYDAY is only supported for weekly rules");
+        }
+        if (count != null && until != null) {
+            throw new IllegalArgumentException("COUNT and UNTIL cannot be combined");
+        }
+        if (count != null && (count < 1 || count > MAX_COUNT)) {
+            throw new IllegalArgumentException("COUNT must be between 1 and " + MAX_COUNT);
+        }
+        return new RecurrenceRule(frequency, interval, byDay, count, until);
+    }
+
+    /**
+     * Start times of the occurrences that start in [from, to), in order.
+     */
+    public List<LocalDateTime> startsBetween(LocalDateTime seriesStart, LocalDateTime from, LocalDateTime to) {
+        List<LocalDateTime> starts = new ArrayList<>();
+        forEachStart(seriesStart, from, to, starts::add);
+        return starts;
+    }
+
+    /**
+     * Start of the last occurrence, or null if the rule has neither COUNT nor UNTIL. For an
+     * UNTIL rule this is UNTIL itself, which may be later than the actual last occurrence.
+     */
+    public LocalDateTime lastStart(LocalDateTime seriesStart) {
+        if (until != null) {
+            return until;
+        }
+        if (count == null) {
+            return null;
+        }
+        LocalDateTime[] last = {seriesStart};
+        forEachStart(seriesStart, seriesStart, LocalDateTime.MAX, start -> last[0] = start);
+        return last[0];
+    }
+
+    private void forEachStart(LocalDateTime seriesStart, LocalDateTime from, LocalDateTime to,
+                              Consumer<LocalDateTime> sink) {
+        // COUNT numbers occurrences from the start of the series; otherwise the periods
+        // wholly before the window cannot contribute and are skipped
+        long period = count == null ? Math.max(0, periodsBetween(seriesStart, from)) : 0;
+        int generated = 0;
+        while (true) {
+            LocalDateTime periodStart = periodStart(seriesStart, period);
+            if (!periodStart.isBefore(to) || until != null && periodStart.isAfter(until)) {
+                return;
+            }
+            for (LocalDateTime start : occurrencesIn(seriesStart, period)) {
+                if (start.isBefore(seriesStart)) {
+                    continue;
+                }
+                if (!start.isBefore(to) || until != null && start.isAfter(until)
+                        || count != null && generated >= count) {
+                    return;
+                }
+                generated++;
+                if (!start.isBefore(from)) {
+                    sink.accept(start);
+                }
+            }
+            period++;
+        }
+    }
+
+    private long periodsBetween(LocalDateTime seriesStart, LocalDateTime from) {
+        LocalDate first = seriesStart.toLocalDate();
+        LocalDate target = from.toLocalDate();
+        return switch (frequency) {
+            case DAILY -> ChronoUnit.DAYS.between(first, target) / interval;
+            case WEEKLY -> ChronoUnit.WEEKS.between(weekStart(first), weekStart(target)) / interval;
+            case MONTHLY -> ChronoUnit.MONTHS.between(YearMonth.from(first), YearMonth.from(target)) / interval;
+        };
+    }
+
+    private LocalDateTime periodStart(LocalDateTime seriesStart, long period) {
+        LocalDate first = seriesStart.toLocalDate();
+        long units = period * interval;
+        return switch (frequency) {
+            case DAILY -> first.plusDays(units).atStartOfDay();
+            case WEEKLY -> weekStart(first).plusWeeks(units).atStartOfDay();
+            case MONTHLY -> first.withDayOfMonth(1).plusMonths(units).atStartOfDay();
+        };
+    }
+
+    private List<LocalDateTime> occurrencesIn(LocalDateTime seriesStart, long period) {
+        LocalTime time = seriesStart.toLocalTime();
+        LocalDate periodStart = periodStart(seriesStart, period).toLocalDate();
+        switch (frequency) {
+            case DAILY:
+                return List.of(periodStart.atTime(time));
+            case WEEKLY:
+                Set<DayOfWeek> days = byDay.isEmpty() ? EnumSet.of(seriesStart.getDayOfWeek()) : byDay;
+                List<LocalDateTime> starts = new ArrayList<>(days.size());
+                for (DayOfWeek day : days) {
+                    starts.add(periodStart.plusDays(day.ordinal()).atTime(time));
+                }
+                return starts;
+            default:
+                YearMonth month = YearMonth.from(periodStart);
+                int dayOfMonth = seriesStart.getDayOfMonth();
+                return month.isValidDay(dayOfMonth) ? List.of(month.atDay(dayOfMonth).atTime(time)) : List.of();
+        }
+    }
+
+    private static LocalDate weekStart(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private static DayOfWeek dayOfWeek(String code) {
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (day.name().startsWith(code) && code.length() == 2) {
+                return day;
+            }
+        }
+        throw new IllegalArgumentException("Unknown BYDAY value: " + code);
+    }
+
+    private static LocalDateTime parseUntil(String value) {
+        String local = value.endsWith("Z") ? value.substring(0, value.length() - 1) : value;
+        try {
+            return local.length() == 8
+                    ? LocalDate.parse(local, UNTIL_DATE).atTime(LocalTime.MAX)
+                    : LocalDateTime.parse(local, UNTIL_DATE_TIME);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed UNTIL: " + value, e);
+        }
+    }
+}
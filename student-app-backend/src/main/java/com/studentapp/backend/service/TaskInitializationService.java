@@ -64,6 +64,7 @@ public class TaskInitializationService {
                 column.setTitle(template.getTitle());
                 column.setColor(template.getColor());
                 column.setPosition(template.getPosition());
+                column.setTerminal(template.isTerminal());
                 
                 taskService.saveColumn(column, userId);
                 successCount++;
@@ -80,10 +81,10 @@ public class TaskInitializationService {
     
     private List<DefaultTaskColumnTemplate> getDefaultTaskColumnTemplates() {
         return Arrays.asList(
-            new DefaultTaskColumnTemplate("To Do", "#e3f2fd", 0),
-            new DefaultTaskColumnTemplate("In Progress", "#fff3e0", 1),
-            new DefaultTaskColumnTemplate("Review", "#f3e5f5", 2),
-            new DefaultTaskColumnTemplate("Done", "#e8f5e8", 3)
+            new DefaultTaskColumnTemplate("To Do", "#e3f2fd", 0, false),
+            new DefaultTaskColumnTemplate("In Progress", "#fff3e0", 1, false),
+            new DefaultTaskColumnTemplate("Review", "#f3e5f5", 2, false),
+            new DefaultTaskColumnTemplate("Done", "#e8f5e8", 3, true)
         );
     }
     
@@ -109,15 +110,18 @@ public class TaskInitializationService {
         private final String title;
         private final String color;
         private final Integer position;
+        private final boolean terminal;
         
-        public DefaultTaskColumnTemplate(String title, String color, Integer position) {
+        public DefaultTaskColumnTemplate(String title, String color, Integer position, boolean terminal) {
             this.title = title;
             this.color = color;
             this.position = position;
+            this.terminal = terminal;
         }
         
         public String getTitle() { return title; }
         public String getColor() { return color; }
         public Integer getPosition() { return position; }
+        public boolean isTerminal() { return terminal; }
     }
 }
\ No newline at end of file
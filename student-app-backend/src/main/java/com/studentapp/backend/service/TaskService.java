@@ -1,5 +1,9 @@
 package com.studentapp.backend.service;
 
+import com.studentapp.backend.dto.CursorPage;
+import com.studentapp.backend.dto.TaskBoardDto;
+import com.studentapp.backend.dto.TaskSearchHit;
+import com.studentapp.backend.dto.TaskStatistics;
 import com.studentapp.common.model.Task;
 import com.studentapp.common.model.TaskColumn;
 import com.studentapp.common.model.TaskAttachment;
@@ -25,11 +29,12 @@ public interface TaskService {
     Task saveTask(Task task, UUID userId);
     Optional<Task> getTaskById(UUID id, UUID userId);
     List<Task> getAllTasks(UUID userId);
+    CursorPage<Task> getTasksPage(UUID userId, String cursor, int limit);
     List<Task> getTasksByColumn(UUID userId, UUID columnId);
     List<Task> getTasksByPriority(UUID userId, Priority priority);
     List<Task> getUpcomingTasks(UUID userId, int days);
     List<Task> getOverdueTasks(UUID userId);
-    List<Task> searchTasks(UUID userId, String searchTerm);
+    List<TaskSearchHit> searchTasks(UUID userId, String searchTerm, int limit);
     void deleteTask(UUID id, UUID userId);
     Task updateTaskPosition(UUID taskId, UUID newColumnId, Integer newPosition, UUID userId);
     Task moveTaskToColumn(UUID taskId, UUID columnId, UUID userId);
@@ -41,13 +46,17 @@ public interface TaskService {
     void deleteAttachment(UUID id, UUID userId);
 
     // Analytics and reporting
+    TaskStatistics getTaskStatisticsSummary(UUID userId);
     Map<String, Long> getTaskStatistics(UUID userId);
     Map<Priority, Long> getTaskCountByPriority(UUID userId);
     Map<String, Long> getTaskCountByStatus(UUID userId);
     List<Task> getTasksDueSoon(UUID userId, int days);
+
+    // Task board snapshot; not modified, without loading the board, when ifNoneMatch names the current version
+    TaskBoardDto getBoard(UUID userId, String ifNoneMatch);
     
-    // Bulk operations
-    void moveMultipleTasks(List<UUID> taskIds, UUID targetColumnId, UUID userId);
-    void deleteMultipleTasks(List<UUID> taskIds, UUID userId);
-    void updateMultipleTasksPriority(List<UUID> taskIds, Priority priority, UUID userId);
+    // Bulk operations; each returns the number of the user's tasks affected
+    int moveMultipleTasks(List<UUID> taskIds, UUID targetColumnId, UUID userId);
+    int deleteMultipleTasks(List<UUID> taskIds, UUID userId);
+    int updateMultipleTasksPriority(List<UUID> taskIds, Priority priority, UUID userId);
 }
\ No newline at end of file
@@ -1,9 +1,19 @@
 package com.studentapp.backend.service;
 
+import com.studentapp.backend.dto.CursorPage;
+import com.studentapp.backend.dto.PageCursor;
+import com.studentapp.backend.dto.TaskBoardCounts;
+import com.studentapp.backend.dto.TaskBoardDto;
+import com.studentapp.backend.dto.TaskSearchHit;
+import com.studentapp.backend.dto.TaskStatistics;
 import com.studentapp.backend.repository.*;
+import com.studentapp.backend.search.SearchDocument;
+import com.studentapp.backend.search.SearchIndex;
 import com.studentapp.common.model.*;
 import com.studentapp.common.model.Task.Priority;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -12,7 +22,7 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
-@Transactional
+@Transactional(readOnly = true)
 public class TaskServiceImpl implements TaskService {
 
     @Autowired
@@ -24,6 +34,9 @@ public class TaskServiceImpl implements TaskService {
     @Autowired
     private TaskAttachmentRepository attachmentRepository;
 
+    @Autowired
+    private SearchIndex searchIndex;
+
     // Task Column operations
     @Override
     @Transactional
@@ -31,30 +44,37 @@ public class TaskServiceImpl implements TaskService {
         column.setUserId(userId);
         
         if (column.getId() == null) {
-            // Creating new column - handle position management
+            // Creating new column - append, then move into the requested slot if one was given
+            Integer targetIndex = column.getPosition();
+            column.setPosition(appendColumnRank(userId));
+            TaskColumn savedColumn = columnRepository.save(column);
+            if (targetIndex != null) {
+                placeColumn(savedColumn, Math.max(targetIndex, 0), userId);
+            }
+            return savedColumn;
+        } else {
+            // Updating existing column - the rank only changes through updateColumnPosition
+            Optional<TaskColumn> stored = columnRepository.findById(column.getId());
+            stored.ifPresent(existing -> column.setPosition(existing.getPosition()));
             if (column.getPosition() == null) {
-                // No position specified, add at end
-                Integer maxPosition = columnRepository.findMaxPositionByUserId(userId);
-                column.setPosition(maxPosition != null ? maxPosition + 1 : 0);
-            } else {
-                // Position specified, shift existing columns
-                Integer targetPosition = column.getPosition();
-                
-                // Ensure position is non-negative
-                if (targetPosition < 0) {
-                    targetPosition = 0;
-                    column.setPosition(targetPosition);
+                column.setPosition(appendColumnRank(userId));
+            }
+            Boolean wasTerminal = stored.map(TaskColumn::getTerminal).orElse(false);
+            if (column.getTerminal() == null) {
+                column.setTerminal(wasTerminal);
+            }
+            TaskColumn savedColumn = columnRepository.save(column);
+            // Switching the flag completes or reopens everything already in the column
+            if (!savedColumn.getTerminal().equals(wasTerminal)) {
+                LocalDateTime now = LocalDateTime.now();
+                if (savedColumn.getTerminal()) {
+                    taskRepository.completeByColumnId(savedColumn.getId(), userId, now);
+                } else {
+                    taskRepository.reopenByColumnId(savedColumn.getId(), userId, now);
                 }
-                
-                // Increment positions of all columns at and after the target position
-                columnRepository.incrementPositionsFrom(userId, targetPosition);
             }
-        } else {
-            // Updating existing column - for now, keep simple update
-            // TODO: Handle position changes for updates if needed
+            return savedColumn;
         }
-        
-        return columnRepository.save(column);
     }
 
     @Override
@@ -69,6 +89,7 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
+    @Transactional
     public void deleteColumn(UUID id, UUID userId) {
         Optional<TaskColumn> columnOpt = getColumnById(id, userId);
         if (columnOpt.isPresent()) {
@@ -83,8 +104,11 @@ public class TaskServiceImpl implements TaskService {
             if (!otherColumns.isEmpty()) {
                 TaskColumn targetColumn = otherColumns.get(0);
                 List<Task> tasksToMove = taskRepository.findByUserIdAndColumn_IdOrderByPositionAsc(userId, id);
+                int position = appendTaskRanks(targetColumn.getId(), tasksToMove.size(), userId);
                 for (Task task : tasksToMove) {
-                    task.setColumn(targetColumn);
+                    placeTask(task, targetColumn);
+                    task.setPosition(position);
+                    position += PositionRanks.GAP;
                     taskRepository.save(task);
                 }
             }
@@ -94,22 +118,64 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
+    @Transactional
     public TaskColumn updateColumnPosition(UUID id, Integer newPosition, UUID userId) {
         Optional<TaskColumn> columnOpt = getColumnById(id, userId);
         if (columnOpt.isPresent()) {
             TaskColumn column = columnOpt.get();
-            column.setPosition(newPosition);
+            placeColumn(column, Math.max(newPosition, 0), userId);
             return columnRepository.save(column);
         }
         throw new RuntimeException("Column not found");
     }
 
+    /**
+     * Give the column a rank between the columns that will surround it at {@code index}
+     * (its drop index among the other columns); renumbers all columns first if they are packed.
+     */
+    private void placeColumn(TaskColumn column, int index, UUID userId) {
+        Integer rank = columnRankAt(column.getId(), index, userId);
+        if (rank == null) {
+            renumberColumns(userId);
+            rank = columnRankAt(column.getId(), index, userId);
+        }
+        column.setPosition(rank);
+    }
+
+    // Rank after the user's last column, renumbering the columns first if it would overflow
+    private int appendColumnRank(UUID userId) {
+        Integer rank = PositionRanks.after(columnRepository.findMaxPositionByUserId(userId));
+        if (rank == null) {
+            renumberColumns(userId);
+            rank = PositionRanks.after(columnRepository.findMaxPositionByUserId(userId));
+        }
+        return rank;
+    }
+
+    private void renumberColumns(UUID userId) {
+        List<TaskColumn> columns = columnRepository.findByUserIdOrderByPositionAscIdAsc(userId);
+        for (int i = 0; i < columns.size(); i++) {
+            columns.get(i).setPosition(PositionRanks.nth(i));
+        }
+        columnRepository.saveAll(columns);
+    }
+
+    private Integer columnRankAt(UUID columnId, int index, UUID userId) {
+        List<Integer> neighbours = columnRepository.findNeighbourPositions(userId, columnId, Math.max(index - 1, 0));
+        if (neighbours.isEmpty() && index > 0) {
+            return PositionRanks.after(columnRepository.findMaxPositionByUserId(userId));
+        }
+        return PositionRanks.between(neighbours, index);
+    }
+
     @Override
+    @Transactional
     public void initializeDefaultColumns(UUID userId) {
         if (columnRepository.countByUserId(userId) == 0) {
-            TaskColumn todoColumn = new TaskColumn(userId, "To Do", "#e3f2fd", 0);
-            TaskColumn inProgressColumn = new TaskColumn(userId, "In Progress", "#fff3e0", 1);
-            TaskColumn doneColumn = new TaskColumn(userId, "Done", "#e8f5e8", 2);
+            TaskColumn todoColumn = new TaskColumn(userId, "To Do", "#e3f2fd", PositionRanks.nth(0));
+            TaskColumn inProgressColumn = new TaskColumn(userId, "In Progress", "#fff3e0", PositionRanks.nth(1));
+            TaskColumn doneColumn = new TaskColumn(userId, "Done", "#e8f5e8", PositionRanks.nth(2));
+            doneColumn.setTerminal(true);
             
             columnRepository.save(todoColumn);
             columnRepository.save(inProgressColumn);
@@ -119,13 +185,43 @@ public class TaskServiceImpl implements TaskService {
 
     // Task operations
     @Override
+    @Transactional
     public Task saveTask(Task task, UUID userId) {
         task.setUserId(userId);
-        if (task.getPosition() == null && task.getColumn() != null) {
-            Integer maxPosition = taskRepository.findMaxPositionByUserIdAndColumnId(userId, task.getColumn().getId());
-            task.setPosition(maxPosition != null ? maxPosition + 1 : 0);
+        // Ranks are server-assigned: new tasks and tasks moved to another column go to the end of
+        // the column, other edits keep the stored rank (reordering goes through updateTaskPosition)
+        Optional<Task> stored = task.getId() == null ? Optional.empty() : taskRepository.findById(task.getId());
+        UUID columnId = task.getColumn() == null ? null : task.getColumn().getId();
+        UUID storedColumnId = stored.map(Task::getColumn).map(TaskColumn::getId).orElse(null);
+        if (stored.isPresent() && (columnId == null || columnId.equals(storedColumnId))) {
+            task.setPosition(stored.get().getPosition());
+        } else if (columnId != null) {
+            task.setPosition(appendTaskRanks(columnId, 1, userId));
+        } else {
+            // position is NOT NULL: it is the sort key of getTasksPage cursors
+            task.setPosition(0);
+        }
+        // completedAt is server-owned: keep the stored value, then let the stored column decide
+        task.setCompletedAt(stored.map(Task::getCompletedAt).orElse(null));
+        if (task.getColumn() != null) {
+            getColumnById(task.getColumn().getId(), userId).ifPresent(column -> placeTask(task, column));
+        }
+        Task savedTask = taskRepository.save(task);
+        searchIndex.index(SearchDocument.of(savedTask));
+        return savedTask;
+    }
+
+    /**
+     * Put the task in {@code column}. A task is complete while it sits in a terminal column:
+     * completedAt records when it first arrived there and is cleared when it leaves.
+     */
+    private static void placeTask(Task task, TaskColumn column) {
+        task.setColumn(column);
+        if (!Boolean.TRUE.equals(column.getTerminal())) {
+            task.setCompletedAt(null);
+        } else if (task.getCompletedAt() == null) {
+            task.setCompletedAt(LocalDateTime.now());
         }
-        return taskRepository.save(task);
     }
 
     @Override
@@ -139,6 +235,20 @@ public class TaskServiceImpl implements TaskService {
         return taskRepository.findByUserIdOrderByPositionAsc(userId);
     }
 
+    @Override
+    public CursorPage<Task> getTasksPage(UUID userId, String cursor, int limit) {
+        // Fetch one extra row to learn whether another page follows
+        Pageable pageable = PageRequest.of(0, limit + 1);
+        List<Task> tasks;
+        if (cursor == null) {
+            tasks = taskRepository.findByUserIdOrderByPositionAscIdAsc(userId, pageable);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            tasks = taskRepository.findPageAfter(userId, after.sortKeyAsInt(), after.idAsUuid(), pageable);
+        }
+        return CursorPage.of(tasks, limit, task -> PageCursor.encode(task.getPosition(), task.getId()));
+    }
+
     @Override
     public List<Task> getTasksByColumn(UUID userId, UUID columnId) {
         return taskRepository.findByUserIdAndColumn_IdOrderByPositionAsc(userId, columnId);
@@ -162,19 +272,39 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
-    public List<Task> searchTasks(UUID userId, String searchTerm) {
-        return taskRepository.searchTasksByUserId(userId, searchTerm);
+    public List<TaskSearchHit> searchTasks(UUID userId, String searchTerm, int limit) {
+        if (searchTerm == null || searchTerm.isBlank()) {
+            return List.of();
+        }
+        String term = searchTerm.trim();
+        List<String> terms = TaskSearchHit.termsOf(term);
+        return taskRepository.searchTasksByUserId(userId, term, likePattern(term), limit).stream()
+                .map(task -> new TaskSearchHit(task, terms))
+                .collect(Collectors.toList());
+    }
+
+    // Case-insensitive substring pattern for the search query's LIKE ... ESCAPE '\' fallback
+    static String likePattern(String term) {
+        return "%" + escapeLike(term.toLowerCase()) + "%";
+    }
+
+    // Substring search treats % and _ in the user's term literally
+    static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 
     @Override
+    @Transactional
     public void deleteTask(UUID id, UUID userId) {
         Optional<Task> taskOpt = getTaskById(id, userId);
         if (taskOpt.isPresent()) {
             taskRepository.delete(taskOpt.get());
+            searchIndex.remove(userId, SearchDocument.Type.TASK, List.of(id));
         }
     }
 
     @Override
+    @Transactional
     public Task updateTaskPosition(UUID taskId, UUID newColumnId, Integer newPosition, UUID userId) {
         Optional<Task> taskOpt = getTaskById(taskId, userId);
         Optional<TaskColumn> columnOpt = getColumnById(newColumnId, userId);
@@ -183,15 +313,62 @@ public class TaskServiceImpl implements TaskService {
             Task task = taskOpt.get();
             TaskColumn newColumn = columnOpt.get();
             
-            task.setColumn(newColumn);
-            task.setPosition(newPosition);
+            // newPosition is the drop index within the target column; only this row is rewritten
+            placeTask(task, newColumn);
+            task.setPosition(taskRankAt(task.getId(), newColumn.getId(), Math.max(newPosition, 0), userId));
             
             return taskRepository.save(task);
         }
         throw new RuntimeException("Task or column not found");
     }
 
+    /**
+     * Rank between the tasks that will surround the moved task at {@code index} in the column,
+     * renumbering the column first if its ranks are packed at that point.
+     */
+    private int taskRankAt(UUID taskId, UUID columnId, int index, UUID userId) {
+        Integer rank = taskRankBetweenNeighbours(taskId, columnId, index, userId);
+        if (rank == null) {
+            renumberTasks(columnId, userId);
+            rank = taskRankBetweenNeighbours(taskId, columnId, index, userId);
+        }
+        return rank;
+    }
+
+    /**
+     * First of {@code count} ranks, one gap apart, after the last task of the column,
+     * renumbering the column first if the last of them would overflow.
+     */
+    private int appendTaskRanks(UUID columnId, int count, UUID userId) {
+        Integer rank = PositionRanks.after(taskRepository.findMaxPositionByUserIdAndColumnId(userId, columnId), count);
+        if (rank == null) {
+            renumberTasks(columnId, userId);
+            rank = PositionRanks.after(taskRepository.findMaxPositionByUserIdAndColumnId(userId, columnId), count);
+        }
+        if (rank == null) {
+            throw new RuntimeException("Too many tasks to append to the column");
+        }
+        return rank;
+    }
+
+    private void renumberTasks(UUID columnId, UUID userId) {
+        List<Task> tasks = taskRepository.findByUserIdAndColumn_IdOrderByPositionAscIdAsc(userId, columnId);
+        for (int i = 0; i < tasks.size(); i++) {
+            tasks.get(i).setPosition(PositionRanks.nth(i));
+        }
+        taskRepository.saveAll(tasks);
+    }
+
+    private Integer taskRankBetweenNeighbours(UUID taskId, UUID columnId, int index, UUID userId) {
+        List<Integer> neighbours = taskRepository.findNeighbourPositions(userId, columnId, taskId, Math.max(index - 1, 0));
+        if (neighbours.isEmpty() && index > 0) {
+            return PositionRanks.after(taskRepository.findMaxPositionByUserIdAndColumnId(userId, columnId));
+        }
+        return PositionRanks.between(neighbours, index);
+    }
+
     @Override
+    @Transactional
     public Task moveTaskToColumn(UUID taskId, UUID columnId, UUID userId) {
         Optional<Task> taskOpt = getTaskById(taskId, userId);
         Optional<TaskColumn> columnOpt = getColumnById(columnId, userId);
@@ -201,9 +378,9 @@ public class TaskServiceImpl implements TaskService {
             TaskColumn newColumn = columnOpt.get();
             
             // Set position to end of the new column
-            Integer maxPosition = taskRepository.findMaxPositionByUserIdAndColumnId(userId, columnId);
-            task.setColumn(newColumn);
-            task.setPosition(maxPosition != null ? maxPosition + 1 : 0);
+            int position = appendTaskRanks(columnId, 1, userId);
+            placeTask(task, newColumn);
+            task.setPosition(position);
             
             return taskRepository.save(task);
         }
@@ -212,6 +389,7 @@ public class TaskServiceImpl implements TaskService {
 
     // Task Attachment operations
     @Override
+    @Transactional
     public TaskAttachment saveAttachment(TaskAttachment attachment, UUID userId) {
         // Verify task belongs to user
         if (getTaskById(attachment.getTask().getId(), userId).isEmpty()) {
@@ -236,6 +414,7 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
+    @Transactional
     public void deleteAttachment(UUID id, UUID userId) {
         Optional<TaskAttachment> attachmentOpt = getAttachmentById(id, userId);
         if (attachmentOpt.isPresent()) {
@@ -244,33 +423,24 @@ public class TaskServiceImpl implements TaskService {
     }
 
     // Analytics and reporting
+    @Override
+    public TaskStatistics getTaskStatisticsSummary(UUID userId) {
+        return TaskStatistics.of(taskRepository.getTaskCounts(userId, LocalDateTime.now()));
+    }
+
     @Override
     public Map<String, Long> getTaskStatistics(UUID userId) {
-        Map<String, Long> stats = new HashMap<>();
-        stats.put("totalTasks", taskRepository.countByUserId(userId));
-        stats.put("completedTasks", taskRepository.countCompletedTasksByUserId(userId));
-        stats.put("overdueTasks", taskRepository.countOverdueTasksByUserId(userId, LocalDateTime.now()));
-        return stats;
+        return getTaskStatisticsSummary(userId).headline();
     }
 
     @Override
     public Map<Priority, Long> getTaskCountByPriority(UUID userId) {
-        List<Object[]> results = taskRepository.getTaskCountByPriority(userId);
-        return results.stream()
-            .collect(Collectors.toMap(
-                result -> (Priority) result[0],
-                result -> (Long) result[1]
-            ));
+        return getTaskStatisticsSummary(userId).countByPriority();
     }
 
     @Override
     public Map<String, Long> getTaskCountByStatus(UUID userId) {
-        List<Object[]> results = taskRepository.getTaskCountByStatus(userId);
-        return results.stream()
-            .collect(Collectors.toMap(
-                result -> (String) result[0],
-                result -> (Long) result[1]
-            ));
+        return getTaskStatisticsSummary(userId).countByStatus();
     }
 
     @Override
@@ -278,46 +448,113 @@ public class TaskServiceImpl implements TaskService {
         return getUpcomingTasks(userId, days);
     }
 
+    @Override
+    public TaskBoardDto getBoard(UUID userId, String ifNoneMatch) {
+        TaskBoardCounts counts = taskRepository.getBoardCounts(userId, LocalDateTime.now());
+        String etag = counts.etag(userId);
+        if (etagMatches(ifNoneMatch, etag)) {
+            return TaskBoardDto.notModified(etag);
+        }
+
+        List<TaskBoardDto.Column> columns = new ArrayList<>();
+        Map<Priority, Long> countByPriority = new HashMap<>();
+        Map<String, Long> countByStatus = new HashMap<>();
+        for (TaskColumn column : columnRepository.findBoardByUserId(userId)) {
+            columns.add(new TaskBoardDto.Column(column));
+            if (!column.getTasks().isEmpty()) {
+                countByStatus.merge(column.getTitle(), (long) column.getTasks().size(), Long::sum);
+            }
+            for (Task task : column.getTasks()) {
+                countByPriority.merge(task.getPriority(), 1L, Long::sum);
+            }
+        }
+        Map<String, Long> statistics = new HashMap<>();
+        statistics.put("totalTasks", counts.getTotalTasks());
+        statistics.put("completedTasks", counts.getCompletedTasks());
+        statistics.put("overdueTasks", counts.getOverdueTasks());
+        return new TaskBoardDto(columns, statistics, countByPriority, countByStatus, etag);
+    }
+
+    // If-None-Match may list several tags; weak comparison applies to GET (RFC 9110)
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     // Bulk operations
+    // Ids are processed in chunks so IN lists stay well under driver bind-parameter limits
+    private static final int BULK_CHUNK_SIZE = 500;
+
     @Override
-    public void moveMultipleTasks(List<UUID> taskIds, UUID targetColumnId, UUID userId) {
+    @Transactional
+    public int moveMultipleTasks(List<UUID> taskIds, UUID targetColumnId, UUID userId) {
         Optional<TaskColumn> columnOpt = getColumnById(targetColumnId, userId);
         if (columnOpt.isEmpty()) {
             throw new RuntimeException("Target column not found");
         }
         
         TaskColumn targetColumn = columnOpt.get();
-        Integer maxPosition = taskRepository.findMaxPositionByUserIdAndColumnId(userId, targetColumnId);
-        int startPosition = maxPosition != null ? maxPosition + 1 : 0;
+        // Room for every requested id; ids that are missing or not the user's just leave gaps
+        int startPosition = appendTaskRanks(targetColumnId, taskIds.size(), userId);
         
-        for (int i = 0; i < taskIds.size(); i++) {
-            UUID taskId = taskIds.get(i);
-            Optional<Task> taskOpt = getTaskById(taskId, userId);
-            if (taskOpt.isPresent()) {
-                Task task = taskOpt.get();
-                task.setColumn(targetColumn);
-                task.setPosition(startPosition + i);
-                taskRepository.save(task);
+        // Each task gets its own position, so rows are loaded once per chunk and the
+        // updates are flushed as JDBC batches (hibernate.jdbc.batch_size)
+        int moved = 0;
+        for (List<UUID> chunk : chunks(taskIds)) {
+            Map<UUID, Task> tasks = taskRepository.findByUserIdAndIdIn(userId, chunk).stream()
+                .collect(Collectors.toMap(Task::getId, task -> task));
+            for (UUID taskId : chunk) {
+                Task task = tasks.get(taskId);
+                if (task != null) {
+                    placeTask(task, targetColumn);
+                    task.setPosition(startPosition + moved * PositionRanks.GAP);
+                    moved++;
+                }
             }
         }
+        return moved;
     }
 
     @Override
-    public void deleteMultipleTasks(List<UUID> taskIds, UUID userId) {
-        for (UUID taskId : taskIds) {
-            deleteTask(taskId, userId);
+    @Transactional
+    public int deleteMultipleTasks(List<UUID> taskIds, UUID userId) {
+        int deleted = 0;
+        for (List<UUID> chunk : chunks(taskIds)) {
+            attachmentRepository.deleteByTaskIds(chunk, userId);
+            deleted += taskRepository.deleteByIds(chunk, userId);
         }
+        searchIndex.remove(userId, SearchDocument.Type.TASK, taskIds);
+        return deleted;
     }
 
     @Override
-    public void updateMultipleTasksPriority(List<UUID> taskIds, Priority priority, UUID userId) {
-        for (UUID taskId : taskIds) {
-            Optional<Task> taskOpt = getTaskById(taskId, userId);
-            if (taskOpt.isPresent()) {
-                Task task = taskOpt.get();
-                task.setPriority(priority);
-                taskRepository.save(task);
-            }
+    @Transactional
+    public int updateMultipleTasksPriority(List<UUID> taskIds, Priority priority, UUID userId) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = 0;
+        for (List<UUID> chunk : chunks(taskIds)) {
+            updated += taskRepository.updatePriorityByIds(chunk, userId, priority, now);
+        }
+        return updated;
+    }
+
+    private static List<List<UUID>> chunks(List<UUID> ids) {
+        List<UUID> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<List<UUID>> chunks = new ArrayList<>();
+        for (int i = 0; i < distinct.size(); i += BULK_CHUNK_SIZE) {
+            chunks.add(distinct.subList(i, Math.min(i + BULK_CHUNK_SIZE, distinct.size())));
         }
+        return chunks;
     }
-}
\ No newline at end of file
+}
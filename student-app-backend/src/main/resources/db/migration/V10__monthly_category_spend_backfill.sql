@@ -0,0 +1,12 @@
+-- Backfill the monthly_category_spend rollup (V2) from expenses. Migrations run before the
+-- application serves requests, and expense writes from instances still running are blocked
+-- until this commits, so the rebuilt buckets match the expenses exactly. Rebuilding from
+-- scratch also corrects buckets left incomplete by the earlier startup-time backfill.
+LOCK TABLE expenses IN SHARE MODE;
+LOCK TABLE monthly_category_spend IN EXCLUSIVE MODE;
+DELETE FROM monthly_category_spend;
+INSERT INTO monthly_category_spend (user_id, category_id, spend_year, spend_month, total_amount, expense_count)
+SELECT user_id, category_id, EXTRACT(YEAR FROM expense_date)::INTEGER, EXTRACT(MONTH FROM expense_date)::INTEGER,
+       SUM(amount), COUNT(*)
+FROM expenses
+GROUP BY 1, 2, 3, 4;
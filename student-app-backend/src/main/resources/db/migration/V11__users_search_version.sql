@@ -0,0 +1,4 @@
+-- Per-user version of the searchable rows (tasks, expenses, calendar events), incremented by
+-- every write that reaches the search index. An instance whose in-memory index was built at an
+-- older version rebuilds it, so writes made on other instances are not missed.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS search_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,4 @@
+-- The search index build pages through each user's rows in id order
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_user_id_id ON tasks(user_id, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_expenses_user_id_id ON expenses(user_id, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_calendar_events_user_id_id ON calendar_events(user_id, id);
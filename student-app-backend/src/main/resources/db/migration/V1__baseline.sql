@@ -1,3 +1,7 @@
+-- Baseline: the schema as originally created by db/sql/create_tables.sql. Every statement is
+-- idempotent, so databases created from that script before migrations existed record this
+-- version without changes.
+
 -- Enable UUID extension
 CREATE EXTENSION IF NOT EXISTS "uuid-ossp";
 
@@ -11,8 +15,9 @@ CREATE TABLE IF NOT EXISTS users (
 );
 
 -- Create calendar_events table
+-- Databases created with the earlier VARCHAR(36) id: run db/sql/migrate_calendar_events_uuid.sql first
 CREATE TABLE IF NOT EXISTS calendar_events (
-    id VARCHAR(36) PRIMARY KEY,
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
     user_id UUID NOT NULL,
     event_name VARCHAR(100) NOT NULL,
     description TEXT,
@@ -0,0 +1,12 @@
+-- Monthly spend rollup per user and category, maintained on expense writes
+CREATE TABLE IF NOT EXISTS monthly_category_spend (
+    user_id UUID NOT NULL,
+    category_id UUID NOT NULL,
+    spend_year INTEGER NOT NULL,
+    spend_month INTEGER NOT NULL, -- 1-12
+    total_amount DECIMAL(12,2) NOT NULL DEFAULT 0,
+    expense_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, spend_year, spend_month, category_id),
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (category_id) REFERENCES expense_categories(id) ON DELETE CASCADE
+);
@@ -0,0 +1,8 @@
+-- Task full-text search: a stored generated tsvector stays current on every insert/update
+-- (title weighted above description). Adding a stored generated column rewrites tasks under an
+-- exclusive lock, so this runs inside the transactional budget; the search indexes are built
+-- online in V4
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (setweight(to_tsvector('english', coalesce(title, '')), 'A')
+                         || setweight(to_tsvector('english', coalesce(description, '')), 'B')) STORED;
@@ -0,0 +1,5 @@
+-- Task search indexes: GIN over the tsvector, trigram indexes for the substring fallback.
+-- Built with CONCURRENTLY, so this script runs outside a transaction and writes continue
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_search_vector ON tasks USING gin (search_vector);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_title_trgm ON tasks USING gin (lower(title) gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_description_trgm ON tasks USING gin (lower(description) gin_trgm_ops);
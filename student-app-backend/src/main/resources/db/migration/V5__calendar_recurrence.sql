@@ -0,0 +1,6 @@
+-- Recurring events: one row per series (start/end describe the first occurrence), expanded per
+-- requested window by the application; recurrence_end is null while a series is unbounded.
+-- Nullable columns without defaults are catalog-only changes
+ALTER TABLE calendar_events ADD COLUMN IF NOT EXISTS recurrence_rule VARCHAR(255);
+ALTER TABLE calendar_events ADD COLUMN IF NOT EXISTS recurrence_exceptions TEXT;
+ALTER TABLE calendar_events ADD COLUMN IF NOT EXISTS recurrence_end TIMESTAMP;
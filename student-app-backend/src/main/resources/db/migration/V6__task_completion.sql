@@ -0,0 +1,10 @@
+-- Task completion: a task is complete while it sits in a terminal column, recorded in completed_at.
+-- Existing columns are flagged by the old rule (the title 'Done'), then tasks already in them are
+-- marked complete
+ALTER TABLE task_columns ADD COLUMN IF NOT EXISTS is_terminal BOOLEAN;
+UPDATE task_columns SET is_terminal = (title = 'Done') WHERE is_terminal IS NULL;
+ALTER TABLE task_columns ALTER COLUMN is_terminal SET DEFAULT FALSE;
+ALTER TABLE task_columns ALTER COLUMN is_terminal SET NOT NULL;
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS completed_at TIMESTAMP;
+UPDATE tasks SET completed_at = COALESCE(updated_at, CURRENT_TIMESTAMP)
+    WHERE completed_at IS NULL AND column_id IN (SELECT id FROM task_columns WHERE is_terminal);
@@ -0,0 +1,30 @@
+-- Performance indexes, built online: CONCURRENTLY keeps reads and writes flowing while each index
+-- builds, so this script runs outside a transaction (a failed build is dropped and retried)
+
+-- Covers per-category month totals (category_id + expense_date range, SUM(amount)) as index-only scans
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_expenses_category_date ON expenses(category_id, expense_date) INCLUDE (amount);
+
+-- Keyset pagination indexes (match the ORDER BY of the paged list queries)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_user_position_id ON tasks(user_id, position, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_expenses_user_date_id ON expenses(user_id, expense_date DESC, id DESC);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_calendar_events_user_start_id ON calendar_events(user_id, start_time, id);
+
+-- Calendar range queries (start_time < :to AND end_time >= :from): leading with end_time skips the
+-- user's past events, which dominate a long-lived calendar; start_time then filters inside the index
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_calendar_events_user_end_start ON calendar_events(user_id, end_time, start_time);
+
+-- Recurring series that may overlap a window
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_calendar_events_user_series ON calendar_events(user_id, recurrence_end)
+    WHERE recurrence_rule IS NOT NULL;
+
+-- Deadline queries (overdue, upcoming) filter user_id + due_date and only ever read open tasks with a
+-- due date, so undated and completed tasks stay out of the index. It replaces the standalone
+-- due_date index (no query filters on due_date without user_id) and an earlier open-task index
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_user_due_pending ON tasks(user_id, due_date)
+    WHERE due_date IS NOT NULL AND completed_at IS NULL;
+DROP INDEX CONCURRENTLY IF EXISTS idx_tasks_due_date;
+DROP INDEX CONCURRENTLY IF EXISTS idx_tasks_user_due_open;
+
+-- Financial goals are only read per user, and only active ones (due-by-date and active counts)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_financial_goals_user_active ON financial_goals(user_id, target_date)
+    WHERE is_active;
@@ -0,0 +1,15 @@
+-- Databases created before calendar event ids became UUIDs still have calendar_events.id
+-- VARCHAR(36), which V1 (CREATE TABLE IF NOT EXISTS) leaves alone and the application cannot
+-- read. The conversion rewrites every row and builds indexes concurrently, so it is run by
+-- hand and this version fails, leaving startup blocked, until it has been
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'calendar_events'
+                 AND column_name = 'id' AND data_type <> 'uuid') THEN
+        RAISE EXCEPTION 'calendar_events.id is not a UUID column; convert it online with '
+            'psql -v ON_ERROR_STOP=1 -f student-app-backend/src/main/resources/db/sql/migrate_calendar_events_uuid.sql '
+            'and restart (see DEPLOYMENT.md)';
+    END IF;
+END;
+$$;
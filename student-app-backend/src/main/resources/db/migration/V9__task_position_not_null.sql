@@ -0,0 +1,5 @@
+-- tasks.position is the keyset pagination sort key and must not be NULL: a NULL rank cannot be
+-- encoded in a cursor and (position, id) > (cursor) never matches it, so such rows were skipped.
+-- Existing NULLs sort first, as they did in the ORDER BY of the unpaged lists
+UPDATE tasks SET position = 0 WHERE position IS NULL;
+ALTER TABLE tasks ALTER COLUMN position SET NOT NULL;
@@ -56,8 +56,8 @@ INSERT INTO task_columns (id, user_id, title, color, position)
 SELECT uuid_generate_v4(), (SELECT id FROM users LIMIT 1), 'In Progress', '#fff3e0', 1
 WHERE NOT EXISTS (SELECT 1 FROM task_columns WHERE title = 'In Progress' AND user_id = (SELECT id FROM users LIMIT 1));
 
-INSERT INTO task_columns (id, user_id, title, color, position) 
-SELECT uuid_generate_v4(), (SELECT id FROM users LIMIT 1), 'Done', '#e8f5e8', 2
+INSERT INTO task_columns (id, user_id, title, color, position, is_terminal) 
+SELECT uuid_generate_v4(), (SELECT id FROM users LIMIT 1), 'Done', '#e8f5e8', 2, TRUE
 WHERE NOT EXISTS (SELECT 1 FROM task_columns WHERE title = 'Done' AND user_id = (SELECT id FROM users LIMIT 1));
 
 -- Insert sample tasks in To Do column
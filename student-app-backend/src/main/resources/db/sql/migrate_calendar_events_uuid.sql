@@ -0,0 +1,80 @@
+-- Migrate calendar_events.id from VARCHAR(36) to a native UUID primary key, online.
+--
+-- For databases created before the id became a UUID. Run with psql, outside a transaction
+-- (CREATE INDEX CONCURRENTLY and the batched backfill commit as they go):
+--   psql -v ON_ERROR_STOP=1 -d StudentLifeDB -f migrate_calendar_events_uuid.sql
+--
+-- Steps 1-4 only take brief locks, so the running application keeps serving requests while
+-- rows are rewritten. Step 5 swaps the columns in one short transaction; deploy the
+-- application version that maps the id as UUID right after it. If a concurrent index build
+-- fails it leaves an INVALID index behind: drop it before running the script again.
+
+\set ON_ERROR_STOP on
+SET lock_timeout = '5s';
+
+-- 0. Every id must parse as a UUID; the application has only ever generated UUID strings
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM calendar_events
+               WHERE id !~* '^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$') THEN
+        RAISE EXCEPTION 'calendar_events has ids that are not UUIDs; fix or delete those rows first';
+    END IF;
+END;
+$$;
+
+-- 1. Shadow column (a catalog-only change), kept current for new rows by a trigger
+ALTER TABLE calendar_events ADD COLUMN IF NOT EXISTS id_uuid UUID;
+
+CREATE OR REPLACE FUNCTION calendar_events_sync_id_uuid() RETURNS trigger AS $$
+BEGIN
+    NEW.id_uuid := NEW.id::uuid;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS calendar_events_sync_id_uuid ON calendar_events;
+CREATE TRIGGER calendar_events_sync_id_uuid BEFORE INSERT OR UPDATE OF id ON calendar_events
+    FOR EACH ROW EXECUTE FUNCTION calendar_events_sync_id_uuid();
+
+-- 2. Rewrite existing rows in batches, committing each batch to keep row locks short
+DO $$
+DECLARE
+    updated INTEGER;
+BEGIN
+    LOOP
+        UPDATE calendar_events SET id_uuid = id::uuid
+        WHERE ctid IN (SELECT ctid FROM calendar_events WHERE id_uuid IS NULL LIMIT 5000);
+        GET DIAGNOSTICS updated = ROW_COUNT;
+        EXIT WHEN updated = 0;
+        COMMIT;
+    END LOOP;
+END;
+$$;
+
+-- 3. The future primary key and keyset pagination index, built without blocking writes
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS calendar_events_id_uuid_key ON calendar_events(id_uuid);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_calendar_events_user_start_id_uuid
+    ON calendar_events(user_id, start_time, id_uuid);
+
+-- 4. Prove NOT NULL with a validated check (validation does not block writes), so that
+--    SET NOT NULL in step 5 skips its full-table scan
+ALTER TABLE calendar_events DROP CONSTRAINT IF EXISTS calendar_events_id_uuid_not_null;
+ALTER TABLE calendar_events ADD CONSTRAINT calendar_events_id_uuid_not_null CHECK (id_uuid IS NOT NULL) NOT VALID;
+ALTER TABLE calendar_events VALIDATE CONSTRAINT calendar_events_id_uuid_not_null;
+
+-- 5. Swap: catalog changes only, under one short exclusive lock
+BEGIN;
+DROP TRIGGER calendar_events_sync_id_uuid ON calendar_events;
+DROP FUNCTION calendar_events_sync_id_uuid();
+ALTER TABLE calendar_events ALTER COLUMN id_uuid SET NOT NULL;
+ALTER TABLE calendar_events DROP CONSTRAINT calendar_events_id_uuid_not_null;
+ALTER TABLE calendar_events DROP CONSTRAINT calendar_events_pkey;
+-- Also drops the old idx_calendar_events_user_start_id over the VARCHAR id
+ALTER TABLE calendar_events DROP COLUMN id;
+ALTER TABLE calendar_events RENAME COLUMN id_uuid TO id;
+ALTER TABLE calendar_events ADD CONSTRAINT calendar_events_pkey PRIMARY KEY USING INDEX calendar_events_id_uuid_key;
+ALTER TABLE calendar_events ALTER COLUMN id SET DEFAULT uuid_generate_v4();
+ALTER INDEX idx_calendar_events_user_start_id_uuid RENAME TO idx_calendar_events_user_start_id;
+COMMIT;
+
+ANALYZE calendar_events;
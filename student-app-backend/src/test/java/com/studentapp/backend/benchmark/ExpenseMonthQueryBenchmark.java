@@ -0,0 +1,182 @@
+package com.studentapp.backend.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Month filters on expenses: EXTRACT(MONTH/YEAR) predicates (as previously generated
+ * for ExpenseRepository) against half-open date ranges, over an embedded H2 database
+ * in PostgreSQL mode seeded with {@code rows} expenses. Query plans are printed during setup.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=ExpenseMonthQueryBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExpenseMonthQueryBenchmark {
+
+    private static final int USERS = 100;
+    private static final int CATEGORIES_PER_USER = 10;
+    private static final int HISTORY_DAYS = 3650;
+
+    private static final String USER_TOTAL_EXTRACT =
+            "SELECT SUM(amount) FROM expenses WHERE user_id = ? AND EXTRACT(MONTH FROM expense_date) = ? AND EXTRACT(YEAR FROM expense_date) = ?";
+    private static final String USER_TOTAL_RANGE =
+            "SELECT SUM(amount) FROM expenses WHERE user_id = ? AND expense_date >= ? AND expense_date < ?";
+    private static final String CATEGORY_TOTAL_EXTRACT =
+            "SELECT SUM(amount) FROM expenses WHERE category_id = ? AND EXTRACT(MONTH FROM expense_date) = ? AND EXTRACT(YEAR FROM expense_date) = ?";
+    private static final String CATEGORY_TOTAL_RANGE =
+            "SELECT SUM(amount) FROM expenses WHERE category_id = ? AND expense_date >= ? AND expense_date < ?";
+
+    @Param("1000000")
+    public int rows;
+
+    private Connection connection;
+    private UUID userId;
+    private UUID categoryId;
+    private YearMonth month;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:expense_bench;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;QUERY_CACHE_SIZE=0");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS expenses");
+            statement.execute("CREATE TABLE expenses (id UUID PRIMARY KEY, user_id UUID NOT NULL, "
+                    + "category_id UUID NOT NULL, amount DECIMAL(10,2) NOT NULL, expense_date DATE NOT NULL)");
+            statement.execute("CREATE INDEX idx_expenses_user_date ON expenses(user_id, expense_date)");
+            // H2 has no INCLUDE columns; PostgreSQL gets INCLUDE (amount) for index-only scans
+            statement.execute("CREATE INDEX idx_expenses_category_date ON expenses(category_id, expense_date)");
+        }
+        seed();
+
+        LocalDate today = LocalDate.now();
+        month = YearMonth.from(today.minusMonths(3));
+        System.out.println(explain(USER_TOTAL_EXTRACT, userId));
+        System.out.println(explain(USER_TOTAL_RANGE, userId));
+        System.out.println(explain(CATEGORY_TOTAL_EXTRACT, categoryId));
+        System.out.println(explain(CATEGORY_TOTAL_RANGE, categoryId));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE expenses");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public BigDecimal userMonthTotalExtract() throws SQLException {
+        return sumByMonthParts(USER_TOTAL_EXTRACT, userId);
+    }
+
+    @Benchmark
+    public BigDecimal userMonthTotalRange() throws SQLException {
+        return sumByRange(USER_TOTAL_RANGE, userId);
+    }
+
+    @Benchmark
+    public BigDecimal categoryMonthTotalExtract() throws SQLException {
+        return sumByMonthParts(CATEGORY_TOTAL_EXTRACT, categoryId);
+    }
+
+    @Benchmark
+    public BigDecimal categoryMonthTotalRange() throws SQLException {
+        return sumByRange(CATEGORY_TOTAL_RANGE, categoryId);
+    }
+
+    private BigDecimal sumByMonthParts(String sql, UUID key) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setObject(1, key);
+            statement.setInt(2, month.getMonthValue());
+            statement.setInt(3, month.getYear());
+            return single(statement);
+        }
+    }
+
+    private BigDecimal sumByRange(String sql, UUID key) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setObject(1, key);
+            statement.setDate(2, Date.valueOf(month.atDay(1)));
+            statement.setDate(3, Date.valueOf(month.plusMonths(1).atDay(1)));
+            return single(statement);
+        }
+    }
+
+    private static BigDecimal single(PreparedStatement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getBigDecimal(1);
+        }
+    }
+
+    private void seed() throws SQLException {
+        Random random = new Random(42);
+        UUID[] users = new UUID[USERS];
+        UUID[][] categories = new UUID[USERS][CATEGORIES_PER_USER];
+        for (int u = 0; u < USERS; u++) {
+            users[u] = UUID.randomUUID();
+            for (int c = 0; c < CATEGORIES_PER_USER; c++) {
+                categories[u][c] = UUID.randomUUID();
+            }
+        }
+        userId = users[0];
+        categoryId = categories[0][0];
+
+        LocalDate today = LocalDate.now();
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO expenses (id, user_id, category_id, amount, expense_date) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < rows; i++) {
+                int u = random.nextInt(USERS);
+                insert.setObject(1, UUID.randomUUID());
+                insert.setObject(2, users[u]);
+                insert.setObject(3, categories[u][random.nextInt(CATEGORIES_PER_USER)]);
+                insert.setBigDecimal(4, BigDecimal.valueOf(random.nextInt(10000), 2));
+                insert.setDate(5, Date.valueOf(today.minusDays(random.nextInt(HISTORY_DAYS))));
+                insert.addBatch();
+                if (i % 10_000 == 9_999) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+    }
+
+    private String explain(String sql, UUID key) throws SQLException {
+        String bound = sql.replaceFirst("\\?", "'" + key + "'");
+        if (sql.contains("EXTRACT")) {
+            bound = bound.replaceFirst("\\?", String.valueOf(month.getMonthValue()))
+                    .replaceFirst("\\?", String.valueOf(month.getYear()));
+        } else {
+            bound = bound.replaceFirst("\\?", "DATE '" + month.atDay(1) + "'")
+                    .replaceFirst("\\?", "DATE '" + month.plusMonths(1).atDay(1) + "'");
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet plan = statement.executeQuery("EXPLAIN ANALYZE " + bound)) {
+            plan.next();
+            return plan.getString(1);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.studentapp.backend.benchmark;
+
+import com.studentapp.backend.security.JwtUtil;
+import com.studentapp.backend.security.ParsedToken;
+import com.studentapp.common.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Field;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the original per-request JWT handling (three independent parse and
+ * HS512 verifications) against a single cached {@link JwtUtil#parseToken} call.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=JwtParseBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtParseBenchmark {
+
+    private static final String SECRET = "benchmarksecretbenchmarksecretbenchmarksecret";
+
+    private JwtUtil cachedJwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        cachedJwtUtil = newJwtUtil(true);
+        uncachedJwtUtil = newJwtUtil(false);
+
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setUsername("benchmark-user");
+        token = cachedJwtUtil.generateToken(user);
+    }
+
+    /**
+     * The pre-cache request path: extractUsername, validateToken, extractUserIdFromToken.
+     */
+    @Benchmark
+    public void tripleParse(Blackhole blackhole) {
+        Claims subjectClaims = Jwts.parser().setSigningKey(SECRET).parseClaimsJws(token).getBody();
+        blackhole.consume(subjectClaims.getSubject());
+        blackhole.consume(Jwts.parser().setSigningKey(SECRET).parseClaimsJws(token));
+        Claims userIdClaims = Jwts.parser().setSigningKey(SECRET).parseClaimsJws(token).getBody();
+        blackhole.consume(UUID.fromString((String) userIdClaims.get("userId")));
+    }
+
+    @Benchmark
+    public ParsedToken singleParseUncached() {
+        return uncachedJwtUtil.parseToken(token);
+    }
+
+    @Benchmark
+    public ParsedToken singleParseCached() {
+        return cachedJwtUtil.parseToken(token);
+    }
+
+    private static JwtUtil newJwtUtil(boolean cacheEnabled) throws Exception {
+        JwtUtil jwtUtil = new JwtUtil();
+        setField(jwtUtil, "jwtSecret", SECRET);
+        setField(jwtUtil, "jwtExpirationMs", TimeUnit.HOURS.toMillis(1));
+        setField(jwtUtil, "parseCacheEnabled", cacheEnabled);
+        return jwtUtil;
+    }
+
+    private static void setField(Object target, String name, Object value) throws Exception {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
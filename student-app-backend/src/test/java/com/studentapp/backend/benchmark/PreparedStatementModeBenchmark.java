@@ -0,0 +1,131 @@
+package com.studentapp.backend.benchmark;
+
+import com.studentapp.backend.config.PreparedStatementMode;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-query latency of the category-totals-for-a-month query (a join plus aggregate, so
+ * planning is a real part of its cost) under each driver configuration:
+ * {@code uncached} is the previous setup (prepareThreshold=0, no statement cache),
+ * {@code pooler-safe} and {@code server} are the {@link PreparedStatementMode}s.
+ *
+ * Needs a reachable PostgreSQL; the benchmark creates and drops its own temporary tables.
+ * Connection settings come from BENCHMARK_JDBC_URL (default
+ * jdbc:postgresql://localhost:5432/StudentLifeDB), BENCHMARK_JDBC_USER and
+ * BENCHMARK_JDBC_PASSWORD.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=PreparedStatementModeBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PreparedStatementModeBenchmark {
+
+    private static final String QUERY = "SELECT c.name, SUM(e.amount) FROM bench_expenses e "
+            + "JOIN bench_categories c ON c.id = e.category_id "
+            + "WHERE e.user_id = ? AND e.expense_date >= ? AND e.expense_date < ? "
+            + "GROUP BY c.name ORDER BY c.name";
+    private static final int USERS = 50;
+    private static final int CATEGORIES_PER_USER = 8;
+    private static final int EXPENSES_PER_USER = 2_000;
+
+    @Param({"uncached", "pooler-safe", "server"})
+    public String mode;
+
+    private Connection connection;
+    private UUID[] users;
+    private int round;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        Properties props = "uncached".equals(mode)
+                ? PreparedStatementMode.POOLER_SAFE.driverProperties(0, 0, 0)
+                : PreparedStatementMode.valueOf(mode.toUpperCase().replace('-', '_')).driverProperties(5, 256, 5);
+        props.setProperty("user", env("BENCHMARK_JDBC_USER", "postgres"));
+        props.setProperty("password", env("BENCHMARK_JDBC_PASSWORD", "postgres"));
+        connection = DriverManager.getConnection(env("BENCHMARK_JDBC_URL", "jdbc:postgresql://localhost:5432/StudentLifeDB"), props);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TEMPORARY TABLE bench_categories (id UUID PRIMARY KEY, user_id UUID NOT NULL, name VARCHAR(100) NOT NULL)");
+            statement.execute("CREATE TEMPORARY TABLE bench_expenses (id UUID PRIMARY KEY, user_id UUID NOT NULL, "
+                    + "category_id UUID NOT NULL, amount NUMERIC(10, 2) NOT NULL, expense_date DATE NOT NULL)");
+            statement.execute("CREATE INDEX ON bench_expenses (user_id, expense_date)");
+        }
+        users = new UUID[USERS];
+        try (PreparedStatement category = connection.prepareStatement("INSERT INTO bench_categories VALUES (?, ?, ?)");
+             PreparedStatement expense = connection.prepareStatement("INSERT INTO bench_expenses VALUES (?, ?, ?, ?, ?)")) {
+            LocalDate start = LocalDate.of(2024, 1, 1);
+            for (int u = 0; u < USERS; u++) {
+                users[u] = UUID.randomUUID();
+                UUID[] categories = new UUID[CATEGORIES_PER_USER];
+                for (int c = 0; c < CATEGORIES_PER_USER; c++) {
+                    categories[c] = UUID.randomUUID();
+                    category.setObject(1, categories[c]);
+                    category.setObject(2, users[u]);
+                    category.setString(3, "Category " + c);
+                    category.addBatch();
+                }
+                for (int i = 0; i < EXPENSES_PER_USER; i++) {
+                    expense.setObject(1, UUID.randomUUID());
+                    expense.setObject(2, users[u]);
+                    expense.setObject(3, categories[i % CATEGORIES_PER_USER]);
+                    expense.setBigDecimal(4, BigDecimal.valueOf(100 + i % 900, 2));
+                    expense.setDate(5, Date.valueOf(start.plusDays(i % 365)));
+                    expense.addBatch();
+                }
+            }
+            category.executeBatch();
+            expense.executeBatch();
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE bench_categories");
+            statement.execute("ANALYZE bench_expenses");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    /**
+     * One request's worth of work: prepare, bind, execute and read, as Hibernate does per query.
+     */
+    @Benchmark
+    public BigDecimal monthCategoryTotals() throws SQLException {
+        int next = round++;
+        LocalDate month = LocalDate.of(2024, 1 + next % 12, 1);
+        BigDecimal total = BigDecimal.ZERO;
+        try (PreparedStatement statement = connection.prepareStatement(QUERY)) {
+            statement.setObject(1, users[next % USERS]);
+            statement.setDate(2, Date.valueOf(month));
+            statement.setDate(3, Date.valueOf(month.plusMonths(1)));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    total = total.add(resultSet.getBigDecimal(2));
+                }
+            }
+        }
+        return total;
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value != null && !value.isEmpty() ? value : fallback;
+    }
+}
@@ -0,0 +1,157 @@
+package com.studentapp.backend.benchmark;
+
+import com.studentapp.backend.repository.BudgetLimitRepository;
+import com.studentapp.backend.repository.ExpenseCategoryRepository;
+import com.studentapp.backend.repository.TaskColumnRepository;
+import com.studentapp.backend.search.SearchIndex;
+import com.studentapp.backend.service.FinanceService;
+import com.studentapp.backend.service.FinanceServiceImpl;
+import com.studentapp.backend.service.TaskService;
+import com.studentapp.backend.service.TaskServiceImpl;
+import com.studentapp.common.model.BudgetLimit;
+import com.studentapp.common.model.Expense;
+import com.studentapp.common.model.ExpenseCategory;
+import com.studentapp.common.model.Task;
+import com.studentapp.common.model.TaskColumn;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Service work behind the task board (GET /api/tasks/columns and /api/tasks) and the
+ * finance dashboard (expenses, categories, budget analysis and alerts), run through the
+ * real service beans over an embedded H2 database in PostgreSQL mode.
+ *
+ * {@code read-write} wraps every service call in a default transaction, as the former
+ * class-level {@code @Transactional} did: Hibernate snapshots each loaded entity and
+ * dirty-checks it at the commit flush. {@code read-only} calls the services as they are
+ * now, in read-only transactions with flush mode MANUAL and read-only sessions.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=ReadTransactionBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 6, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReadTransactionBenchmark {
+
+    private static final int COLUMNS = 4;
+    private static final int CATEGORIES = 10;
+
+    @Param({"read-write", "read-only"})
+    public String transactions;
+
+    @Param("200")
+    public int tasks;
+
+    @Param("500")
+    public int expenses;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private FinanceService financeService;
+    private TransactionTemplate readWrite;
+    private UUID userId;
+    private int month;
+    private int year;
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan("com.studentapp.common.model")
+    @EnableJpaRepositories("com.studentapp.backend.repository")
+    @Import({TaskServiceImpl.class, FinanceServiceImpl.class, SearchIndex.class})
+    static class ServiceContext {
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ServiceContext.class)
+                .web(WebApplicationType.NONE)
+                // As arguments, so they win over application.properties
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:read_tx_bench;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.sql.init.mode=never",
+                        "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "--spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                        "--logging.level.root=WARN");
+        taskService = context.getBean(TaskService.class);
+        financeService = context.getBean(FinanceService.class);
+        readWrite = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        userId = UUID.randomUUID();
+        LocalDate today = LocalDate.now();
+        month = today.getMonthValue();
+        year = today.getYear();
+
+        TaskColumnRepository columnRepository = context.getBean(TaskColumnRepository.class);
+        List<TaskColumn> columns = new ArrayList<>();
+        for (int c = 0; c < COLUMNS; c++) {
+            columns.add(columnRepository.save(new TaskColumn(userId, "Column " + c, "#e3f2fd", (c + 1) * 1024)));
+        }
+        for (int i = 0; i < tasks; i++) {
+            Task task = new Task(userId, columns.get(i % COLUMNS), "Task " + i, Task.Priority.MEDIUM);
+            task.setDescription("Description for task " + i);
+            taskService.saveTask(task, userId);
+        }
+
+        ExpenseCategoryRepository categoryRepository = context.getBean(ExpenseCategoryRepository.class);
+        BudgetLimitRepository budgetLimitRepository = context.getBean(BudgetLimitRepository.class);
+        List<ExpenseCategory> categories = new ArrayList<>();
+        for (int c = 0; c < CATEGORIES; c++) {
+            ExpenseCategory category = categoryRepository.save(
+                    new ExpenseCategory(userId, "Category " + c, null, "#FF6B6B", "tag"));
+            budgetLimitRepository.save(new BudgetLimit(userId, category, month, year, new BigDecimal("500.00")));
+            categories.add(category);
+        }
+        for (int i = 0; i < expenses; i++) {
+            financeService.saveExpense(new Expense(userId, categories.get(i % CATEGORIES), "Expense " + i,
+                    BigDecimal.valueOf(100 + i % 900, 2), today.minusDays(i % 28)), userId);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int taskBoard() {
+        int size = call(() -> taskService.getAllColumns(userId)).size();
+        return size + call(() -> taskService.getAllTasks(userId)).size();
+    }
+
+    @Benchmark
+    public int financeDashboard() {
+        int size = call(() -> financeService.getAllExpenses(userId)).size();
+        size += call(() -> financeService.getActiveCategories(userId)).size();
+        size += call(() -> financeService.getBudgetAnalysis(userId, month, year)).size();
+        return size + call(() -> financeService.getBudgetAlerts(userId)).size();
+    }
+
+    private <T> T call(Supplier<T> serviceCall) {
+        return "read-write".equals(transactions) ? readWrite.execute(status -> serviceCall.get()) : serviceCall.get();
+    }
+}
@@ -0,0 +1,85 @@
+package com.studentapp.backend.benchmark;
+
+import com.studentapp.backend.service.RecurrenceExpander;
+import com.studentapp.common.model.CalendarEvent;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expanding a semester timetable of 30 recurring series (weekly lectures, fortnightly
+ * labs, daily study blocks) for the week, month and semester views, with the
+ * per-(series, window) expansion cache enabled and disabled. The cached case is the
+ * steady state of a student flipping between views they have already opened.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=RecurrenceExpansionBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecurrenceExpansionBenchmark {
+
+    private static final LocalDateTime SEMESTER_START = LocalDateTime.of(2024, 1, 8, 0, 0);
+    private static final LocalDateTime SEMESTER_END = LocalDateTime.of(2024, 5, 4, 0, 0);
+    private static final String[] RULES = {
+            "FREQ=WEEKLY;BYDAY=MO,WE,FR;UNTIL=20240503",
+            "FREQ=WEEKLY;BYDAY=TU,TH;UNTIL=20240503",
+            "FREQ=WEEKLY;INTERVAL=2;COUNT=8",
+            "FREQ=DAILY;UNTIL=20240503",
+            "FREQ=WEEKLY"
+    };
+
+    @Param({"week", "month", "semester"})
+    public String window;
+
+    @Param({"0", "10000"})
+    public long cacheSize;
+
+    private RecurrenceExpander expander;
+    private List<CalendarEvent> series;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        expander = new RecurrenceExpander(cacheSize);
+        series = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            LocalDateTime start = SEMESTER_START.plusDays(i % 5).plusHours(8 + i % 9);
+            CalendarEvent event = new CalendarEvent("Series " + i, null, start, start.plusMinutes(90), null);
+            event.setId(UUID.randomUUID());
+            event.setRecurrenceRule(RULES[i % RULES.length]);
+            event.setRecurrenceExceptions(start.plusWeeks(6).toString());
+            series.add(event);
+        }
+        switch (window) {
+            case "week" -> {
+                from = LocalDateTime.of(2024, 3, 4, 0, 0);
+                to = from.plusWeeks(1);
+            }
+            case "month" -> {
+                from = LocalDateTime.of(2024, 3, 1, 0, 0);
+                to = from.plusMonths(1);
+            }
+            default -> {
+                from = SEMESTER_START;
+                to = SEMESTER_END;
+            }
+        }
+    }
+
+    @Benchmark
+    public void expandTimetable(Blackhole blackhole) {
+        for (CalendarEvent event : series) {
+            blackhole.consume(expander.expand(event, from, to));
+        }
+    }
+}
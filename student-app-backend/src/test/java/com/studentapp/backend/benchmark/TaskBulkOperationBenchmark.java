@@ -0,0 +1,227 @@
+package com.studentapp.backend.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bulk task operations over {@code tasks} ids: the original per-row load/save loop
+ * against set-based UPDATE ... WHERE id IN (...) (priority) and JDBC-batched updates
+ * (move), over an embedded H2 database in PostgreSQL mode. An in-memory database has no
+ * network hop, so {@code roundTripMicros} adds a simulated client/server round trip to
+ * every statement execution or batch flush.
+ *
+ * Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=TaskBulkOperationBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskBulkOperationBenchmark {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final int BATCH_SIZE = 20;
+
+    @Param("1000")
+    public int tasks;
+
+    @Param({"0", "250"})
+    public long roundTripMicros;
+
+    private Connection connection;
+    private UUID userId;
+    private UUID[] columns;
+    private List<UUID> taskIds;
+    private int round;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:task_bench;MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS tasks");
+            statement.execute("CREATE TABLE tasks (id UUID PRIMARY KEY, user_id UUID NOT NULL, column_id UUID NOT NULL, "
+                    + "title VARCHAR(255) NOT NULL, description TEXT, priority VARCHAR(20), position INTEGER, "
+                    + "due_date TIMESTAMP, tags VARCHAR(1000), created_at TIMESTAMP, updated_at TIMESTAMP)");
+            statement.execute("CREATE INDEX idx_tasks_user_column ON tasks(user_id, column_id)");
+        }
+        userId = UUID.randomUUID();
+        columns = new UUID[] {UUID.randomUUID(), UUID.randomUUID()};
+        taskIds = new ArrayList<>();
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO tasks (id, user_id, column_id, title, priority, position, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            for (int i = 0; i < tasks; i++) {
+                UUID id = UUID.randomUUID();
+                taskIds.add(id);
+                insert.setObject(1, id);
+                insert.setObject(2, userId);
+                insert.setObject(3, columns[0]);
+                insert.setString(4, "Task " + i);
+                insert.setString(5, "LOW");
+                insert.setInt(6, i);
+                insert.setTimestamp(7, now);
+                insert.setTimestamp(8, now);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE tasks");
+        }
+        connection.close();
+    }
+
+    /**
+     * The original priority path: findById then save, one pair of statements per task.
+     */
+    @Benchmark
+    public int perRowPriorityUpdate() throws SQLException {
+        String priority = nextPriority();
+        int updated = 0;
+        try (PreparedStatement select = connection.prepareStatement("SELECT * FROM tasks WHERE id = ?");
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE tasks SET priority = ?, updated_at = ? WHERE id = ?")) {
+            for (UUID id : taskIds) {
+                select.setObject(1, id);
+                try (ResultSet resultSet = roundTrip(select.executeQuery())) {
+                    if (!resultSet.next() || !userId.equals(resultSet.getObject("user_id"))) {
+                        continue;
+                    }
+                }
+                update.setString(1, priority);
+                update.setTimestamp(2, new Timestamp(System.currentTimeMillis()));
+                update.setObject(3, id);
+                updated += roundTrip(update.executeUpdate());
+            }
+        }
+        return updated;
+    }
+
+    @Benchmark
+    public int setBasedPriorityUpdate() throws SQLException {
+        String priority = nextPriority();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        int updated = 0;
+        for (int from = 0; from < taskIds.size(); from += CHUNK_SIZE) {
+            List<UUID> chunk = taskIds.subList(from, Math.min(from + CHUNK_SIZE, taskIds.size()));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            try (PreparedStatement update = connection.prepareStatement(
+                    "UPDATE tasks SET priority = ?, updated_at = ? WHERE id IN (" + placeholders + ") AND user_id = ?")) {
+                update.setString(1, priority);
+                update.setTimestamp(2, now);
+                int index = 3;
+                for (UUID id : chunk) {
+                    update.setObject(index++, id);
+                }
+                update.setObject(index, userId);
+                updated += roundTrip(update.executeUpdate());
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * The original move path: findById then save per task.
+     */
+    @Benchmark
+    public int perRowMove() throws SQLException {
+        UUID column = nextColumn();
+        int moved = 0;
+        try (PreparedStatement select = connection.prepareStatement("SELECT * FROM tasks WHERE id = ?");
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE tasks SET column_id = ?, position = ?, updated_at = ? WHERE id = ?")) {
+            for (UUID id : taskIds) {
+                select.setObject(1, id);
+                try (ResultSet resultSet = roundTrip(select.executeQuery())) {
+                    if (!resultSet.next() || !userId.equals(resultSet.getObject("user_id"))) {
+                        continue;
+                    }
+                }
+                update.setObject(1, column);
+                update.setInt(2, moved);
+                update.setTimestamp(3, new Timestamp(System.currentTimeMillis()));
+                update.setObject(4, id);
+                moved += roundTrip(update.executeUpdate());
+            }
+        }
+        return moved;
+    }
+
+    /**
+     * The new move path: one owned-row select per chunk, then updates sent as JDBC batches.
+     */
+    @Benchmark
+    public int chunkedBatchedMove() throws SQLException {
+        UUID column = nextColumn();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        int moved = 0;
+        for (int from = 0; from < taskIds.size(); from += CHUNK_SIZE) {
+            List<UUID> chunk = taskIds.subList(from, Math.min(from + CHUNK_SIZE, taskIds.size()));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            List<UUID> owned = new ArrayList<>();
+            try (PreparedStatement select = connection.prepareStatement(
+                    "SELECT id FROM tasks WHERE user_id = ? AND id IN (" + placeholders + ")")) {
+                select.setObject(1, userId);
+                int index = 2;
+                for (UUID id : chunk) {
+                    select.setObject(index++, id);
+                }
+                try (ResultSet resultSet = roundTrip(select.executeQuery())) {
+                    while (resultSet.next()) {
+                        owned.add(resultSet.getObject(1, UUID.class));
+                    }
+                }
+            }
+            try (PreparedStatement update = connection.prepareStatement(
+                    "UPDATE tasks SET column_id = ?, position = ?, updated_at = ? WHERE id = ?")) {
+                int pending = 0;
+                for (UUID id : owned) {
+                    update.setObject(1, column);
+                    update.setInt(2, moved++);
+                    update.setTimestamp(3, now);
+                    update.setObject(4, id);
+                    update.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        roundTrip(update.executeBatch());
+                        pending = 0;
+                    }
+                }
+                roundTrip(update.executeBatch());
+            }
+        }
+        return moved;
+    }
+
+    private <T> T roundTrip(T result) {
+        if (roundTripMicros > 0) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+        }
+        return result;
+    }
+
+    private String nextPriority() {
+        return (round++ & 1) == 0 ? "HIGH" : "LOW";
+    }
+
+    private UUID nextColumn() {
+        return columns[round++ & 1];
+    }
+}
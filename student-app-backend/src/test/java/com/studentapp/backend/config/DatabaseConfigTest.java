@@ -0,0 +1,56 @@
+package com.studentapp.backend.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for DatabaseConfig pool configuration: property binding and defaults.
+ */
+class DatabaseConfigTest {
+
+    /**
+     * Verifies spring.datasource.hikari.* properties are honoured over the defaults.
+     */
+    @Test
+    void configuredPoolSettingsWin() {
+        HikariConfig config = bind(Map.of(
+                "spring.datasource.hikari.maximum-pool-size", "5",
+                "spring.datasource.hikari.minimum-idle", "1",
+                "spring.datasource.hikari.connection-timeout", "20000",
+                "spring.datasource.hikari.data-source-properties.prepareThreshold", "0"));
+
+        DatabaseConfig.applyPoolDefaults(config, 16);
+
+        assertThat(config.getMaximumPoolSize()).isEqualTo(5);
+        assertThat(config.getMinimumIdle()).isEqualTo(1);
+        assertThat(config.getConnectionTimeout()).isEqualTo(20000);
+        assertThat(config.getDataSourceProperties().getProperty("prepareThreshold")).isEqualTo("0");
+    }
+
+    /**
+     * Verifies an unconfigured pool is sized from database cores and validated with isValid().
+     */
+    @Test
+    void unsetPoolSettingsGetCoreBasedDefaults() {
+        HikariConfig config = bind(Map.of());
+
+        DatabaseConfig.applyPoolDefaults(config, 4);
+
+        assertThat(config.getMaximumPoolSize()).isEqualTo(9);
+        assertThat(config.getMinimumIdle()).isEqualTo(2);
+        assertThat(config.getConnectionTestQuery()).isNull();
+        assertThat(config.getPoolName()).isEqualTo("student-app");
+    }
+
+    private HikariConfig bind(Map<String, String> properties) {
+        return new Binder(new MapConfigurationPropertySource(properties))
+                .bindOrCreate("spring.datasource.hikari", Bindable.ofInstance(new HikariConfig()));
+    }
+}
@@ -0,0 +1,74 @@
+package com.studentapp.backend.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for PreparedStatementMode resolution and the driver properties of each mode.
+ */
+class PreparedStatementModeTest {
+
+    private static final List<Integer> POOLER_PORTS = List.of(6543);
+
+    /**
+     * Verifies auto mode recognises a transaction pooler from the URL without probing.
+     */
+    @Test
+    void autoUsesPoolerSafeForTransactionPoolerUrls() {
+        AtomicBoolean probed = new AtomicBoolean();
+        String supabase = "jdbc:postgresql://aws-1-us-east-2.pooler.supabase.com:6543/postgres?user=postgres.x&password=p#%!";
+
+        assertThat(PreparedStatementMode.resolve("auto", supabase, POOLER_PORTS, () -> probed.getAndSet(true)))
+                .isEqualTo(PreparedStatementMode.POOLER_SAFE);
+        assertThat(PreparedStatementMode.resolve("auto", "jdbc:postgresql://db:5432/app?pgbouncer=true", POOLER_PORTS,
+                () -> probed.getAndSet(true))).isEqualTo(PreparedStatementMode.POOLER_SAFE);
+        assertThat(probed).isFalse();
+    }
+
+    /**
+     * Verifies auto mode falls back to the probe for other URLs, including session-mode pooler ports.
+     */
+    @Test
+    void autoProbesOtherUrls() {
+        String session = "jdbc:postgresql://aws-1-us-east-2.pooler.supabase.com:5432/postgres";
+
+        assertThat(PreparedStatementMode.resolve("auto", session, POOLER_PORTS, () -> false))
+                .isEqualTo(PreparedStatementMode.SERVER);
+        assertThat(PreparedStatementMode.resolve("AUTO", "jdbc:postgresql://localhost/StudentLifeDB", POOLER_PORTS, () -> true))
+                .isEqualTo(PreparedStatementMode.POOLER_SAFE);
+    }
+
+    /**
+     * Verifies explicit modes override detection and unknown modes are rejected.
+     */
+    @Test
+    void explicitModesOverrideDetection() {
+        String pooled = "jdbc:postgresql://pooler:6543/postgres";
+
+        assertThat(PreparedStatementMode.resolve("server", pooled, POOLER_PORTS, () -> true))
+                .isEqualTo(PreparedStatementMode.SERVER);
+        assertThat(PreparedStatementMode.resolve("pooler-safe", "jdbc:postgresql://localhost:5432/db", POOLER_PORTS, () -> false))
+                .isEqualTo(PreparedStatementMode.POOLER_SAFE);
+        assertThatThrownBy(() -> PreparedStatementMode.resolve("named", pooled, POOLER_PORTS, () -> false))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Verifies only server mode enables named statements while both keep the driver's statement cache.
+     */
+    @Test
+    void driverPropertiesKeepTheStatementCacheInBothModes() {
+        Properties server = PreparedStatementMode.SERVER.driverProperties(5, 256, 5);
+        Properties poolerSafe = PreparedStatementMode.POOLER_SAFE.driverProperties(5, 256, 5);
+
+        assertThat(server.getProperty("prepareThreshold")).isEqualTo("5");
+        assertThat(poolerSafe.getProperty("prepareThreshold")).isEqualTo("0");
+        assertThat(poolerSafe.getProperty("preparedStatementCacheQueries")).isEqualTo("256");
+        assertThat(poolerSafe.getProperty("preparedStatementCacheSizeMiB")).isEqualTo("5");
+    }
+}
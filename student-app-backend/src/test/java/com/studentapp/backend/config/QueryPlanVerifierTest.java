@@ -0,0 +1,85 @@
+package com.studentapp.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.studentapp.common.model.Task.Priority;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the QueryPlanVerifier helpers: parameter numbering, plan walking,
+ * placeholder arguments and statement capture.
+ */
+class QueryPlanVerifierTest {
+
+    /**
+     * Verifies JDBC placeholders become numbered parameters while literals are left alone.
+     */
+    @Test
+    void numberParametersSkipsStringLiterals() {
+        QueryPlanVerifier.NumberedSql numbered = QueryPlanVerifier.numberParameters(
+                "select * from tasks t where t.user_id=? and t.title like ? escape '\\' and t.tags <> 'why?' limit ?");
+
+        assertThat(numbered.sql()).isEqualTo(
+                "select * from tasks t where t.user_id=$1 and t.title like $2 escape '\\' and t.tags <> 'why?' limit $3");
+        assertThat(numbered.parameters()).isEqualTo(3);
+    }
+
+    /**
+     * Verifies sequential scans are found in nested plans and subplans, and index scans are not reported.
+     */
+    @Test
+    void sequentialScansWalksNestedPlans() throws Exception {
+        String explain = """
+                [{"Plan": {"Node Type": "Aggregate", "Plans": [
+                  {"Node Type": "Nested Loop", "Plans": [
+                    {"Node Type": "Index Scan", "Relation Name": "tasks", "Index Name": "idx_tasks_user_due_pending"},
+                    {"Node Type": "Seq Scan", "Relation Name": "task_columns"}]},
+                  {"Node Type": "Seq Scan", "Parent Relationship": "SubPlan", "Relation Name": "financial_goals"}]}}]
+                """;
+
+        assertThat(QueryPlanVerifier.sequentialScans(new ObjectMapper().readTree(explain)))
+                .containsExactly("task_columns", "financial_goals");
+    }
+
+    /**
+     * Verifies placeholder arguments cover collections and enums, and unsupported types are reported as null.
+     */
+    @Test
+    void placeholderCoversRepositoryParameterTypes() throws Exception {
+        Method method = Fixtures.class.getDeclaredMethod("query", Collection.class, Priority.class, Object.class);
+
+        assertThat(QueryPlanVerifier.placeholder(method.getGenericParameterTypes()[0])).isEqualTo(List.of(new UUID(0, 0)));
+        assertThat(QueryPlanVerifier.placeholder(method.getGenericParameterTypes()[1])).isEqualTo(Priority.LOW);
+        assertThat(QueryPlanVerifier.placeholder(method.getGenericParameterTypes()[2])).isNull();
+        assertThat(QueryPlanVerifier.placeholderArguments(method)).isNull();
+        assertThat(QueryPlanVerifier.placeholderArguments(Fixtures.class.getDeclaredMethod("search", UUID.class, String.class, int.class)))
+                .containsExactly(new UUID(0, 0), "plan-check", 0);
+    }
+
+    /**
+     * Verifies the inspector passes statements through until started, then captures the first one and aborts it.
+     */
+    @Test
+    void statementCaptureAbortsCapturedStatement() {
+        QueryPlanVerifier.StatementCapture capture = new QueryPlanVerifier.StatementCapture();
+        assertThat(capture.inspect("select 1")).isEqualTo("select 1");
+
+        capture.start();
+        assertThatThrownBy(() -> capture.inspect("select 2")).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> capture.inspect("select 3")).isInstanceOf(IllegalStateException.class);
+        assertThat(capture.stop()).isEqualTo("select 2");
+        assertThat(capture.inspect("select 4")).isEqualTo("select 4");
+    }
+
+    interface Fixtures {
+        void query(Collection<UUID> ids, Priority priority, Object unsupported);
+
+        void search(UUID userId, String term, int limit);
+    }
+}
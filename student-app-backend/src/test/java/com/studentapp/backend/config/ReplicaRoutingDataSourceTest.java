@@ -0,0 +1,105 @@
+package com.studentapp.backend.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests for ReplicaRoutingDataSource, with two embedded databases standing in for the
+ * primary and the replica. Each holds a one-row table naming the database.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final AtomicReference<UUID> currentUser = new AtomicReference<>();
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        routing = new ReplicaRoutingDataSource(primary, replica, Duration.ofSeconds(30), currentUser::get);
+        DataSource dataSource = ReplicaRoutingDataSource.lazy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        routing.close();
+    }
+
+    /**
+     * Verifies read-only transactions use the replica while read-write work and non-transactional calls use the primary.
+     */
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        currentUser.set(UUID.randomUUID());
+
+        assertThat(servedBy(readOnly)).isEqualTo("replica");
+        assertThat(servedBy(readWrite)).isEqualTo("primary");
+        assertThat(servedBy()).isEqualTo("primary");
+    }
+
+    /**
+     * Verifies a user who just committed a write reads from the primary while other users keep using the replica.
+     */
+    @Test
+    void recentWritersReadTheirOwnWrites() {
+        UUID writer = UUID.randomUUID();
+        currentUser.set(writer);
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE source SET touched = touched + 1"));
+
+        assertThat(servedBy(readOnly)).isEqualTo("primary");
+
+        currentUser.set(UUID.randomUUID());
+        assertThat(servedBy(readOnly)).isEqualTo("replica");
+    }
+
+    /**
+     * Verifies a rolled-back transaction does not pin its user to the primary.
+     */
+    @Test
+    void rolledBackWritesDoNotPinTheUser() {
+        currentUser.set(UUID.randomUUID());
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE source SET touched = touched + 1");
+            status.setRollbackOnly();
+        });
+
+        assertThat(servedBy(readOnly)).isEqualTo("replica");
+    }
+
+    private String servedBy(TransactionTemplate transaction) {
+        return transaction.execute(status -> servedBy());
+    }
+
+    private String servedBy() {
+        return jdbcTemplate.queryForObject("SELECT name FROM source", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "_" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate setup = new JdbcTemplate(dataSource);
+        setup.execute("CREATE TABLE source (name VARCHAR(20), touched INT)");
+        setup.update("INSERT INTO source VALUES (?, 0)", name);
+        return dataSource;
+    }
+}
@@ -8,9 +8,11 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.web.server.ResponseStatusException;
 
 import jakarta.servlet.http.HttpServletRequest;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.UUID;
 
@@ -35,6 +37,7 @@ class CalendarRestControllerTest {
     private CalendarRestController controller;
 
     private final UUID userId = UUID.randomUUID();
+    private final UUID eventId = UUID.randomUUID();
 
     @BeforeEach
     void setUp() {
@@ -50,7 +53,7 @@ class CalendarRestControllerTest {
         when(jwtUtil.extractUserIdFromToken("token")).thenReturn(userId);
         List<CalendarEvent> events = List.of(new CalendarEvent());
         when(calendarService.getAllEvents(userId)).thenReturn(events);
-        List<CalendarEvent> result = controller.getAllEvents(request);
+        List<CalendarEvent> result = controller.getAllEvents(null, null, request);
         assertThat(result).isEqualTo(events);
     }
 
@@ -60,11 +63,45 @@ class CalendarRestControllerTest {
     @Test
     void getAllEventsMissingAuthHeaderThrows() {
         when(request.getHeader("Authorization")).thenReturn(null);
-        assertThatThrownBy(() -> controller.getAllEvents(request))
+        assertThatThrownBy(() -> controller.getAllEvents(null, null, request))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Invalid or missing Authorization header");
     }
 
+    /**
+     * Verifies getAllEvents with from and to returns only the range query result.
+     */
+    @Test
+    void getAllEventsWithRangeQueriesRange() throws Exception {
+        when(request.getHeader("Authorization")).thenReturn("Bearer token");
+        when(jwtUtil.extractUserIdFromToken("token")).thenReturn(userId);
+        LocalDateTime from = LocalDateTime.of(2024, 2, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 3, 1, 0, 0);
+        List<CalendarEvent> events = List.of(new CalendarEvent());
+        when(calendarService.getEventsInRange(userId, from, to)).thenReturn(events);
+        assertThat(controller.getAllEvents(from, to, request)).isEqualTo(events);
+        verify(calendarService, never()).getAllEvents(userId);
+    }
+
+    /**
+     * Ensures a range with only one bound, or an empty range, is rejected with 400.
+     */
+    @Test
+    void getAllEventsWithIncompleteOrEmptyRangeIsBadRequest() {
+        when(request.getHeader("Authorization")).thenReturn("Bearer token");
+        when(jwtUtil.extractUserIdFromToken("token")).thenReturn(userId);
+        LocalDateTime from = LocalDateTime.of(2024, 2, 1, 0, 0);
+        assertThatThrownBy(() -> controller.getAllEvents(from, null, request))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> controller.getAllEvents(null, from, request))
+                .isInstanceOf(ResponseStatusException.class);
+        when(calendarService.getEventsInRange(userId, from, from))
+                .thenThrow(new IllegalArgumentException("Range end must be after its start"));
+        assertThatThrownBy(() -> controller.getAllEvents(from, from, request))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("Invalid range");
+    }
+
     /**
      * Verifies getEventById returns event for valid token.
      */
@@ -73,11 +110,25 @@ class CalendarRestControllerTest {
         when(request.getHeader("Authorization")).thenReturn("Bearer token");
         when(jwtUtil.extractUserIdFromToken("token")).thenReturn(userId);
         Optional<CalendarEvent> event = Optional.of(new CalendarEvent());
-        when(calendarService.getEventById("1", userId)).thenReturn(event);
-        Optional<CalendarEvent> result = controller.getEventById("1", request);
+        when(calendarService.getEventById(eventId, userId)).thenReturn(event);
+        Optional<CalendarEvent> result = controller.getEventById(eventId.toString(), request);
         assertThat(result).isEqualTo(event);
     }
 
+    /**
+     * Verifies an id that is not a UUID finds nothing, deletes nothing and cannot be updated.
+     */
+    @Test
+    void nonUuidEventIdMatchesNoEvent() throws Exception {
+        when(request.getHeader("Authorization")).thenReturn("Bearer token");
+        when(jwtUtil.extractUserIdFromToken("token")).thenReturn(userId);
+        assertThat(controller.getEventById("not-a-uuid", request)).isEmpty();
+        controller.deleteEvent("not-a-uuid", null, request);
+        assertThatThrownBy(() -> controller.updateEvent("not-a-uuid", new CalendarEvent(), request))
+                .isInstanceOf(ResponseStatusException.class);
+        verifyNoInteractions(calendarService);
+    }
+
     /**
      * Verifies getEventsForDate returns events for valid token and date.
      */
@@ -111,9 +162,22 @@ class CalendarRestControllerTest {
     void deleteEventValidTokenDeletesEvent() throws Exception {
         when(request.getHeader("Authorization")).thenReturn("Bearer token");
         when(jwtUtil.extractUserIdFromToken("token")).thenReturn(userId);
-        doNothing().when(calendarService).deleteEvent("1", userId);
-        controller.deleteEvent("1", request);
-        verify(calendarService).deleteEvent("1", userId);
+        doNothing().when(calendarService).deleteEvent(eventId, userId);
+        controller.deleteEvent(eventId.toString(), null, request);
+        verify(calendarService).deleteEvent(eventId, userId);
+    }
+
+    /**
+     * Verifies deleteEvent with an occurrence start cancels only that occurrence.
+     */
+    @Test
+    void deleteEventWithOccurrenceCancelsOccurrence() throws Exception {
+        LocalDateTime occurrence = LocalDateTime.of(2024, 2, 5, 10, 0);
+        when(request.getHeader("Authorization")).thenReturn("Bearer token");
+        when(jwtUtil.extractUserIdFromToken("token")).thenReturn(userId);
+        controller.deleteEvent(eventId.toString(), occurrence, request);
+        verify(calendarService).deleteOccurrence(eventId, occurrence, userId);
+        verify(calendarService, never()).deleteEvent(any(), any());
     }
 
     /**
@@ -125,9 +189,9 @@ class CalendarRestControllerTest {
         when(jwtUtil.extractUserIdFromToken("token")).thenReturn(userId);
         CalendarEvent event = new CalendarEvent();
         when(calendarService.saveEvent(event, userId)).thenReturn(event);
-        CalendarEvent result = controller.updateEvent("1", event, request);
+        CalendarEvent result = controller.updateEvent(eventId.toString(), event, request);
         assertThat(result).isEqualTo(event);
-        assertThat(event.getId()).isEqualTo("1");
+        assertThat(event.getId()).isEqualTo(eventId);
     }
 
     /**
@@ -136,11 +200,11 @@ class CalendarRestControllerTest {
     @Test
     void allEndpointsInvalidAuthHeaderThrows() {
         when(request.getHeader("Authorization")).thenReturn("InvalidHeader");
-        assertThatThrownBy(() -> controller.getAllEvents(request)).isInstanceOf(RuntimeException.class);
+        assertThatThrownBy(() -> controller.getAllEvents(null, null, request)).isInstanceOf(RuntimeException.class);
         assertThatThrownBy(() -> controller.getEventById("1", request)).isInstanceOf(RuntimeException.class);
         assertThatThrownBy(() -> controller.getEventsForDate("2024-01-01", request)).isInstanceOf(RuntimeException.class);
         assertThatThrownBy(() -> controller.createOrUpdateEvent(new CalendarEvent(), request)).isInstanceOf(RuntimeException.class);
-        assertThatThrownBy(() -> controller.deleteEvent("1", request)).isInstanceOf(RuntimeException.class);
+        assertThatThrownBy(() -> controller.deleteEvent("1", null, request)).isInstanceOf(RuntimeException.class);
         assertThatThrownBy(() -> controller.updateEvent("1", new CalendarEvent(), request)).isInstanceOf(RuntimeException.class);
     }
 
@@ -149,11 +213,11 @@ class CalendarRestControllerTest {
      */
     @Test
     void allEndpointsWithNullRequestThrows() {
-        assertThatThrownBy(() -> controller.getAllEvents(null)).isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> controller.getAllEvents(null, null, null)).isInstanceOf(NullPointerException.class);
         assertThatThrownBy(() -> controller.getEventById("1", null)).isInstanceOf(NullPointerException.class);
         assertThatThrownBy(() -> controller.getEventsForDate("2024-01-01", null)).isInstanceOf(NullPointerException.class);
         assertThatThrownBy(() -> controller.createOrUpdateEvent(new CalendarEvent(), null)).isInstanceOf(NullPointerException.class);
-        assertThatThrownBy(() -> controller.deleteEvent("1", null)).isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> controller.deleteEvent("1", null, null)).isInstanceOf(NullPointerException.class);
         assertThatThrownBy(() -> controller.updateEvent("1", new CalendarEvent(), null)).isInstanceOf(NullPointerException.class);
     }
 
@@ -163,9 +227,9 @@ class CalendarRestControllerTest {
     @Test
     void allEndpointsWithNullOrEmptyAuthHeaderThrows() {
         when(request.getHeader("Authorization")).thenReturn("");
-        assertThatThrownBy(() -> controller.getAllEvents(request)).isInstanceOf(RuntimeException.class);
+        assertThatThrownBy(() -> controller.getAllEvents(null, null, request)).isInstanceOf(RuntimeException.class);
         when(request.getHeader("Authorization")).thenReturn(null);
-        assertThatThrownBy(() -> controller.getAllEvents(request)).isInstanceOf(RuntimeException.class);
+        assertThatThrownBy(() -> controller.getAllEvents(null, null, request)).isInstanceOf(RuntimeException.class);
     }
 
     /**
@@ -185,6 +249,6 @@ class CalendarRestControllerTest {
     void updateEventWithNullEventThrows() {
         when(request.getHeader("Authorization")).thenReturn("Bearer token");
         when(jwtUtil.extractUserIdFromToken("token")).thenReturn(userId);
-        assertThatThrownBy(() -> controller.updateEvent("1", null, request)).isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> controller.updateEvent(eventId.toString(), null, request)).isInstanceOf(NullPointerException.class);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.studentapp.backend.controller;
+
+import com.studentapp.backend.repository.UserRepository;
+import com.studentapp.backend.security.AuthenticatedUser;
+import com.studentapp.backend.service.FinanceService;
+import org.assertj.core.api.ThrowableAssert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FinanceController request validation.
+ */
+class FinanceControllerTest {
+
+    @Mock
+    private FinanceService financeService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private Authentication authentication;
+
+    @Mock
+    private AuthenticatedUser principal;
+
+    @InjectMocks
+    private FinanceController controller;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(authentication.getPrincipal()).thenReturn(principal);
+        when(principal.getUserId()).thenReturn(userId);
+    }
+
+    /**
+     * Ensures month-based endpoints reject a month or year out of range with 400 before reaching the service.
+     */
+    @Test
+    void monthEndpointsRejectInvalidMonthOrYear() {
+        assertBadRequest(() -> controller.getExpensesByMonth(2024, 13, authentication));
+        assertBadRequest(() -> controller.getMonthlyTotal(0, 2024, authentication));
+        assertBadRequest(() -> controller.getCategoryWiseExpenses(-1, 2024, authentication));
+        assertBadRequest(() -> controller.getBudgetAnalysis(6, 0, authentication));
+        assertBadRequest(() -> controller.getBudgetLimitsByMonth(12, 10_000, authentication));
+        verifyNoInteractions(financeService);
+    }
+
+    /**
+     * Verifies a valid month is passed through to the service.
+     */
+    @Test
+    void monthlyTotalWithValidMonthQueriesService() {
+        when(financeService.getTotalExpensesByMonth(userId, 12, 2024)).thenReturn(new BigDecimal("42.00"));
+
+        assertThat(controller.getMonthlyTotal(12, 2024, authentication).getBody()).isEqualByComparingTo("42.00");
+    }
+
+    private static void assertBadRequest(ThrowableAssert.ThrowingCallable call) {
+        assertThatThrownBy(call)
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+}
@@ -0,0 +1,54 @@
+package com.studentapp.backend.dto;
+
+import com.studentapp.backend.dto.TaskSearchHit.Highlight;
+import com.studentapp.common.model.Task;
+import com.studentapp.common.model.Task.Priority;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for TaskSearchHit query term extraction and highlight offsets.
+ */
+class TaskSearchHitTest {
+
+    /**
+     * Verifies websearch operators, quotes and excluded terms are not highlighted.
+     */
+    @Test
+    void termsOfDropsOperatorsAndExcludedWords() {
+        assertThat(TaskSearchHit.termsOf("  \"Essay draft\" or Lab -quiz essay "))
+                .containsExactly("essay", "draft", "lab");
+        assertThat(TaskSearchHit.termsOf(null)).isEmpty();
+    }
+
+    /**
+     * Verifies matches are found case-insensitively and overlapping ranges are merged.
+     */
+    @Test
+    void highlightFindsAllOccurrencesAndMergesOverlaps() {
+        assertThat(TaskSearchHit.highlight("Read chapter 3, reread notes", List.of("read")))
+                .containsExactly(new Highlight(0, 4), new Highlight(18, 22));
+        assertThat(TaskSearchHit.highlight("Homework", List.of("home", "mework")))
+                .containsExactly(new Highlight(0, 8));
+        assertThat(TaskSearchHit.highlight(null, List.of("read"))).isEmpty();
+    }
+
+    /**
+     * Verifies a hit carries the task fields alongside title and description highlights.
+     */
+    @Test
+    void hitCarriesTaskAndHighlights() {
+        Task task = new Task(UUID.randomUUID(), null, "Lab report", Priority.HIGH);
+        task.setDescription("Write up the chemistry lab");
+
+        TaskSearchHit hit = new TaskSearchHit(task, TaskSearchHit.termsOf("lab"));
+
+        assertThat(hit.getTitle()).isEqualTo("Lab report");
+        assertThat(hit.getTitleHighlights()).containsExactly(new Highlight(0, 3));
+        assertThat(hit.getDescriptionHighlights()).containsExactly(new Highlight(23, 26));
+    }
+}
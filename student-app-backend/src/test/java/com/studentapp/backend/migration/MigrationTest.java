@@ -0,0 +1,110 @@
+package com.studentapp.backend.migration;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for Migration script parsing and for the migrations shipped on the classpath.
+ */
+class MigrationTest {
+
+    /**
+     * Verifies statements split on semicolons outside literals, quoted identifiers, dollar-quoted bodies and comments.
+     */
+    @Test
+    void splitStatementsRespectsQuotingAndComments() {
+        String script = """
+                -- header; not a statement
+                UPDATE notes SET body = 'a;b' WHERE "odd;name" = 'it''s';
+                /* block; comment */ CREATE FUNCTION f() RETURNS trigger AS $body$
+                BEGIN NEW.x := 1; RETURN NEW; END;
+                $body$ LANGUAGE plpgsql;
+                SELECT $1
+                """;
+
+        assertThat(Migration.splitStatements(script)).containsExactly(
+                "UPDATE notes SET body = 'a;b' WHERE \"odd;name\" = 'it''s'",
+                "CREATE FUNCTION f() RETURNS trigger AS $body$\nBEGIN NEW.x := 1; RETURN NEW; END;\n$body$ LANGUAGE plpgsql",
+                "SELECT $1");
+    }
+
+    /**
+     * Verifies scripts using CONCURRENTLY outside comments are online, and the version and description come from the file name.
+     */
+    @Test
+    void ofParsesFileNameAndDetectsOnlineScripts() {
+        Migration online = Migration.of("V12__add_due_index.sql",
+                "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_due ON tasks(due_date);");
+        Migration transactional = Migration.of("V13__flag.sql",
+                "-- not CONCURRENTLY: a comment\r\nALTER TABLE tasks ADD COLUMN IF NOT EXISTS flag BOOLEAN;");
+
+        assertThat(online.getVersion()).isEqualTo(12);
+        assertThat(online.getDescription()).isEqualTo("add due index");
+        assertThat(online.isOnline()).isTrue();
+        assertThat(transactional.isOnline()).isFalse();
+        assertThat(transactional.getChecksum())
+                .isEqualTo(Migration.of("V13__flag.sql", "-- not CONCURRENTLY: a comment\nALTER TABLE tasks ADD COLUMN IF NOT EXISTS flag BOOLEAN;").getChecksum());
+        assertThatThrownBy(() -> Migration.of("add_index.sql", "")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Verifies created, dropped and renamed indexes are tracked across statements.
+     */
+    @Test
+    void applyIndexChangesTracksIndexes() {
+        Set<String> indexes = new LinkedHashSet<>();
+        for (String statement : List.of(
+                "CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS Idx_A ON t(a)",
+                "CREATE INDEX idx_b ON t(b)",
+                "CREATE INDEX idx_c ON t(c)",
+                "ALTER INDEX idx_b RENAME TO idx_b2",
+                "DROP INDEX CONCURRENTLY IF EXISTS idx_c",
+                "DROP INDEX IF EXISTS idx_never_created")) {
+            Migration.applyIndexChanges(statement, indexes);
+        }
+
+        assertThat(indexes).containsExactly("idx_a", "idx_b2");
+        assertThat(Migration.indexCreatedBy("ALTER TABLE t ADD COLUMN c INT")).isNull();
+    }
+
+    /**
+     * Verifies the shipped migrations are ordered, index builds on existing tables run online, and the
+     * expected indexes reflect later drops.
+     */
+    @Test
+    void shippedMigrationsAreOrderedAndBuildIndexesOnline() throws Exception {
+        List<Migration> migrations = SchemaMigrator.loadMigrations();
+
+        assertThat(migrations).extracting(Migration::getVersion).startsWith(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12).isSorted();
+        assertThat(migrations).filteredOn(Migration::isOnline).extracting(Migration::getVersion).contains(4, 7, 12);
+        for (Migration migration : migrations.subList(1, migrations.size())) {
+            if (!migration.isOnline()) {
+                assertThat(migration.getStatements()).as(migration.toString())
+                        .noneMatch(statement -> Migration.indexCreatedBy(statement) != null);
+            }
+        }
+        assertThat(SchemaMigrator.expectedIndexes(migrations))
+                .contains("idx_tasks_user_column", "idx_tasks_user_due_pending", "idx_financial_goals_user_active")
+                .doesNotContain("idx_tasks_due_date");
+    }
+
+    /**
+     * Verifies migrating through a transaction pooler is refused unless a separate migration URL is configured.
+     */
+    @Test
+    void checkConnectionTargetRejectsTransactionPooler() {
+        String pooler = "jdbc:postgresql://pooler.example.com:6543/postgres";
+        String session = "jdbc:postgresql://pooler.example.com:5432/postgres";
+
+        assertThatThrownBy(() -> SchemaMigrator.checkConnectionTarget("", pooler, List.of(6543)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("app.migrations.url");
+        assertThatNoException().isThrownBy(() -> SchemaMigrator.checkConnectionTarget(session, pooler, List.of(6543)));
+        assertThatNoException().isThrownBy(() -> SchemaMigrator.checkConnectionTarget(null, session, List.of(6543)));
+    }
+}
@@ -0,0 +1,104 @@
+package com.studentapp.backend.migration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests for two migrators contending for the migration lock. The embedded database has no
+ * advisory locks, so session-level ones are emulated with functions keyed by session id (the
+ * class is public so the database can call them).
+ */
+public class SchemaMigratorLockTest {
+
+    private static final long KEY = 42;
+    private static final Map<Long, Integer> HOLDERS = new ConcurrentHashMap<>();
+
+    private Connection first;
+    private Connection second;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        HOLDERS.clear();
+        first = DriverManager.getConnection("jdbc:h2:mem:migration_lock;DB_CLOSE_DELAY=-1");
+        second = DriverManager.getConnection("jdbc:h2:mem:migration_lock;DB_CLOSE_DELAY=-1");
+        try (Statement statement = first.createStatement()) {
+            statement.execute("CREATE ALIAS IF NOT EXISTS pg_try_advisory_lock FOR \""
+                    + SchemaMigratorLockTest.class.getName() + ".tryLock\"");
+            statement.execute("CREATE ALIAS IF NOT EXISTS pg_advisory_unlock FOR \""
+                    + SchemaMigratorLockTest.class.getName() + ".unlock\"");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        first.close();
+        second.close();
+    }
+
+    /**
+     * Verifies a second migrator waits while the first holds the lock and takes it once it is released.
+     */
+    @Test
+    void secondMigratorWaitsForFirst() throws Exception {
+        try (Statement holder = first.createStatement(); Statement waiter = second.createStatement()) {
+            SchemaMigrator.acquireLock(holder, KEY, 1000, 10);
+
+            CompletableFuture<Void> waiting = CompletableFuture.runAsync(() -> {
+                try {
+                    SchemaMigrator.acquireLock(waiter, KEY, 10_000, 10);
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            Thread.sleep(200);
+            assertThat(waiting).isNotDone();
+
+            holder.execute("SELECT pg_advisory_unlock(" + KEY + ")");
+            waiting.get(5, TimeUnit.SECONDS);
+            assertThat(HOLDERS.get(KEY)).isEqualTo(sessionId(waiter));
+        }
+    }
+
+    /**
+     * Verifies a migrator gives up with a clear error once its own wait, not lock_timeout, runs out.
+     */
+    @Test
+    void waitIsBoundedByLockWait() throws Exception {
+        try (Statement holder = first.createStatement(); Statement waiter = second.createStatement()) {
+            SchemaMigrator.acquireLock(holder, KEY, 1000, 10);
+
+            assertThatThrownBy(() -> SchemaMigrator.acquireLock(waiter, KEY, 100, 10))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("app.migrations.lock-wait-ms");
+        }
+    }
+
+    public static boolean tryLock(Connection connection, long key) throws SQLException {
+        int session = sessionId(connection.createStatement());
+        return HOLDERS.computeIfAbsent(key, k -> session) == session;
+    }
+
+    public static boolean unlock(Connection connection, long key) throws SQLException {
+        return HOLDERS.remove(key, sessionId(connection.createStatement()));
+    }
+
+    private static int sessionId(Statement statement) throws SQLException {
+        try (ResultSet rows = statement.executeQuery("SELECT SESSION_ID()")) {
+            rows.next();
+            return rows.getInt(1);
+        }
+    }
+}
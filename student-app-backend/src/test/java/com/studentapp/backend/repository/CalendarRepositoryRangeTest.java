@@ -0,0 +1,116 @@
+package com.studentapp.backend.repository;
+
+import com.studentapp.common.model.CalendarEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Repository tests for the CalendarRepository range query, run against an embedded database.
+ */
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class CalendarRepositoryRangeTest {
+
+    private static final LocalDateTime FEBRUARY = LocalDateTime.of(2024, 2, 1, 0, 0);
+    private static final LocalDateTime MARCH = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+    @Autowired
+    private CalendarRepository calendarRepository;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        saveEvent(userId, "January only", LocalDateTime.of(2024, 1, 10, 9, 0), LocalDateTime.of(2024, 1, 10, 10, 0));
+        saveEvent(userId, "Ski trip", LocalDateTime.of(2024, 1, 30, 8, 0), LocalDateTime.of(2024, 2, 2, 18, 0));
+        saveEvent(userId, "Midterm", LocalDateTime.of(2024, 2, 14, 9, 0), LocalDateTime.of(2024, 2, 14, 11, 0));
+        saveEvent(userId, "Semester", LocalDateTime.of(2024, 1, 8, 0, 0), LocalDateTime.of(2024, 5, 1, 0, 0));
+        saveEvent(userId, "Deadline", FEBRUARY, FEBRUARY);
+        saveEvent(userId, "March only", MARCH, MARCH.plusHours(1));
+        saveEvent(UUID.randomUUID(), "Someone else's", LocalDateTime.of(2024, 2, 14, 9, 0), LocalDateTime.of(2024, 2, 14, 10, 0));
+    }
+
+    /**
+     * Verifies findOverlapping returns events that start before the window ends and end inside or after it.
+     */
+    @Test
+    void findOverlappingIncludesMultiDayEvents() {
+        List<CalendarEvent> february = calendarRepository.findOverlapping(userId, FEBRUARY, MARCH);
+        assertThat(february).extracting(CalendarEvent::getEventName)
+                .containsExactly("Semester", "Ski trip", "Deadline", "Midterm");
+    }
+
+    /**
+     * Verifies an event starting exactly at the window end belongs to the next window only.
+     */
+    @Test
+    void findOverlappingExcludesEventStartingAtWindowEnd() {
+        assertThat(calendarRepository.findOverlapping(userId, FEBRUARY, MARCH))
+                .extracting(CalendarEvent::getEventName)
+                .doesNotContain("March only");
+        assertThat(calendarRepository.findOverlapping(userId, MARCH, MARCH.plusMonths(1)))
+                .extracting(CalendarEvent::getEventName)
+                .containsExactly("Semester", "March only");
+    }
+
+    /**
+     * Verifies an event ending exactly at the window start stays in the previous window, while a zero-length
+     * event at the window start is kept.
+     */
+    @Test
+    void findOverlappingExcludesEventEndingAtWindowStart() {
+        saveEvent(userId, "Late lab", LocalDateTime.of(2024, 2, 29, 22, 0), MARCH);
+
+        assertThat(calendarRepository.findOverlapping(userId, FEBRUARY, MARCH))
+                .extracting(CalendarEvent::getEventName)
+                .contains("Late lab", "Deadline");
+        assertThat(calendarRepository.findOverlapping(userId, MARCH, MARCH.plusMonths(1)))
+                .extracting(CalendarEvent::getEventName)
+                .doesNotContain("Late lab");
+        assertThat(calendarRepository.findOverlapping(userId, FEBRUARY, FEBRUARY.plusDays(1)))
+                .extracting(CalendarEvent::getEventName)
+                .contains("Deadline");
+    }
+
+    /**
+     * Verifies findSeriesOverlapping returns unbounded series and bounded series that end inside or after the window.
+     */
+    @Test
+    void findSeriesOverlappingSkipsEndedAndFutureSeries() {
+        saveSeries("Weekly lecture", LocalDateTime.of(2024, 1, 8, 10, 0), null);
+        saveSeries("Winter course", LocalDateTime.of(2023, 11, 6, 10, 0), LocalDateTime.of(2024, 1, 29, 12, 0));
+        saveSeries("Ends on the 1st", LocalDateTime.of(2023, 11, 6, 10, 0), FEBRUARY);
+        saveSeries("Spring course", MARCH, null);
+
+        assertThat(calendarRepository.findSeriesOverlapping(userId, FEBRUARY, MARCH))
+                .extracting(CalendarEvent::getEventName)
+                .containsExactlyInAnyOrder("Weekly lecture", "Ends on the 1st");
+        assertThat(calendarRepository.findOverlapping(userId, FEBRUARY, MARCH))
+                .extracting(CalendarEvent::getEventName)
+                .doesNotContain("Weekly lecture", "Ends on the 1st");
+    }
+
+    private void saveSeries(String name, LocalDateTime start, LocalDateTime recurrenceEnd) {
+        CalendarEvent event = new CalendarEvent(name, null, start, start.plusHours(2), null);
+        event.setUserId(userId);
+        event.setRecurrenceRule("FREQ=WEEKLY");
+        event.setRecurrenceEnd(recurrenceEnd);
+        calendarRepository.save(event);
+    }
+
+    private void saveEvent(UUID owner, String name, LocalDateTime start, LocalDateTime end) {
+        CalendarEvent event = new CalendarEvent(name, null, start, end, null);
+        event.setUserId(owner);
+        calendarRepository.save(event);
+    }
+}
@@ -0,0 +1,132 @@
+package com.studentapp.backend.repository;
+
+import com.studentapp.common.model.Expense;
+import com.studentapp.common.model.ExpenseCategory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Repository tests for ExpenseRepository month queries, run against an embedded database.
+ */
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class ExpenseRepositoryTest {
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private ExpenseCategoryRepository categoryRepository;
+
+    private final UUID userId = UUID.randomUUID();
+    private ExpenseCategory category;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(new ExpenseCategory(userId, "Food", "Meals", "#FF6B6B", "food"));
+        saveExpense("Last day of January", "10.00", LocalDate.of(2024, 1, 31));
+        saveExpense("First day of February", "20.00", LocalDate.of(2024, 2, 1));
+        saveExpense("Leap day", "30.00", LocalDate.of(2024, 2, 29));
+        saveExpense("First day of March", "40.00", LocalDate.of(2024, 3, 1));
+    }
+
+    /**
+     * Verifies findByUserIdAndMonth includes both month boundaries and excludes neighbours.
+     */
+    @Test
+    void findByUserIdAndMonthUsesHalfOpenRange() {
+        List<Expense> february = expenseRepository.findByUserIdAndMonth(userId, 2, 2024);
+        assertThat(february).extracting(Expense::getTitle)
+                .containsExactly("Leap day", "First day of February");
+    }
+
+    /**
+     * Verifies new rows get version 7 ids that sort in insertion order.
+     */
+    @Test
+    void idsAreTimeOrdered() {
+        List<UUID> ids = expenseRepository.findByUserIdOrderByExpenseDateDesc(userId).stream()
+                .map(Expense::getId)
+                .toList();
+        assertThat(category.getId().version()).isEqualTo(7);
+        assertThat(ids).allSatisfy(id -> assertThat(id.version()).isEqualTo(7));
+        // Newest expense first, and the newest was inserted last
+        assertThat(ids).extracting(UUID::toString).isSortedAccordingTo(Comparator.reverseOrder());
+    }
+
+    /**
+     * Verifies user and category month totals only sum rows inside the month.
+     */
+    @Test
+    void monthTotalsSumOnlyThatMonth() {
+        assertThat(expenseRepository.getTotalExpensesByUserAndMonth(userId, 2, 2024))
+                .isEqualByComparingTo("50.00");
+        assertThat(expenseRepository.getTotalExpensesByCategoryAndMonth(category.getId(), 2, 2024))
+                .isEqualByComparingTo("50.00");
+        assertThat(expenseRepository.getTotalExpensesByUserAndMonth(userId, 12, 2023)).isNull();
+    }
+
+    /**
+     * Verifies category-wise totals for a December month roll over into the next year correctly.
+     */
+    @Test
+    void categoryWiseExpensesByMonthHandlesYearBoundary() {
+        saveExpense("New Year's Eve", "5.00", LocalDate.of(2023, 12, 31));
+        List<Object[]> december = expenseRepository.getCategoryWiseExpensesByMonth(userId, 12, 2023);
+        assertThat(december).hasSize(1);
+        assertThat(december.get(0)[1]).isEqualTo("Food");
+        assertThat((BigDecimal) december.get(0)[2]).isEqualByComparingTo("5.00");
+    }
+
+    /**
+     * Verifies monthly totals for a window come back as one row per month with expenses.
+     */
+    @Test
+    void monthlyTotalsByDateRangeGroupsPerMonth() {
+        List<Object[]> totals = expenseRepository.getMonthlyTotalsByDateRange(
+                userId, LocalDate.of(2023, 12, 1), LocalDate.of(2024, 3, 1));
+        assertThat(totals).hasSize(2);
+        assertThat(totals).anySatisfy(row -> {
+            assertThat(((Number) row[0]).intValue()).isEqualTo(2024);
+            assertThat(((Number) row[1]).intValue()).isEqualTo(2);
+            assertThat((BigDecimal) row[2]).isEqualByComparingTo("50.00");
+        });
+    }
+
+    /**
+     * Verifies the per-category monthly breakdown splits totals by category within each month.
+     */
+    @Test
+    void monthlyCategoryTotalsByDateRangeSplitsCategories() {
+        ExpenseCategory transport = categoryRepository.save(new ExpenseCategory(userId, "Transport", "Bus", "#4ECDC4", "bus"));
+        expenseRepository.save(new Expense(userId, transport, "Bus pass", new BigDecimal("15.00"), LocalDate.of(2024, 2, 10)));
+
+        List<Object[]> rows = expenseRepository.getMonthlyCategoryTotalsByDateRange(
+                userId, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 3, 1));
+        assertThat(rows).hasSize(2);
+        assertThat(rows).anySatisfy(row -> {
+            assertThat(row[3]).isEqualTo("Transport");
+            assertThat((BigDecimal) row[4]).isEqualByComparingTo("15.00");
+        });
+        assertThat(rows).anySatisfy(row -> {
+            assertThat(row[3]).isEqualTo("Food");
+            assertThat((BigDecimal) row[4]).isEqualByComparingTo("50.00");
+        });
+    }
+
+    private void saveExpense(String title, String amount, LocalDate date) {
+        expenseRepository.save(new Expense(userId, category, title, new BigDecimal(amount), date));
+    }
+}
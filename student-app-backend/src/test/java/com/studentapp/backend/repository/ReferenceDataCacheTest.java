@@ -0,0 +1,149 @@
+package com.studentapp.backend.repository;
+
+import com.studentapp.backend.config.SecondLevelCacheConfig;
+import com.studentapp.common.model.BudgetLimit;
+import com.studentapp.common.model.ExpenseCategory;
+import com.studentapp.common.model.TaskColumn;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests for the second-level cache over reference data, run against an embedded database.
+ * Each repository call commits on its own, as in the application, since Hibernate bypasses
+ * the query cache for tables written by the still-open transaction.
+ */
+@DataJpaTest(properties = {
+        // PostgreSQL mode runs the rollup's INSERT ... ON CONFLICT DO NOTHING
+        "spring.test.database.replace=none",
+        "spring.datasource.url=jdbc:h2:mem:reference_cache;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.sql.init.mode=never",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(SecondLevelCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReferenceDataCacheTest {
+
+    @Autowired
+    private TaskColumnRepository columnRepository;
+
+    @Autowired
+    private ExpenseCategoryRepository categoryRepository;
+
+    @Autowired
+    private BudgetLimitRepository budgetLimitRepository;
+
+    @Autowired
+    private MonthlyCategorySpendRepository monthlySpendRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterBinder hibernateCacheMetrics;
+
+    private final UUID userId = UUID.randomUUID();
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Verifies the per-user column list is served from the query cache until a column is written.
+     */
+    @Test
+    void columnListIsCachedAndInvalidatedOnWrite() {
+        columnRepository.save(new TaskColumn(userId, "To Do", "#FF6B6B", 1024));
+        statistics.clear();
+
+        assertThat(columnRepository.findByUserIdOrderByPositionAsc(userId)).hasSize(1);
+        assertThat(columnRepository.findByUserIdOrderByPositionAsc(userId)).hasSize(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+
+        columnRepository.save(new TaskColumn(userId, "Done", "#4ECDC4", 2048));
+        statistics.clear();
+
+        assertThat(columnRepository.findByUserIdOrderByPositionAsc(userId)).extracting(TaskColumn::getTitle)
+                .containsExactly("To Do", "Done");
+        assertThat(statistics.getQueryCacheHitCount()).isZero();
+    }
+
+    /**
+     * Verifies categories and budget limits are read from the entity cache by id.
+     */
+    @Test
+    void entitiesAreServedFromTheEntityCache() {
+        ExpenseCategory category = categoryRepository.save(new ExpenseCategory(userId, "Food", "Meals", "#FF6B6B", "food"));
+        BudgetLimit limit = budgetLimitRepository.save(new BudgetLimit(userId, category, 2, 2024, new BigDecimal("100.00")));
+        statistics.clear();
+
+        assertThat(categoryRepository.findById(category.getId())).isPresent();
+        assertThat(budgetLimitRepository.findById(limit.getId())).isPresent();
+        assertThat(budgetLimitRepository.findByUserIdAndBudgetYearAndBudgetMonth(userId, 2024, 2)).hasSize(1);
+        assertThat(budgetLimitRepository.findByUserIdAndBudgetYearAndBudgetMonth(userId, 2024, 2)).hasSize(1);
+
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThanOrEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    /**
+     * Verifies the native rollup insert only invalidates its own table, so cached category lists survive it.
+     */
+    @Test
+    void rollupInsertKeepsReferenceQueriesCached() {
+        ExpenseCategory category = categoryRepository.save(new ExpenseCategory(userId, "Rent", "Housing", "#45B7D1", "home"));
+        categoryRepository.findByUserIdAndIsActiveTrue(userId);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> monthlySpendRepository
+                .insertIfAbsent(userId, category.getId(), 2024, 9, new BigDecimal("500.00"), 1L));
+        statistics.clear();
+
+        assertThat(categoryRepository.findByUserIdAndIsActiveTrue(userId)).hasSize(1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    /**
+     * Verifies region hit and miss counts are exported as cache meters.
+     */
+    @Test
+    void regionStatisticsAreExportedAsMeters() {
+        categoryRepository.save(new ExpenseCategory(userId, "Books", "Textbooks", "#4ECDC4", "book"));
+        categoryRepository.findByUserIdAndIsActiveTrue(userId);
+        categoryRepository.findByUserIdAndIsActiveTrue(userId);
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        hibernateCacheMetrics.bindTo(registry);
+
+        assertThat(registry.get("cache.gets").tag("cache", SecondLevelCacheConfig.REFERENCE_QUERY_REGION)
+                .tag("result", "hit").functionCounter().count()).isGreaterThanOrEqualTo(1);
+        assertThat(registry.get("cache.gets").tag("cache", SecondLevelCacheConfig.REFERENCE_QUERY_REGION)
+                .tag("result", "miss").functionCounter().count()).isGreaterThanOrEqualTo(1);
+    }
+}
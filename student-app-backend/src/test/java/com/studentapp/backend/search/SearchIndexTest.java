@@ -0,0 +1,98 @@
+package com.studentapp.backend.search;
+
+import com.studentapp.backend.repository.CalendarRepository;
+import com.studentapp.backend.repository.ExpenseRepository;
+import com.studentapp.backend.repository.TaskRepository;
+import com.studentapp.backend.repository.UserRepository;
+import com.studentapp.backend.search.SearchDocument.Type;
+import com.studentapp.common.model.Task;
+import com.studentapp.common.model.Task.Priority;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for how SearchIndex builds a user's index from the repositories and keeps it current.
+ */
+class SearchIndexTest {
+
+    private static final UUID FIRST = new UUID(0, 0);
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final ExpenseRepository expenseRepository = mock(ExpenseRepository.class);
+    private final CalendarRepository calendarRepository = mock(CalendarRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UUID userId = UUID.randomUUID();
+    private final SearchIndex index = new SearchIndex(taskRepository, expenseRepository, calendarRepository,
+            userRepository, 10, 30, 2);
+
+    /**
+     * Verifies the first search loads every row in keyset pages, and later searches at the same version reuse the index.
+     */
+    @Test
+    void firstSearchLoadsAllRowsInPages() {
+        Task lab = task("Lab report");
+        Task essay = task("Lab essay");
+        Task notes = task("Lab notes");
+        PageRequest page = PageRequest.of(0, 2);
+        when(taskRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(userId, FIRST, page)).thenReturn(List.of(lab, essay));
+        when(taskRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(userId, essay.getId(), page)).thenReturn(List.of(notes));
+        when(userRepository.findSearchVersion(userId)).thenReturn(Optional.of(7L));
+
+        assertThat(index.search(userId, "lab", EnumSet.allOf(Type.class), 10)).hasSize(3);
+        assertThat(index.search(userId, "report", EnumSet.allOf(Type.class), 10)).hasSize(1);
+
+        verify(taskRepository, times(2)).findByUserIdAndIdGreaterThanOrderByIdAsc(eq(userId), any(), eq(page));
+        verify(expenseRepository, times(1)).findByUserIdAndIdGreaterThanOrderByIdAsc(userId, FIRST, page);
+        verify(calendarRepository, times(1)).findByUserIdAndIdGreaterThanOrderByIdAsc(userId, FIRST, page);
+        verifyNoMoreInteractions(taskRepository, expenseRepository, calendarRepository);
+    }
+
+    /**
+     * Verifies a write reported through this instance keeps the index current without a rebuild.
+     */
+    @Test
+    void localWriteAdvancesVersionWithoutRebuild() {
+        when(userRepository.findSearchVersion(userId)).thenReturn(Optional.of(7L));
+        index.search(userId, "lab", EnumSet.allOf(Type.class), 10);
+
+        when(userRepository.findSearchVersion(userId)).thenReturn(Optional.of(8L));
+        index.index(SearchDocument.of(task("Lab report")));
+
+        assertThat(index.search(userId, "lab", EnumSet.allOf(Type.class), 10)).hasSize(1);
+        verify(userRepository).incrementSearchVersion(userId);
+        verify(taskRepository, times(1)).findByUserIdAndIdGreaterThanOrderByIdAsc(any(), any(), any());
+    }
+
+    /**
+     * Verifies a version bumped by another instance makes the next search rebuild the index from the database.
+     */
+    @Test
+    void versionChangedElsewhereRebuildsIndex() {
+        when(userRepository.findSearchVersion(userId)).thenReturn(Optional.of(7L));
+        assertThat(index.search(userId, "lab", EnumSet.allOf(Type.class), 10)).isEmpty();
+
+        Task written = task("Lab report");
+        when(taskRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(userId, FIRST, PageRequest.of(0, 2)))
+                .thenReturn(List.of(written));
+        when(userRepository.findSearchVersion(userId)).thenReturn(Optional.of(8L));
+
+        assertThat(index.search(userId, "lab", EnumSet.allOf(Type.class), 10)).hasSize(1);
+        verify(taskRepository, times(2)).findByUserIdAndIdGreaterThanOrderByIdAsc(userId, FIRST, PageRequest.of(0, 2));
+    }
+
+    private Task task(String title) {
+        Task task = new Task(userId, null, title, Priority.LOW);
+        task.setId(UUID.randomUUID());
+        return task;
+    }
+}
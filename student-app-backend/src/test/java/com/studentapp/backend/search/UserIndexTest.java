@@ -0,0 +1,151 @@
+package com.studentapp.backend.search;
+
+import com.studentapp.backend.search.SearchDocument.Key;
+import com.studentapp.backend.search.SearchDocument.Type;
+import com.studentapp.common.model.CalendarEvent;
+import com.studentapp.common.model.Expense;
+import com.studentapp.common.model.Task;
+import com.studentapp.common.model.Task.Priority;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the per-user inverted index behind /api/search.
+ */
+class UserIndexTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private final EnumSet<Type> allTypes = EnumSet.allOf(Type.class);
+
+    /**
+     * Verifies query words match as prefixes, every word must match, and exact title matches rank first.
+     */
+    @Test
+    void searchMatchesPrefixesOfAllWordsAndRanksTitlesFirst() {
+        SearchDocument essay = task("History essay", "Outline and sources");
+        SearchDocument notes = task("Reading notes", "For the history essays");
+        SearchDocument lunch = expense("Lunch", "Campus cafe");
+        UserIndex index = loaded(essay, notes, lunch);
+
+        assertThat(titles(index.search(SearchDocument.tokenize("hist ess"), allTypes, 10)))
+                .containsExactly("History essay", "Reading notes");
+        assertThat(titles(index.search(SearchDocument.tokenize("essay"), allTypes, 10)))
+                .containsExactly("History essay", "Reading notes");
+        assertThat(index.search(SearchDocument.tokenize("history lunch"), allTypes, 10)).isEmpty();
+        assertThat(titles(index.search(SearchDocument.tokenize("ca"), allTypes, 10))).containsExactly("Lunch");
+    }
+
+    /**
+     * Verifies results are filtered by type and cut to the top k.
+     */
+    @Test
+    void searchFiltersByTypeAndLimitsResults() {
+        UserIndex index = loaded(task("Exam prep", null), task("Exam review", null), event("Exam", null));
+
+        assertThat(index.search(SearchDocument.tokenize("exam"), allTypes, 2)).hasSize(2);
+        assertThat(titles(index.search(SearchDocument.tokenize("exam"), EnumSet.of(Type.EVENT), 10)))
+                .containsExactly("Exam");
+    }
+
+    /**
+     * Verifies updates replace a document's old terms and removals drop it entirely.
+     */
+    @Test
+    void upsertReplacesTermsAndRemoveDropsDocument() {
+        Task task = new Task(userId, null, "Draft report", Priority.LOW);
+        task.setId(UUID.randomUUID());
+        UserIndex index = loaded(SearchDocument.of(task));
+
+        task.setTitle("Final report");
+        index.upsert(SearchDocument.of(task), 1);
+        assertThat(index.search(SearchDocument.tokenize("draft"), allTypes, 10)).isEmpty();
+        assertThat(index.search(SearchDocument.tokenize("final"), allTypes, 10)).hasSize(1);
+
+        index.remove(List.of(new Key(Type.TASK, task.getId().toString())), 2);
+        assertThat(index.search(SearchDocument.tokenize("report"), allTypes, 10)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    /**
+     * Verifies changes reported while the index is loading are applied on top of the loaded snapshot.
+     */
+    @Test
+    void changesDuringLoadAreReplayed() {
+        UserIndex index = new UserIndex();
+        SearchDocument stale = task("Old title", null);
+        SearchDocument added = task("Added while loading", null);
+
+        index.ensureLoaded(() -> {
+            index.upsert(added, 4);
+            index.remove(List.of(stale.getKey()), 5);
+            return List.of(stale);
+        }, 3);
+
+        assertThat(titles(index.search(SearchDocument.tokenize("loading"), allTypes, 10)))
+                .containsExactly("Added while loading");
+        assertThat(index.search(SearchDocument.tokenize("old"), allTypes, 10)).isEmpty();
+        assertThat(index.version()).isEqualTo(5);
+    }
+
+    /**
+     * Verifies a change only advances the version when it directly follows it, so a missed write stays visible.
+     */
+    @Test
+    void versionAdvancesOnlyForTheNextWrite() {
+        UserIndex index = loaded(task("Essay", null));
+
+        index.upsert(task("Next", null), 1);
+        assertThat(index.version()).isEqualTo(1);
+
+        // Version 2 was written elsewhere and never reached this index
+        index.upsert(task("After a gap", null), 3);
+        assertThat(index.version()).isEqualTo(1);
+    }
+
+    private UserIndex loaded(SearchDocument... documents) {
+        UserIndex index = new UserIndex();
+        index.ensureLoaded(() -> List.of(documents), 0);
+        return index;
+    }
+
+    private SearchDocument task(String title, String description) {
+        Task task = new Task(userId, null, title, Priority.MEDIUM);
+        task.setId(UUID.randomUUID());
+        task.setDescription(description);
+        task.setDueDate(LocalDateTime.now());
+        return SearchDocument.of(task);
+    }
+
+    private SearchDocument expense(String title, String location) {
+        Expense expense = new Expense();
+        expense.setId(UUID.randomUUID());
+        expense.setUserId(userId);
+        expense.setTitle(title);
+        expense.setLocation(location);
+        expense.setAmount(BigDecimal.TEN);
+        expense.setExpenseDate(LocalDate.now());
+        return SearchDocument.of(expense);
+    }
+
+    private SearchDocument event(String name, String description) {
+        CalendarEvent event = new CalendarEvent();
+        event.setId(UUID.randomUUID());
+        event.setUserId(userId);
+        event.setEventName(name);
+        event.setDescription(description);
+        event.setStartTime(LocalDateTime.now());
+        return SearchDocument.of(event);
+    }
+
+    private List<String> titles(List<UserIndex.Scored> results) {
+        return results.stream().map(scored -> scored.document().getTitle()).toList();
+    }
+}
@@ -7,10 +7,12 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 import java.util.Optional;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -23,6 +25,9 @@ class CustomUserDetailsServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private UserCache userCache = new UserCache(100, 300);
+
     @InjectMocks
     private CustomUserDetailsService service;
 
@@ -56,4 +61,45 @@ class CustomUserDetailsServiceTest {
                 .isInstanceOf(UsernameNotFoundException.class)
                 .hasMessageContaining("User not found with username: nouser");
     }
-} 
\ No newline at end of file
+
+    /**
+     * Verifies loadAuthenticatedUser hits the repository once and then serves from the cache.
+     */
+    @Test
+    void loadAuthenticatedUserIsCached() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setUsername("testuser");
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        AuthenticatedUser first = service.loadAuthenticatedUser("testuser");
+        AuthenticatedUser second = service.loadAuthenticatedUser("testuser");
+        assertThat(first.getUserId()).isEqualTo(user.getId());
+        assertThat(second).isEqualTo(first);
+        verify(userRepository, times(1)).findByUsername("testuser");
+    }
+
+    /**
+     * Verifies evictUser forces the next lookup back to the repository.
+     */
+    @Test
+    void evictUserReloadsFromRepository() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setUsername("testuser");
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        service.loadAuthenticatedUser("testuser");
+        service.evictUser("testuser");
+        service.loadAuthenticatedUser("testuser");
+        verify(userRepository, times(2)).findByUsername("testuser");
+    }
+
+    /**
+     * Verifies loadAuthenticatedUser throws when user is not found.
+     */
+    @Test
+    void loadAuthenticatedUserNotFoundThrows() {
+        when(userRepository.findByUsername("nouser")).thenReturn(Optional.empty());
+        assertThatThrownBy(() -> service.loadAuthenticatedUser("nouser"))
+                .isInstanceOf(UsernameNotFoundException.class);
+    }
+}
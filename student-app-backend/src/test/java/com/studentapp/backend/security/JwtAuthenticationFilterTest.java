@@ -1,5 +1,6 @@
 package com.studentapp.backend.security;
 
+import io.jsonwebtoken.MalformedJwtException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -7,14 +8,13 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -28,7 +28,7 @@ class JwtAuthenticationFilterTest {
     private JwtUtil jwtUtil;
 
     @Mock
-    private UserDetailsService userDetailsService;
+    private CustomUserDetailsService userDetailsService;
 
     @Mock
     private FilterChain filterChain;
@@ -39,9 +39,6 @@ class JwtAuthenticationFilterTest {
     @Mock
     private HttpServletResponse response;
 
-    @Mock
-    private UserDetails userDetails;
-
     @InjectMocks
     private JwtAuthenticationFilter filter;
 
@@ -74,45 +71,61 @@ class JwtAuthenticationFilterTest {
     }
 
     /**
-     * Verifies filter proceeds with valid header but username is null.
+     * Verifies filter proceeds when the token fails verification.
+     */
+    @Test
+    void doFilterInternalTokenInvalidProceeds() throws ServletException, IOException {
+        when(request.getHeader("Authorization")).thenReturn("Bearer token");
+        when(jwtUtil.parseToken("token")).thenThrow(new MalformedJwtException("bad token"));
+        filter.doFilterInternal(request, response, filterChain);
+        verify(filterChain).doFilter(request, response);
+        verifyNoInteractions(userDetailsService);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    /**
+     * Verifies filter proceeds with valid token but subject is null.
      */
     @Test
     void doFilterInternalUsernameNullProceeds() throws ServletException, IOException {
         when(request.getHeader("Authorization")).thenReturn("Bearer token");
-        when(jwtUtil.extractUsername("token")).thenReturn(null);
+        when(jwtUtil.parseToken("token")).thenReturn(new ParsedToken(null, null, null));
         filter.doFilterInternal(request, response, filterChain);
         verify(filterChain).doFilter(request, response);
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
     }
 
     /**
-     * Verifies filter proceeds with valid header, username, but token invalid.
+     * Verifies filter rejects a token whose userId no longer matches the account.
      */
     @Test
-    void doFilterInternalTokenInvalidProceeds() throws ServletException, IOException {
+    void doFilterInternalUserIdMismatchProceeds() throws ServletException, IOException {
         when(request.getHeader("Authorization")).thenReturn("Bearer token");
-        when(jwtUtil.extractUsername("token")).thenReturn("testuser");
-        when(userDetailsService.loadUserByUsername("testuser")).thenReturn(userDetails);
-        when(jwtUtil.validateToken("token")).thenReturn(false);
+        when(jwtUtil.parseToken("token")).thenReturn(new ParsedToken("testuser", UUID.randomUUID(), null));
+        when(userDetailsService.loadAuthenticatedUser("testuser"))
+                .thenReturn(new AuthenticatedUser(UUID.randomUUID(), "testuser"));
         filter.doFilterInternal(request, response, filterChain);
         verify(filterChain).doFilter(request, response);
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
     }
 
     /**
-     * Verifies filter sets authentication for valid token and username.
+     * Verifies filter sets an AuthenticatedUser principal for a valid token, parsing it once.
      */
     @Test
     void doFilterInternalValidTokenSetsAuthentication() throws ServletException, IOException {
+        UUID userId = UUID.randomUUID();
+        AuthenticatedUser principal = new AuthenticatedUser(userId, "testuser");
         when(request.getHeader("Authorization")).thenReturn("Bearer token");
-        when(jwtUtil.extractUsername("token")).thenReturn("testuser");
-        when(userDetailsService.loadUserByUsername("testuser")).thenReturn(userDetails);
-        when(jwtUtil.validateToken("token")).thenReturn(true);
+        when(jwtUtil.parseToken("token")).thenReturn(new ParsedToken("testuser", userId, null));
+        when(userDetailsService.loadAuthenticatedUser("testuser")).thenReturn(principal);
         filter.doFilterInternal(request, response, filterChain);
         verify(filterChain).doFilter(request, response);
+        verify(jwtUtil, times(1)).parseToken("token");
         assertThat(SecurityContextHolder.getContext().getAuthentication())
                 .isInstanceOf(UsernamePasswordAuthenticationToken.class);
         UsernamePasswordAuthenticationToken auth = (UsernamePasswordAuthenticationToken) SecurityContextHolder.getContext().getAuthentication();
-        assertThat(auth.getPrincipal()).isEqualTo(userDetails);
+        assertThat(auth.getPrincipal()).isEqualTo(principal);
+        assertThat(((AuthenticatedUser) auth.getPrincipal()).getUserId()).isEqualTo(userId);
     }
-} 
\ No newline at end of file
+}
@@ -70,4 +70,49 @@ class JwtUtilTest {
         String invalidToken = "invalid.token.value";
         assertThatThrownBy(() -> jwtUtil.extractUserIdFromToken(invalidToken)).isInstanceOf(Exception.class);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Verifies parseToken exposes subject, userId and expiry, and memoizes the result.
+     */
+    @Test
+    void parseTokenReturnsCachedParsedToken() {
+        User user = new User();
+        user.setUsername("testuser");
+        user.setId(UUID.randomUUID());
+        String token = jwtUtil.generateToken(user);
+        ParsedToken parsed = jwtUtil.parseToken(token);
+        assertThat(parsed.getUsername()).isEqualTo("testuser");
+        assertThat(parsed.getUserId()).isEqualTo(user.getId());
+        assertThat(parsed.isExpired(System.currentTimeMillis())).isFalse();
+        assertThat(jwtUtil.parseToken(token)).isSameAs(parsed);
+    }
+
+    /**
+     * Verifies a token with a tampered signature is rejected even after the original was cached.
+     */
+    @Test
+    void parseTokenTamperedSignatureThrows() {
+        User user = new User();
+        user.setUsername("testuser");
+        user.setId(UUID.randomUUID());
+        String token = jwtUtil.generateToken(user);
+        jwtUtil.parseToken(token);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        assertThatThrownBy(() -> jwtUtil.parseToken(tampered)).isInstanceOf(Exception.class);
+    }
+
+    /**
+     * Verifies expired tokens are rejected.
+     */
+    @Test
+    void parseTokenExpiredThrows() throws Exception {
+        Field expField = JwtUtil.class.getDeclaredField("jwtExpirationMs");
+        expField.setAccessible(true);
+        expField.set(jwtUtil, -1000L);
+        User user = new User();
+        user.setUsername("testuser");
+        user.setId(UUID.randomUUID());
+        String token = jwtUtil.generateToken(user);
+        assertThat(jwtUtil.validateToken(token)).isFalse();
+    }
+}
@@ -0,0 +1,76 @@
+package com.studentapp.backend.security;
+
+import com.studentapp.backend.repository.UserRepository;
+import com.studentapp.common.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests that committed user updates and deletes evict cached principals, run against an embedded database.
+ * Each repository call commits on its own, since eviction happens after commit.
+ */
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import({UserCache.class, UserCacheEvictionListener.class, CustomUserDetailsService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserCacheEvictionListenerTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    private final String username = "user-" + UUID.randomUUID();
+
+    /**
+     * Verifies a deleted user stops authenticating as soon as the delete commits.
+     */
+    @Test
+    void deleteEvictsCachedPrincipal() {
+        User user = userRepository.save(newUser(username));
+        assertThat(userDetailsService.loadAuthenticatedUser(username).getUserId()).isEqualTo(user.getId());
+
+        userRepository.delete(user);
+
+        assertThatThrownBy(() -> userDetailsService.loadAuthenticatedUser(username))
+                .isInstanceOf(UsernameNotFoundException.class);
+    }
+
+    /**
+     * Verifies a renamed user is no longer served from the cache under the old username.
+     */
+    @Test
+    void renameEvictsOldUsername() {
+        User user = userRepository.save(newUser(username));
+        userDetailsService.loadAuthenticatedUser(username);
+
+        User renamed = userRepository.findById(user.getId()).orElseThrow();
+        renamed.setUsername(username + "-new");
+        userRepository.save(renamed);
+
+        assertThatThrownBy(() -> userDetailsService.loadAuthenticatedUser(username))
+                .isInstanceOf(UsernameNotFoundException.class);
+        assertThat(userDetailsService.loadAuthenticatedUser(username + "-new").getUserId()).isEqualTo(user.getId());
+        userRepository.delete(renamed);
+    }
+
+    private static User newUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("hash");
+        return user;
+    }
+}
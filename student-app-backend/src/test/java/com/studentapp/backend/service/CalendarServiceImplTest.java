@@ -1,12 +1,15 @@
 package com.studentapp.backend.service;
 
+import com.studentapp.backend.dto.CursorPage;
 import com.studentapp.backend.repository.CalendarRepository;
+import com.studentapp.backend.search.SearchIndex;
 import com.studentapp.common.model.CalendarEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -24,10 +27,14 @@ class CalendarServiceImplTest {
     @Mock
     private CalendarRepository calendarRepository;
 
+    @Mock
+    private SearchIndex searchIndex;
+
     @InjectMocks
     private CalendarServiceImpl service;
 
     private final UUID userId = UUID.randomUUID();
+    private final UUID eventId = UUID.randomUUID();
 
     @BeforeEach
     void setUp() {
@@ -40,6 +47,8 @@ class CalendarServiceImplTest {
     @Test
     void saveEventSetsUserIdAndSaves() {
         CalendarEvent event = new CalendarEvent();
+        // The mocked repository does not generate ids
+        event.setId(eventId);
         when(calendarRepository.save(event)).thenReturn(event);
         CalendarEvent result = service.saveEvent(event, userId);
         assertThat(result).isEqualTo(event);
@@ -54,8 +63,8 @@ class CalendarServiceImplTest {
     void getEventByIdUserIdMatchesReturnsEvent() {
         CalendarEvent event = new CalendarEvent();
         event.setUserId(userId);
-        when(calendarRepository.findById("1")).thenReturn(Optional.of(event));
-        Optional<CalendarEvent> result = service.getEventById("1", userId);
+        when(calendarRepository.findById(eventId)).thenReturn(Optional.of(event));
+        Optional<CalendarEvent> result = service.getEventById(eventId, userId);
         assertThat(result).contains(event);
     }
 
@@ -66,8 +75,8 @@ class CalendarServiceImplTest {
     void getEventByIdUserIdDoesNotMatchReturnsEmpty() {
         CalendarEvent event = new CalendarEvent();
         event.setUserId(UUID.randomUUID());
-        when(calendarRepository.findById("1")).thenReturn(Optional.of(event));
-        Optional<CalendarEvent> result = service.getEventById("1", userId);
+        when(calendarRepository.findById(eventId)).thenReturn(Optional.of(event));
+        Optional<CalendarEvent> result = service.getEventById(eventId, userId);
         assertThat(result).isEmpty();
     }
 
@@ -76,8 +85,8 @@ class CalendarServiceImplTest {
      */
     @Test
     void getEventByIdEventNotFoundReturnsEmpty() {
-        when(calendarRepository.findById("1")).thenReturn(Optional.empty());
-        Optional<CalendarEvent> result = service.getEventById("1", userId);
+        when(calendarRepository.findById(eventId)).thenReturn(Optional.empty());
+        Optional<CalendarEvent> result = service.getEventById(eventId, userId);
         assertThat(result).isEmpty();
     }
 
@@ -93,17 +102,245 @@ class CalendarServiceImplTest {
     }
 
     /**
-     * Verifies getEventsForDate returns events within the date range.
+     * Verifies getEventsPage trims the look-ahead row and returns a cursor that resumes after the last item.
      */
     @Test
-    void getEventsForDateReturnsEvents() {
-        LocalDate date = LocalDate.of(2024, 1, 1);
-        LocalDateTime start = date.atStartOfDay();
-        LocalDateTime end = date.atTime(23, 59, 59);
+    void getEventsPageReturnsCursorForNextPage() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 9, 0);
+        List<CalendarEvent> rows = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            CalendarEvent event = new CalendarEvent();
+            event.setId(new UUID(0, i));
+            event.setStartTime(start.plusHours(i));
+            rows.add(event);
+        }
+        when(calendarRepository.findByUserIdOrderByStartTimeAscIdAsc(userId, PageRequest.of(0, 3))).thenReturn(rows);
+        CursorPage<CalendarEvent> page = service.getEventsPage(userId, null, 2);
+        assertThat(page.getItems()).containsExactly(rows.get(0), rows.get(1));
+        assertThat(page.isHasMore()).isTrue();
+
+        when(calendarRepository.findPageAfter(userId, start.plusHours(1), new UUID(0, 1), PageRequest.of(0, 3)))
+                .thenReturn(List.of(rows.get(2)));
+        CursorPage<CalendarEvent> next = service.getEventsPage(userId, page.getNextCursor(), 2);
+        assertThat(next.getItems()).containsExactly(rows.get(2));
+        assertThat(next.isHasMore()).isFalse();
+        assertThat(next.getNextCursor()).isNull();
+    }
+
+    /**
+     * Ensures getEventsPage rejects a cursor it did not issue.
+     */
+    @Test
+    void getEventsPageWithInvalidCursorThrows() {
+        assertThatThrownBy(() -> service.getEventsPage(userId, "not-a-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Verifies getEventsInRange delegates to the overlap query.
+     */
+    @Test
+    void getEventsInRangeReturnsOverlappingEvents() {
+        LocalDateTime from = LocalDateTime.of(2024, 2, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 3, 1, 0, 0);
         List<CalendarEvent> events = List.of(new CalendarEvent());
-        when(calendarRepository.findAllByUserIdAndStartTimeBetween(userId, start, end)).thenReturn(events);
+        when(calendarRepository.findOverlapping(userId, from, to)).thenReturn(events);
+        assertThat(service.getEventsInRange(userId, from, to)).isEqualTo(events);
+    }
+
+    /**
+     * Verifies getEventsInRange expands recurring series for the window, skips cancelled occurrences and sorts by start.
+     */
+    @Test
+    void getEventsInRangeExpandsRecurringSeries() {
+        LocalDateTime from = LocalDateTime.of(2024, 2, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 2, 15, 0, 0);
+        CalendarEvent lecture = new CalendarEvent("Lecture", null, LocalDateTime.of(2024, 1, 8, 10, 0),
+                LocalDateTime.of(2024, 1, 8, 12, 0), null);
+        lecture.setId(eventId);
+        lecture.setRecurrenceRule("FREQ=WEEKLY;BYDAY=MO,WE");
+        lecture.setRecurrenceExceptions("2024-02-07T10:00");
+        CalendarEvent exam = new CalendarEvent("Exam", null, LocalDateTime.of(2024, 2, 6, 9, 0),
+                LocalDateTime.of(2024, 2, 6, 11, 0), null);
+        when(calendarRepository.findOverlapping(userId, from, to)).thenReturn(List.of(exam));
+        when(calendarRepository.findSeriesOverlapping(userId, from, to)).thenReturn(List.of(lecture));
+
+        List<CalendarEvent> result = service.getEventsInRange(userId, from, to);
+
+        assertThat(result).extracting(CalendarEvent::getStartTime).containsExactly(
+                LocalDateTime.of(2024, 2, 5, 10, 0), LocalDateTime.of(2024, 2, 6, 9, 0),
+                LocalDateTime.of(2024, 2, 12, 10, 0), LocalDateTime.of(2024, 2, 14, 10, 0));
+        assertThat(result.get(0).getId()).isEqualTo(eventId);
+        assertThat(result.get(0).getEndTime()).isEqualTo(LocalDateTime.of(2024, 2, 5, 12, 0));
+        // The stored series row itself is untouched
+        assertThat(lecture.getStartTime()).isEqualTo(LocalDateTime.of(2024, 1, 8, 10, 0));
+    }
+
+    /**
+     * Verifies an occurrence ending exactly at the window start is left to the previous day, while a
+     * zero-length occurrence at the window start is kept.
+     */
+    @Test
+    void expandSkipsOccurrenceEndingAtWindowStart() {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 9, 0, 0);
+        LocalDateTime to = from.plusDays(1);
+        CalendarEvent lateLab = new CalendarEvent("Late lab", null, LocalDateTime.of(2024, 1, 1, 22, 0),
+                LocalDateTime.of(2024, 1, 2, 0, 0), null);
+        lateLab.setRecurrenceRule("FREQ=DAILY");
+        CalendarEvent reminder = new CalendarEvent("Reminder", null, LocalDateTime.of(2024, 1, 1, 0, 0),
+                LocalDateTime.of(2024, 1, 1, 0, 0), null);
+        reminder.setRecurrenceRule("FREQ=DAILY");
+        RecurrenceExpander expander = new RecurrenceExpander();
+
+        assertThat(expander.expand(lateLab, from, to)).extracting(CalendarEvent::getStartTime)
+                .containsExactly(LocalDateTime.of(2024, 1, 9, 22, 0));
+        assertThat(expander.expand(reminder, from, to)).extracting(CalendarEvent::getStartTime)
+                .containsExactly(from);
+    }
+
+    /**
+     * Verifies saveEvent records when a bounded series ends and rejects invalid recurrences.
+     */
+    @Test
+    void saveEventDerivesRecurrenceEnd() {
+        CalendarEvent event = new CalendarEvent("Lecture", null, LocalDateTime.of(2024, 1, 8, 10, 0),
+                LocalDateTime.of(2024, 1, 8, 12, 0), null);
+        event.setId(eventId);
+        event.setRecurrenceRule("FREQ=WEEKLY;COUNT=3");
+        when(calendarRepository.save(event)).thenReturn(event);
+        service.saveEvent(event, userId);
+        assertThat(event.getRecurrenceEnd()).isEqualTo(LocalDateTime.of(2024, 1, 22, 12, 0));
+
+        event.setRecurrenceRule("FREQ=HOURLY");
+        assertThatThrownBy(() -> service.saveEvent(event, userId)).isInstanceOf(IllegalArgumentException.class);
+        event.setRecurrenceRule("FREQ=DAILY");
+        event.setRecurrenceExceptions("next tuesday");
+        assertThatThrownBy(() -> service.saveEvent(event, userId)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Ensures getEventsInRange rejects a range that ends before or when it starts.
+     */
+    @Test
+    void getEventsInRangeWithEmptyRangeThrows() {
+        LocalDateTime from = LocalDateTime.of(2024, 2, 1, 0, 0);
+        assertThatThrownBy(() -> service.getEventsInRange(userId, from, from))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.getEventsInRange(userId, from, from.minusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(calendarRepository);
+    }
+
+    /**
+     * Verifies getEventsForDate queries the whole day as a range and includes occurrences of recurring series.
+     */
+    @Test
+    void getEventsForDateReturnsEventsAndOccurrences() {
+        LocalDate date = LocalDate.of(2024, 2, 5);
+        LocalDateTime start = date.atStartOfDay();
+        LocalDateTime end = LocalDate.of(2024, 2, 6).atStartOfDay();
+        CalendarEvent exam = new CalendarEvent("Exam", null, LocalDateTime.of(2024, 2, 5, 9, 0),
+                LocalDateTime.of(2024, 2, 5, 10, 0), null);
+        CalendarEvent lecture = new CalendarEvent("Lecture", null, LocalDateTime.of(2024, 1, 8, 10, 0),
+                LocalDateTime.of(2024, 1, 8, 12, 0), null);
+        lecture.setId(eventId);
+        lecture.setRecurrenceRule("FREQ=WEEKLY;BYDAY=MO");
+        when(calendarRepository.findOverlapping(userId, start, end)).thenReturn(List.of(exam));
+        when(calendarRepository.findSeriesOverlapping(userId, start, end)).thenReturn(List.of(lecture));
+
         List<CalendarEvent> result = service.getEventsForDate(date, userId);
-        assertThat(result).isEqualTo(events);
+
+        assertThat(result).extracting(CalendarEvent::getStartTime)
+                .containsExactly(LocalDateTime.of(2024, 2, 5, 9, 0), LocalDateTime.of(2024, 2, 5, 10, 0));
+        assertThat(result.get(1).getOccurrenceStart()).isEqualTo(LocalDateTime.of(2024, 2, 5, 10, 0));
+    }
+
+    /**
+     * Verifies saving an edited occurrence keeps the series' first date and shifts it by the occurrence's move.
+     */
+    @Test
+    void saveEventFromOccurrenceKeepsSeriesStart() {
+        CalendarEvent series = new CalendarEvent("Lecture", null, LocalDateTime.of(2024, 1, 8, 10, 0),
+                LocalDateTime.of(2024, 1, 8, 12, 0), null);
+        series.setId(eventId);
+        series.setUserId(userId);
+        series.setRecurrenceRule("FREQ=WEEKLY;BYDAY=MO");
+        when(calendarRepository.findById(eventId)).thenReturn(Optional.of(series));
+        CalendarEvent occurrence = new CalendarEvent("Renamed lecture", null, LocalDateTime.of(2024, 2, 5, 11, 0),
+                LocalDateTime.of(2024, 2, 5, 12, 30), null);
+        occurrence.setId(eventId);
+        occurrence.setRecurrenceRule("FREQ=WEEKLY;BYDAY=MO");
+        occurrence.setOccurrenceStart(LocalDateTime.of(2024, 2, 5, 10, 0));
+        when(calendarRepository.save(occurrence)).thenReturn(occurrence);
+
+        service.saveEvent(occurrence, userId);
+
+        assertThat(occurrence.getStartTime()).isEqualTo(LocalDateTime.of(2024, 1, 8, 11, 0));
+        assertThat(occurrence.getEndTime()).isEqualTo(LocalDateTime.of(2024, 1, 8, 12, 30));
+        assertThat(occurrence.getOccurrenceStart()).isNull();
+        verify(calendarRepository).save(occurrence);
+    }
+
+    /**
+     * Verifies moving a series through an occurrence moves its cancelled occurrences along with it.
+     */
+    @Test
+    void saveEventFromOccurrenceShiftsExceptions() {
+        CalendarEvent series = new CalendarEvent("Lecture", null, LocalDateTime.of(2024, 1, 8, 10, 0),
+                LocalDateTime.of(2024, 1, 8, 12, 0), null);
+        series.setId(eventId);
+        series.setUserId(userId);
+        series.setRecurrenceRule("FREQ=WEEKLY;BYDAY=MO");
+        series.setRecurrenceExceptions("2024-01-15T10:00,2024-01-22T10:00");
+        when(calendarRepository.findById(eventId)).thenReturn(Optional.of(series));
+        CalendarEvent occurrence = new CalendarEvent("Lecture", null, LocalDateTime.of(2024, 2, 6, 9, 0),
+                LocalDateTime.of(2024, 2, 6, 11, 0), null);
+        occurrence.setId(eventId);
+        occurrence.setRecurrenceRule("FREQ=WEEKLY;BYDAY=TU");
+        occurrence.setRecurrenceExceptions(series.getRecurrenceExceptions());
+        occurrence.setOccurrenceStart(LocalDateTime.of(2024, 2, 5, 10, 0));
+        when(calendarRepository.save(occurrence)).thenReturn(occurrence);
+
+        service.saveEvent(occurrence, userId);
+
+        assertThat(occurrence.getStartTime()).isEqualTo(LocalDateTime.of(2024, 1, 9, 9, 0));
+        assertThat(occurrence.getRecurrenceExceptions()).isEqualTo("2024-01-16T09:00,2024-01-23T09:00");
+        assertThat(new RecurrenceExpander(0).expand(occurrence, LocalDateTime.of(2024, 1, 9, 0, 0),
+                LocalDateTime.of(2024, 1, 31, 0, 0))).extracting(CalendarEvent::getStartTime)
+                .containsExactly(LocalDateTime.of(2024, 1, 9, 9, 0), LocalDateTime.of(2024, 1, 30, 9, 0));
+    }
+
+    /**
+     * Verifies deleting one occurrence of a series records it as an exception instead of deleting the series.
+     */
+    @Test
+    void deleteOccurrenceAddsExceptionAndKeepsSeries() {
+        CalendarEvent series = new CalendarEvent("Lecture", null, LocalDateTime.of(2024, 1, 8, 10, 0),
+                LocalDateTime.of(2024, 1, 8, 12, 0), null);
+        series.setId(eventId);
+        series.setUserId(userId);
+        series.setRecurrenceRule("FREQ=WEEKLY;BYDAY=MO");
+        series.setRecurrenceExceptions("2024-01-15T10:00");
+        when(calendarRepository.findById(eventId)).thenReturn(Optional.of(series));
+
+        service.deleteOccurrence(eventId, LocalDateTime.of(2024, 2, 5, 10, 0), userId);
+        service.deleteOccurrence(eventId, LocalDateTime.of(2024, 2, 5, 10, 0), userId);
+
+        assertThat(series.getRecurrenceExceptions()).isEqualTo("2024-01-15T10:00,2024-02-05T10:00");
+        verify(calendarRepository, times(2)).save(series);
+        verify(calendarRepository, never()).deleteById(any());
+    }
+
+    /**
+     * Verifies deleting an occurrence of an event without a rule deletes the event.
+     */
+    @Test
+    void deleteOccurrenceOfOneOffEventDeletesIt() {
+        CalendarEvent event = new CalendarEvent();
+        event.setUserId(userId);
+        when(calendarRepository.findById(eventId)).thenReturn(Optional.of(event));
+        service.deleteOccurrence(eventId, LocalDateTime.of(2024, 2, 5, 10, 0), userId);
+        verify(calendarRepository).deleteById(eventId);
     }
 
     /**
@@ -113,9 +350,9 @@ class CalendarServiceImplTest {
     void deleteEventUserIdMatchesDeletes() {
         CalendarEvent event = new CalendarEvent();
         event.setUserId(userId);
-        when(calendarRepository.findById("1")).thenReturn(Optional.of(event));
-        service.deleteEvent("1", userId);
-        verify(calendarRepository).deleteById("1");
+        when(calendarRepository.findById(eventId)).thenReturn(Optional.of(event));
+        service.deleteEvent(eventId, userId);
+        verify(calendarRepository).deleteById(eventId);
     }
 
     /**
@@ -125,8 +362,8 @@ class CalendarServiceImplTest {
     void deleteEventUserIdDoesNotMatchDoesNothing() {
         CalendarEvent event = new CalendarEvent();
         event.setUserId(UUID.randomUUID());
-        when(calendarRepository.findById("1")).thenReturn(Optional.of(event));
-        service.deleteEvent("1", userId);
+        when(calendarRepository.findById(eventId)).thenReturn(Optional.of(event));
+        service.deleteEvent(eventId, userId);
         verify(calendarRepository, never()).deleteById(any());
     }
 
@@ -135,8 +372,8 @@ class CalendarServiceImplTest {
      */
     @Test
     void deleteEventEventNotFoundDoesNothing() {
-        when(calendarRepository.findById("1")).thenReturn(Optional.empty());
-        service.deleteEvent("1", userId);
+        when(calendarRepository.findById(eventId)).thenReturn(Optional.empty());
+        service.deleteEvent(eventId, userId);
         verify(calendarRepository, never()).deleteById(any());
     }
 
@@ -0,0 +1,105 @@
+package com.studentapp.backend.service;
+
+import com.studentapp.backend.repository.BudgetLimitRepository;
+import com.studentapp.backend.repository.ExpenseCategoryRepository;
+import com.studentapp.backend.search.SearchIndex;
+import com.studentapp.common.model.BudgetLimit;
+import com.studentapp.common.model.Expense;
+import com.studentapp.common.model.ExpenseCategory;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Query-count regression tests for FinanceServiceImpl analytics, using Hibernate statistics
+ * against an embedded database.
+ */
+@DataJpaTest(properties = {
+        // PostgreSQL mode runs the rollup's INSERT ... ON CONFLICT DO NOTHING
+        "spring.test.database.replace=none",
+        "spring.datasource.url=jdbc:h2:mem:finance_query_count;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.sql.init.mode=never",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({FinanceServiceImpl.class, SearchIndex.class})
+class FinanceServiceImplQueryCountTest {
+
+    private static final int CATEGORIES = 15;
+
+    @Autowired
+    private FinanceService financeService;
+
+    @Autowired
+    private ExpenseCategoryRepository categoryRepository;
+
+    @Autowired
+    private BudgetLimitRepository budgetLimitRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final UUID userId = UUID.randomUUID();
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < CATEGORIES; i++) {
+            ExpenseCategory category = categoryRepository.save(
+                    new ExpenseCategory(userId, "Category " + i, null, "#FF6B6B", "tag"));
+            budgetLimitRepository.save(new BudgetLimit(userId, category, today.getMonthValue(), today.getYear(),
+                    new BigDecimal("100.00")));
+            // Every other category is over its 80% threshold
+            String amount = i % 2 == 0 ? "90.00" : "10.00";
+            financeService.saveExpense(new Expense(userId, category, "Expense " + i, new BigDecimal(amount), today.withDayOfMonth(1)), userId);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Verifies getBudgetAlerts evaluates every budget with a single statement, regardless of category count.
+     */
+    @Test
+    void getBudgetAlertsUsesOneQuery() {
+        List<Map<String, Object>> alerts = financeService.getBudgetAlerts(userId);
+
+        assertThat(alerts).hasSize((CATEGORIES + 1) / 2);
+        assertThat(alerts).allSatisfy(alert -> {
+            assertThat((BigDecimal) alert.get("spent")).isEqualByComparingTo("90.00");
+            assertThat((BigDecimal) alert.get("percentageUsed")).isEqualByComparingTo("90.00");
+            assertThat((String) alert.get("categoryName")).startsWith("Category ");
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    /**
+     * Verifies getSpendingTrends issues one statement for a 24-month window.
+     */
+    @Test
+    void getSpendingTrendsUsesOneQuery() {
+        financeService.getSpendingTrends(userId, 24, true);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
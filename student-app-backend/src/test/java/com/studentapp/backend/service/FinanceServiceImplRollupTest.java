@@ -0,0 +1,217 @@
+package com.studentapp.backend.service;
+
+import com.studentapp.backend.dto.CursorPage;
+import com.studentapp.backend.repository.ExpenseCategoryRepository;
+import com.studentapp.backend.repository.ExpenseRepository;
+import com.studentapp.backend.repository.MonthlyCategorySpendRepository;
+import com.studentapp.backend.search.SearchIndex;
+import com.studentapp.common.model.Expense;
+import com.studentapp.common.model.ExpenseCategory;
+import com.studentapp.common.model.MonthlyCategorySpend;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests for the monthly_category_spend rollup maintained by FinanceServiceImpl expense writes,
+ * run against an embedded database.
+ */
+@DataJpaTest(properties = {
+        // PostgreSQL mode runs the rollup's INSERT ... ON CONFLICT DO NOTHING
+        "spring.test.database.replace=none",
+        "spring.datasource.url=jdbc:h2:mem:rollup;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.sql.init.mode=never",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        // The application pins the PostgreSQL dialect, whose INSERT ... SELECT aliasing H2 rejects
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+@Import({FinanceServiceImpl.class, SearchIndex.class})
+class FinanceServiceImplRollupTest {
+
+    @Autowired
+    private FinanceService financeService;
+
+    @Autowired
+    private ExpenseCategoryRepository categoryRepository;
+
+    @Autowired
+    private MonthlyCategorySpendRepository monthlySpendRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final UUID userId = UUID.randomUUID();
+    private ExpenseCategory food;
+    private ExpenseCategory transport;
+
+    @BeforeEach
+    void setUp() {
+        food = categoryRepository.save(new ExpenseCategory(userId, "Food", null, "#FF6B6B", "food"));
+        transport = categoryRepository.save(new ExpenseCategory(userId, "Transport", null, "#4ECDC4", "bus"));
+    }
+
+    /**
+     * Verifies new expenses are added to their (category, month) bucket and served by the analytics.
+     */
+    @Test
+    void saveExpenseAddsToMonthlyBucket() {
+        save(food, "12.50", LocalDate.of(2024, 3, 2));
+        save(food, "7.50", LocalDate.of(2024, 3, 20));
+        save(transport, "30.00", LocalDate.of(2024, 3, 5));
+
+        assertThat(financeService.getTotalExpensesByMonth(userId, 3, 2024)).isEqualByComparingTo("50.00");
+        Map<String, BigDecimal> byCategory = financeService.getCategoryWiseExpenses(userId, 3, 2024);
+        assertThat(byCategory.get("Food")).isEqualByComparingTo("20.00");
+        assertThat(byCategory.get("Transport")).isEqualByComparingTo("30.00");
+    }
+
+    /**
+     * Verifies two first writes to the same bucket, each from a fresh persistence context, accumulate into one bucket.
+     */
+    @Test
+    void firstWritesToSameBucketAccumulate() {
+        save(food, "4.00", LocalDate.of(2024, 5, 1));
+        entityManager.flush();
+        entityManager.clear();
+        save(food, "6.00", LocalDate.of(2024, 5, 2));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(buckets()).filteredOn(bucket -> bucket.contains(food.getId().toString()))
+                .containsExactly("2024-5 " + food.getId() + " 10.00 x2");
+    }
+
+    /**
+     * Verifies the native insert creates a missing bucket and leaves an existing one untouched, so a
+     * writer that loses the race to create the bucket falls back to adding its delta.
+     */
+    @Test
+    void insertIfAbsentSkipsExistingBucket() {
+        int created = monthlySpendRepository.insertIfAbsent(userId, food.getId(), 2024, 7, new BigDecimal("9.00"), 1L);
+        int raced = monthlySpendRepository.insertIfAbsent(userId, food.getId(), 2024, 7, new BigDecimal("4.00"), 1L);
+        monthlySpendRepository.applyDelta(userId, food.getId(), 2024, 7, new BigDecimal("4.00"), 1L);
+        entityManager.clear();
+
+        assertThat(created).isEqualTo(1);
+        assertThat(raced).isZero();
+        assertThat(buckets()).containsExactly("2024-7 " + food.getId() + " 13.00 x2");
+    }
+
+    /**
+     * Verifies an update that changes amount, date and category moves the expense between buckets.
+     */
+    @Test
+    void saveExpenseUpdateMovesBetweenBuckets() {
+        Expense expense = save(food, "20.00", LocalDate.of(2024, 3, 31));
+        entityManager.flush();
+        entityManager.clear();
+
+        Expense edited = new Expense(userId, transport, "Edited", new BigDecimal("25.00"), LocalDate.of(2024, 4, 1));
+        edited.setId(expense.getId());
+        financeService.saveExpense(edited, userId);
+
+        assertThat(financeService.getTotalExpensesByMonth(userId, 3, 2024)).isEqualByComparingTo("0.00");
+        assertThat(financeService.getCategoryWiseExpenses(userId, 3, 2024)).isEmpty();
+        assertThat(financeService.getCategoryWiseExpenses(userId, 4, 2024))
+                .containsOnlyKeys("Transport")
+                .hasEntrySatisfying("Transport", amount -> assertThat(amount).isEqualByComparingTo("25.00"));
+    }
+
+    /**
+     * Verifies deleting an expense subtracts it from its bucket.
+     */
+    @Test
+    void deleteExpenseSubtractsFromBucket() {
+        Expense kept = save(food, "10.00", LocalDate.of(2024, 3, 1));
+        Expense removed = save(food, "15.00", LocalDate.of(2024, 3, 2));
+
+        financeService.deleteExpense(removed.getId(), userId);
+
+        assertThat(financeService.getTotalExpensesByMonth(userId, 3, 2024)).isEqualByComparingTo("10.00");
+        assertThat(kept.getId()).isNotNull();
+    }
+
+    /**
+     * Verifies a rebuild from raw expenses reproduces the incrementally maintained buckets.
+     */
+    @Test
+    void rebuildMonthlySpendMatchesIncrementalRollup() {
+        save(food, "10.00", LocalDate.of(2023, 12, 31));
+        save(food, "5.00", LocalDate.of(2024, 1, 1));
+        save(transport, "8.00", LocalDate.of(2024, 1, 15));
+        Expense moved = save(transport, "3.00", LocalDate.of(2024, 1, 20));
+        moved.setCategory(food);
+        financeService.saveExpense(moved, userId);
+        entityManager.flush();
+        entityManager.clear();
+        List<String> incremental = buckets();
+
+        int rebuilt = financeService.rebuildMonthlySpend(userId);
+        entityManager.clear();
+
+        assertThat(rebuilt).isEqualTo(3);
+        assertThat(buckets()).containsExactlyElementsOf(incremental);
+    }
+
+    /**
+     * Verifies getExpensesPage walks every expense exactly once in (date desc, id desc) order when dates tie.
+     */
+    @Test
+    void getExpensesPageVisitsTiedDatesOnce() {
+        for (int i = 0; i < 7; i++) {
+            // Three expenses share each date, so most page boundaries fall inside a tie
+            save(i % 2 == 0 ? food : transport, "1.00", LocalDate.of(2024, 6, 1 + i / 3));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        List<UUID> expected = expenseRepository.findByUserIdOrderByExpenseDateDescIdDesc(userId, PageRequest.of(0, 100))
+                .stream().map(Expense::getId).toList();
+
+        List<UUID> visited = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<Expense> page = financeService.getExpensesPage(userId, cursor, 2);
+            page.getItems().forEach(expense -> visited.add(expense.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(expected).hasSize(7);
+        assertThat(visited).containsExactlyElementsOf(expected);
+    }
+
+    private Expense save(ExpenseCategory category, String amount, LocalDate date) {
+        return financeService.saveExpense(new Expense(userId, category, "Expense", new BigDecimal(amount), date), userId);
+    }
+
+    // Non-empty buckets as "year-month category amount xcount", in a stable order
+    private List<String> buckets() {
+        return monthlySpendRepository.findAll().stream()
+                .filter(bucket -> bucket.getExpenseCount() > 0)
+                .sorted(Comparator.comparing(MonthlyCategorySpend::getSpendYear)
+                        .thenComparing(MonthlyCategorySpend::getSpendMonth)
+                        .thenComparing(bucket -> bucket.getCategoryId().toString()))
+                .map(bucket -> bucket.getSpendYear() + "-" + bucket.getSpendMonth() + " " + bucket.getCategoryId()
+                        + " " + bucket.getTotalAmount().setScale(2) + " x" + bucket.getExpenseCount())
+                .toList();
+    }
+}
@@ -0,0 +1,85 @@
+package com.studentapp.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for RecurrenceRule parsing and occurrence generation.
+ */
+class RecurrenceRuleTest {
+
+    // A Monday
+    private static final LocalDateTime LECTURE = LocalDateTime.of(2024, 1, 8, 10, 0);
+
+    /**
+     * Verifies a weekly rule with BYDAY yields every listed day up to and including UNTIL.
+     */
+    @Test
+    void weeklyByDayUntilCoversSemester() {
+        RecurrenceRule rule = RecurrenceRule.parse("RRULE:FREQ=WEEKLY;BYDAY=MO,WE;UNTIL=20240424");
+        List<LocalDateTime> starts = rule.startsBetween(LECTURE, LECTURE, LocalDateTime.of(2025, 1, 1, 0, 0));
+
+        assertThat(starts).hasSize(32);
+        assertThat(starts.get(1)).isEqualTo(LocalDateTime.of(2024, 1, 10, 10, 0));
+        assertThat(starts.get(starts.size() - 1)).isEqualTo(LocalDateTime.of(2024, 4, 24, 10, 0));
+    }
+
+    /**
+     * Verifies a window late in an unbounded series gives the same occurrences as expanding from the start.
+     */
+    @Test
+    void windowSkipsWholePeriodsBeforeIt() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=DAILY;INTERVAL=3");
+        LocalDateTime from = LocalDateTime.of(2024, 3, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 3, 15, 0, 0);
+
+        List<LocalDateTime> everything = rule.startsBetween(LECTURE, LECTURE, to);
+        assertThat(rule.startsBetween(LECTURE, from, to))
+                .isEqualTo(everything.stream().filter(start -> !start.isBefore(from)).toList())
+                .first().isEqualTo(LocalDateTime.of(2024, 3, 2, 10, 0));
+    }
+
+    /**
+     * Verifies COUNT limits the series and lastStart finds its final occurrence.
+     */
+    @Test
+    void countLimitsSeries() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=2;COUNT=4");
+
+        assertThat(rule.startsBetween(LECTURE, LocalDateTime.of(2024, 1, 20, 0, 0), LocalDateTime.of(2025, 1, 1, 0, 0)))
+                .containsExactly(LocalDateTime.of(2024, 1, 22, 10, 0), LocalDateTime.of(2024, 2, 5, 10, 0),
+                        LocalDateTime.of(2024, 2, 19, 10, 0));
+        assertThat(rule.lastStart(LECTURE)).isEqualTo(LocalDateTime.of(2024, 2, 19, 10, 0));
+        assertThat(RecurrenceRule.parse("FREQ=DAILY").lastStart(LECTURE)).isNull();
+    }
+
+    /**
+     * Verifies a monthly rule skips months without the start day instead of clamping.
+     */
+    @Test
+    void monthlySkipsShortMonths() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 31, 18, 0);
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=MONTHLY;COUNT=3");
+
+        assertThat(rule.startsBetween(start, start, LocalDateTime.of(2025, 1, 1, 0, 0)))
+                .containsExactly(start, LocalDateTime.of(2024, 3, 31, 18, 0), LocalDateTime.of(2024, 5, 31, 18, 0));
+    }
+
+    /**
+     * Ensures malformed and unsupported rules are rejected.
+     */
+    @Test
+    void parseRejectsInvalidRules() {
+        assertThatThrownBy(() -> RecurrenceRule.parse("INTERVAL=2")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=YEARLY")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=DAILY;BYDAY=MO")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=XX")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=WEEKLY;COUNT=3;UNTIL=20240101")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=0")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=WEEKLY;UNTIL=tomorrow")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
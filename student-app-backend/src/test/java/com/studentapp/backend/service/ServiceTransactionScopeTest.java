@@ -0,0 +1,130 @@
+package com.studentapp.backend.service;
+
+import com.studentapp.backend.repository.ExpenseCategoryRepository;
+import com.studentapp.backend.repository.TaskColumnRepository;
+import com.studentapp.backend.repository.TaskRepository;
+import com.studentapp.backend.search.SearchIndex;
+import com.studentapp.common.model.Expense;
+import com.studentapp.common.model.ExpenseCategory;
+import com.studentapp.common.model.Task;
+import com.studentapp.common.model.Task.Priority;
+import com.studentapp.common.model.TaskColumn;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests for the transaction boundaries of TaskServiceImpl and FinanceServiceImpl against an
+ * embedded database. Each service call runs in its own transaction, as from a controller:
+ * reads must not flush, and writes must still commit their changes.
+ */
+@DataJpaTest(properties = {
+        // PostgreSQL mode runs the rollup's INSERT ... ON CONFLICT DO NOTHING
+        "spring.test.database.replace=none",
+        "spring.datasource.url=jdbc:h2:mem:transaction_scope;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.sql.init.mode=never",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({TaskServiceImpl.class, FinanceServiceImpl.class, SearchIndex.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ServiceTransactionScopeTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private FinanceService financeService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskColumnRepository columnRepository;
+
+    @Autowired
+    private ExpenseCategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final UUID userId = UUID.randomUUID();
+    private TaskColumn todo;
+    private TaskColumn done;
+    private ExpenseCategory category;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        todo = columnRepository.save(new TaskColumn(userId, "To Do", "#FF6B6B", 1024));
+        done = columnRepository.save(new TaskColumn(userId, "Done", "#4ECDC4", 2048));
+        for (int i = 0; i < 5; i++) {
+            taskService.saveTask(new Task(userId, todo, "Task " + i, Priority.MEDIUM), userId);
+        }
+        category = categoryRepository.save(new ExpenseCategory(userId, "Food", null, "#FF6B6B", "tag"));
+        financeService.saveExpense(new Expense(userId, category, "Lunch", new BigDecimal("12.50"), LocalDate.now()), userId);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Verifies the task board reads load their entities without flushing the session.
+     */
+    @Test
+    void taskBoardReadsDoNotFlush() {
+        assertThat(taskService.getAllColumns(userId)).hasSize(2);
+        assertThat(taskService.getAllTasks(userId)).hasSize(5);
+        assertThat(taskService.getTaskStatistics(userId)).containsEntry("totalTasks", 5L);
+
+        assertThat(statistics.getEntityLoadCount()).isPositive();
+        assertThat(statistics.getFlushCount()).isZero();
+    }
+
+    /**
+     * Verifies the finance dashboard reads load their entities without flushing the session.
+     */
+    @Test
+    void financeDashboardReadsDoNotFlush() {
+        assertThat(financeService.getAllExpenses(userId)).hasSize(1);
+        assertThat(financeService.getActiveCategories(userId)).hasSize(1);
+        assertThat(financeService.getBudgetAnalysis(userId, LocalDate.now().getMonthValue(), LocalDate.now().getYear()))
+                .containsEntry("totalSpent", new BigDecimal("12.50"));
+        assertThat(financeService.getBudgetAlerts(userId)).isEmpty();
+
+        assertThat(statistics.getFlushCount()).isZero();
+    }
+
+    /**
+     * Verifies writes that rely on dirty checking of loaded entities still reach the database.
+     */
+    @Test
+    void writesCommitDirtyEntities() {
+        List<UUID> taskIds = taskService.getAllTasks(userId).stream().map(Task::getId).toList();
+
+        assertThat(taskService.moveMultipleTasks(taskIds, done.getId(), userId)).isEqualTo(5);
+        financeService.deleteCategory(category.getId(), userId);
+
+        assertThat(taskRepository.findByUserIdAndColumn_IdOrderByPositionAsc(userId, done.getId())).hasSize(5);
+        assertThat(categoryRepository.findById(category.getId())).get()
+                .extracting(ExpenseCategory::getIsActive).isEqualTo(false);
+        assertThat(statistics.getFlushCount()).isPositive();
+    }
+}
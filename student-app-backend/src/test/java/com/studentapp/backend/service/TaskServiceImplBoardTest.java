@@ -0,0 +1,130 @@
+package com.studentapp.backend.service;
+
+import com.studentapp.backend.dto.TaskBoardDto;
+import com.studentapp.backend.dto.TaskDto;
+import com.studentapp.backend.repository.TaskColumnRepository;
+import com.studentapp.backend.repository.TaskRepository;
+import com.studentapp.backend.search.SearchIndex;
+import com.studentapp.common.model.Task;
+import com.studentapp.common.model.Task.Priority;
+import com.studentapp.common.model.TaskColumn;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests for the TaskServiceImpl board snapshot against an embedded database: contents,
+ * statement counts via Hibernate statistics, and ETag revalidation.
+ */
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({TaskServiceImpl.class, SearchIndex.class})
+class TaskServiceImplBoardTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskColumnRepository columnRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final UUID userId = UUID.randomUUID();
+    private TaskColumn todo;
+    private Task essay;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        todo = columnRepository.save(new TaskColumn(userId, "To Do", "#FF6B6B", 2048));
+        TaskColumn done = new TaskColumn(userId, "Done", "#4ECDC4", 4096);
+        done.setTerminal(true);
+        columnRepository.save(done);
+        columnRepository.save(new TaskColumn(userId, "Backlog", "#CCCCCC", 1024));
+        essay = saveTask(todo, "Essay", Priority.HIGH, 2048, LocalDateTime.now().minusDays(1));
+        saveTask(todo, "Reading", Priority.LOW, 1024, LocalDateTime.now().plusDays(3));
+        saveTask(done, "Lab report", Priority.HIGH, 1024, null);
+        TaskColumn otherColumn = columnRepository.save(new TaskColumn(UUID.randomUUID(), "To Do", "#FF6B6B", 1024));
+        saveTask(otherColumn, "Not mine", Priority.MEDIUM, 1024, null);
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Verifies the board lists columns and their tasks in position order with all statistics, using two statements.
+     */
+    @Test
+    void getBoardLoadsColumnsTasksAndStatisticsInTwoQueries() {
+        TaskBoardDto board = taskService.getBoard(userId, null);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(board.isModified()).isTrue();
+        assertThat(board.getEtag()).startsWith("\"").endsWith("\"");
+        assertThat(board.getColumns()).extracting(TaskBoardDto.Column::getTitle)
+                .containsExactly("Backlog", "To Do", "Done");
+        assertThat(board.getColumns().get(0).getTasks()).isEmpty();
+        assertThat(board.getColumns().get(1).getTasks()).extracting(TaskDto::getTitle)
+                .containsExactly("Reading", "Essay");
+        assertThat(board.getStatistics()).isEqualTo(Map.of("totalTasks", 3L, "completedTasks", 1L, "overdueTasks", 1L));
+        assertThat(board.getCountByPriority()).isEqualTo(Map.of(Priority.HIGH, 2L, Priority.LOW, 1L));
+        assertThat(board.getCountByStatus()).isEqualTo(Map.of("To Do", 2L, "Done", 1L));
+    }
+
+    /**
+     * Verifies the current ETag is answered with a single statement and that task and column edits change it.
+     */
+    @Test
+    void getBoardWithCurrentEtagIsNotModifiedUntilTheBoardChanges() {
+        String etag = taskService.getBoard(userId, null).getEtag();
+        statistics.clear();
+
+        TaskBoardDto unchanged = taskService.getBoard(userId, "W/\"other\", " + etag);
+        assertThat(unchanged.isModified()).isFalse();
+        assertThat(unchanged.getEtag()).isEqualTo(etag);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        Task task = taskRepository.findById(essay.getId()).orElseThrow();
+        task.setPriority(Priority.LOW);
+        entityManager.flush();
+        String afterTaskEdit = taskService.getBoard(userId, etag).getEtag();
+        assertThat(afterTaskEdit).isNotEqualTo(etag);
+
+        TaskColumn column = columnRepository.findById(todo.getId()).orElseThrow();
+        column.setTitle("Doing");
+        entityManager.flush();
+        TaskBoardDto afterColumnEdit = taskService.getBoard(userId, afterTaskEdit);
+        assertThat(afterColumnEdit.isModified()).isTrue();
+        assertThat(afterColumnEdit.getEtag()).isNotEqualTo(afterTaskEdit);
+    }
+
+    private Task saveTask(TaskColumn column, String title, Priority priority, int position, LocalDateTime dueDate) {
+        Task task = new Task(column.getUserId(), column, title, priority);
+        task.setPosition(position);
+        task.setDueDate(dueDate);
+        if (Boolean.TRUE.equals(column.getTerminal())) {
+            task.setCompletedAt(LocalDateTime.now());
+        }
+        return taskRepository.save(task);
+    }
+}
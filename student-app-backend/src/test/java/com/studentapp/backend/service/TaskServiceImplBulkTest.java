@@ -0,0 +1,142 @@
+package com.studentapp.backend.service;
+
+import com.studentapp.backend.repository.TaskAttachmentRepository;
+import com.studentapp.backend.repository.TaskColumnRepository;
+import com.studentapp.backend.repository.TaskRepository;
+import com.studentapp.backend.search.SearchIndex;
+import com.studentapp.common.model.Task;
+import com.studentapp.common.model.Task.Priority;
+import com.studentapp.common.model.TaskAttachment;
+import com.studentapp.common.model.TaskColumn;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests for TaskServiceImpl bulk operations against an embedded database, including
+ * ownership filtering and statement counts via Hibernate statistics.
+ */
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({TaskServiceImpl.class, SearchIndex.class})
+class TaskServiceImplBulkTest {
+
+    private static final int TASKS = 100;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskColumnRepository columnRepository;
+
+    @Autowired
+    private TaskAttachmentRepository attachmentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID otherUserId = UUID.randomUUID();
+    private TaskColumn todo;
+    private TaskColumn done;
+    private Task otherUsersTask;
+    private final List<UUID> taskIds = new ArrayList<>();
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        todo = columnRepository.save(new TaskColumn(userId, "To Do", "#FF6B6B", 0));
+        done = columnRepository.save(new TaskColumn(userId, "Done", "#4ECDC4", 1));
+        for (int i = 0; i < TASKS; i++) {
+            Task task = new Task(userId, todo, "Task " + i, Priority.LOW);
+            task.setPosition(i);
+            taskIds.add(taskRepository.save(task).getId());
+        }
+        TaskColumn otherColumn = columnRepository.save(new TaskColumn(otherUserId, "To Do", "#FF6B6B", 0));
+        otherUsersTask = taskRepository.save(new Task(otherUserId, otherColumn, "Not mine", Priority.LOW));
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Verifies bulk priority updates run as one statement, skip other users' tasks and report the count.
+     */
+    @Test
+    void updateMultipleTasksPriorityIsSetBased() {
+        List<UUID> ids = new ArrayList<>(taskIds);
+        ids.add(otherUsersTask.getId());
+
+        int updated = taskService.updateMultipleTasksPriority(ids, Priority.HIGH, userId);
+
+        assertThat(updated).isEqualTo(TASKS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(taskRepository.findByUserIdAndPriorityOrderByCreatedAtDesc(userId, Priority.HIGH)).hasSize(TASKS);
+        assertThat(taskRepository.findById(otherUsersTask.getId())).get()
+                .extracting(Task::getPriority).isEqualTo(Priority.LOW);
+    }
+
+    /**
+     * Verifies bulk deletes remove tasks and their attachments without per-task statements.
+     */
+    @Test
+    void deleteMultipleTasksIsSetBased() {
+        Task withAttachment = taskRepository.findById(taskIds.get(0)).orElseThrow();
+        attachmentRepository.save(new TaskAttachment(withAttachment, "notes.pdf", "https://files/notes.pdf", 10L, "application/pdf"));
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        List<UUID> ids = new ArrayList<>(taskIds);
+        ids.add(otherUsersTask.getId());
+
+        int deleted = taskService.deleteMultipleTasks(ids, userId);
+
+        assertThat(deleted).isEqualTo(TASKS);
+        // Attachment and task deletes, plus the search version bump and its read-back
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+        assertThat(taskRepository.countByUserId(userId)).isZero();
+        assertThat(attachmentRepository.count()).isZero();
+        assertThat(taskRepository.existsById(otherUsersTask.getId())).isTrue();
+    }
+
+    /**
+     * Verifies bulk moves keep request order as positions and flush their updates as JDBC batches.
+     */
+    @Test
+    void moveMultipleTasksAppendsInRequestOrderWithBatchedUpdates() {
+        List<UUID> ids = new ArrayList<>(taskIds);
+        Collections.reverse(ids);
+        ids.add(otherUsersTask.getId());
+
+        int moved = taskService.moveMultipleTasks(ids, done.getId(), userId);
+        entityManager.flush();
+
+        assertThat(moved).isEqualTo(TASKS);
+        // Column lookup, max position and one chunk select, then batched updates instead of TASKS statements
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(TASKS / 4);
+        entityManager.clear();
+        List<Task> inDone = taskRepository.findByUserIdAndColumn_IdOrderByPositionAsc(userId, done.getId());
+        assertThat(inDone).extracting(Task::getId).containsExactlyElementsOf(ids.subList(0, TASKS));
+        assertThat(inDone.get(0).getPosition()).isEqualTo(PositionRanks.GAP);
+    }
+}
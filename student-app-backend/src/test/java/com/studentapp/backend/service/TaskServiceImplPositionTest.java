@@ -0,0 +1,302 @@
+package com.studentapp.backend.service;
+
+import com.studentapp.backend.dto.CursorPage;
+import com.studentapp.backend.repository.TaskColumnRepository;
+import com.studentapp.backend.repository.TaskRepository;
+import com.studentapp.backend.search.SearchIndex;
+import com.studentapp.common.model.Task;
+import com.studentapp.common.model.Task.Priority;
+import com.studentapp.common.model.TaskColumn;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests for sparse-rank task and column ordering in TaskServiceImpl, run against an embedded database.
+ */
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({TaskServiceImpl.class, SearchIndex.class})
+class TaskServiceImplPositionTest {
+
+    private static final int TASKS = 20;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskColumnRepository columnRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final UUID userId = UUID.randomUUID();
+    private TaskColumn todo;
+    private final List<Task> tasks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        taskService.initializeDefaultColumns(userId);
+        todo = taskService.getAllColumns(userId).get(0);
+        for (int i = 0; i < TASKS; i++) {
+            tasks.add(taskService.saveTask(new Task(userId, todo, "Task " + i, Priority.LOW), userId));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * Verifies moving a task into the middle of a column rewrites only that task's row.
+     */
+    @Test
+    void updateTaskPositionUpdatesOnlyTheMovedRow() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Task moved = tasks.get(TASKS - 1);
+        taskService.updateTaskPosition(moved.getId(), todo.getId(), 5, userId);
+        entityManager.flush();
+
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+        assertThat(titles(todo)).element(5).isEqualTo(moved.getTitle());
+    }
+
+    /**
+     * Verifies repeated drops into the same slot eventually rebalance the column and keep the requested order.
+     */
+    @Test
+    void repeatedInsertsAtOneSlotRebalanceAndKeepOrder() {
+        List<String> expected = new ArrayList<>(titles(todo));
+        // Each drop lands between the same two neighbours, halving the gap until it is exhausted
+        for (int i = 0; i < 15; i++) {
+            Task moved = tasks.get(TASKS - 1 - i);
+            taskService.updateTaskPosition(moved.getId(), todo.getId(), 1, userId);
+            expected.remove(moved.getTitle());
+            expected.add(1, moved.getTitle());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(titles(todo)).containsExactlyElementsOf(expected);
+        assertThat(taskRepository.findByUserIdAndColumn_IdOrderByPositionAsc(userId, todo.getId()))
+                .extracting(Task::getPosition).doesNotHaveDuplicates();
+    }
+
+    /**
+     * Verifies moving a task to another column's start or past its end places it there.
+     */
+    @Test
+    void updateTaskPositionAcrossColumnsHandlesEdges() {
+        TaskColumn done = taskService.getAllColumns(userId).get(2);
+        Task first = tasks.get(0);
+        Task second = tasks.get(1);
+
+        taskService.updateTaskPosition(first.getId(), done.getId(), 0, userId);
+        taskService.updateTaskPosition(second.getId(), done.getId(), 0, userId);
+        taskService.updateTaskPosition(tasks.get(2).getId(), done.getId(), 99, userId);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(titles(done)).containsExactly("Task 1", "Task 0", "Task 2");
+    }
+
+    /**
+     * Verifies column reorders and inserts at an index land between their neighbours.
+     */
+    @Test
+    void columnsAreOrderedByDropIndex() {
+        List<TaskColumn> columns = taskService.getAllColumns(userId);
+        taskService.updateColumnPosition(columns.get(2).getId(), 0, userId);
+        TaskColumn review = new TaskColumn(userId, "Review", "#ffffff", 2);
+        taskService.saveColumn(review, userId);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(taskService.getAllColumns(userId)).extracting(TaskColumn::getTitle)
+                .containsExactly("Done", "To Do", "Review", "In Progress");
+    }
+
+    /**
+     * Verifies appending to a column whose last rank is near Integer.MAX_VALUE renumbers it instead of wrapping.
+     */
+    @Test
+    void appendNearMaxRankRenumbersInsteadOfOverflowing() {
+        pushLastTaskToMaxRank();
+        List<String> expected = new ArrayList<>(titles(todo));
+
+        taskService.saveTask(new Task(userId, todo, "Appended", Priority.LOW), userId);
+        taskService.moveTaskToColumn(tasks.get(0).getId(), todo.getId(), userId);
+        entityManager.flush();
+        entityManager.clear();
+
+        expected.add("Appended");
+        expected.remove("Task 0");
+        expected.add("Task 0");
+        assertThat(titles(todo)).containsExactlyElementsOf(expected);
+        assertThat(positions(todo)).allMatch(position -> position > 0).doesNotHaveDuplicates();
+    }
+
+    /**
+     * Verifies a bulk move into a column near Integer.MAX_VALUE renumbers it and appends every task in order.
+     */
+    @Test
+    void moveMultipleTasksNearMaxRankRenumbersInsteadOfOverflowing() {
+        TaskColumn done = taskService.getAllColumns(userId).get(2);
+        Task last = taskService.saveTask(new Task(userId, done, "Last", Priority.LOW), userId);
+        last.setPosition(Integer.MAX_VALUE - 1);
+        taskRepository.save(last);
+        entityManager.flush();
+        entityManager.clear();
+
+        taskService.moveMultipleTasks(List.of(tasks.get(0).getId(), tasks.get(1).getId(), tasks.get(2).getId()),
+                done.getId(), userId);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(titles(done)).containsExactly("Last", "Task 0", "Task 1", "Task 2");
+        assertThat(positions(done)).allMatch(position -> position > 0);
+    }
+
+    /**
+     * Verifies getTasksPage walks every task exactly once in (position, id) order when ranks tie across columns.
+     */
+    @Test
+    void getTasksPageVisitsTiedRanksOnce() {
+        // Ranks restart per column, so these tie with the first tasks of To Do
+        TaskColumn inProgress = taskService.getAllColumns(userId).get(1);
+        for (int i = 0; i < 5; i++) {
+            taskService.saveTask(new Task(userId, inProgress, "Other " + i, Priority.LOW), userId);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        List<UUID> expected = taskRepository.findByUserIdOrderByPositionAscIdAsc(userId, PageRequest.of(0, 100)).stream()
+                .map(Task::getId)
+                .toList();
+
+        List<UUID> visited = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<Task> page = taskService.getTasksPage(userId, cursor, 3);
+            page.getItems().forEach(task -> visited.add(task.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(expected).hasSize(TASKS + 5);
+        assertThat(visited).containsExactlyElementsOf(expected);
+    }
+
+    /**
+     * Verifies saving a new task without a column or rank stores 0 rather than NULL, so it stays pageable.
+     */
+    @Test
+    void saveTaskWithNullPositionStoresZero() {
+        Task task = new Task(userId, null, "Loose", Priority.LOW);
+        task.setPosition(null);
+        taskService.saveTask(task, userId);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(taskRepository.findById(task.getId()).orElseThrow().getPosition()).isZero();
+    }
+
+    /**
+     * Verifies editing a task after a drag ignores the client's drop index and keeps the stored order.
+     */
+    @Test
+    void saveTaskUpdateKeepsStoredRank() {
+        Task moved = tasks.get(TASKS - 1);
+        taskService.updateTaskPosition(moved.getId(), todo.getId(), 2, userId);
+        entityManager.flush();
+        entityManager.clear();
+        List<String> expected = new ArrayList<>(titles(todo));
+
+        // The web client sends back its local index as the position
+        Task edited = taskRepository.findById(moved.getId()).orElseThrow();
+        entityManager.detach(edited);
+        edited.setTitle("Edited");
+        edited.setPosition(0);
+        taskService.saveTask(edited, userId);
+        entityManager.flush();
+        entityManager.clear();
+
+        expected.set(2, "Edited");
+        assertThat(titles(todo)).containsExactlyElementsOf(expected);
+    }
+
+    /**
+     * Verifies a task moved to another column through saveTask is appended there, whatever position it carries.
+     */
+    @Test
+    void saveTaskColumnChangeAppendsInNewColumn() {
+        TaskColumn done = taskService.getAllColumns(userId).get(2);
+        taskService.saveTask(new Task(userId, done, "Already done", Priority.LOW), userId);
+        entityManager.flush();
+        entityManager.clear();
+
+        Task moved = taskRepository.findById(tasks.get(0).getId()).orElseThrow();
+        entityManager.detach(moved);
+        moved.setColumn(done);
+        moved.setPosition(0);
+        taskService.saveTask(moved, userId);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(titles(done)).containsExactly("Already done", "Task 0");
+    }
+
+    /**
+     * Verifies editing a column ignores the client's position and keeps the stored column order.
+     */
+    @Test
+    void saveColumnUpdateKeepsStoredRank() {
+        TaskColumn done = taskService.getAllColumns(userId).get(2);
+        entityManager.detach(done);
+        done.setTitle("Finished");
+        done.setPosition(0);
+        taskService.saveColumn(done, userId);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(taskService.getAllColumns(userId)).extracting(TaskColumn::getTitle)
+                .containsExactly("To Do", "In Progress", "Finished");
+    }
+
+    // Gives the column's last task the highest rank there is, so the next append cannot add a gap
+    private void pushLastTaskToMaxRank() {
+        Task last = taskRepository.findById(tasks.get(TASKS - 1).getId()).orElseThrow();
+        last.setPosition(Integer.MAX_VALUE);
+        taskRepository.save(last);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private List<Integer> positions(TaskColumn column) {
+        return taskRepository.findByUserIdAndColumn_IdOrderByPositionAscIdAsc(userId, column.getId()).stream()
+                .map(Task::getPosition)
+                .toList();
+    }
+
+    private List<String> titles(TaskColumn column) {
+        return taskRepository.findByUserIdAndColumn_IdOrderByPositionAscIdAsc(userId, column.getId()).stream()
+                .map(Task::getTitle)
+                .toList();
+    }
+}
@@ -0,0 +1,78 @@
+package com.studentapp.backend.service;
+
+import com.studentapp.backend.repository.TaskRepository;
+import com.studentapp.common.model.Task;
+import com.studentapp.common.model.Task.Priority;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for how TaskServiceImpl prepares search terms for the full-text search query.
+ */
+@ExtendWith(MockitoExtension.class)
+class TaskServiceImplSearchTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @InjectMocks
+    private TaskServiceImpl taskService;
+
+    private final UUID userId = UUID.randomUUID();
+
+    /**
+     * Verifies LIKE wildcards and the escape character itself are escaped, backslash first.
+     */
+    @Test
+    void escapeLikeEscapesWildcardsAndEscapeCharacter() {
+        assertThat(TaskServiceImpl.escapeLike("50%_off")).isEqualTo("50\\%\\_off");
+        assertThat(TaskServiceImpl.escapeLike("a\\b")).isEqualTo("a\\\\b");
+        assertThat(TaskServiceImpl.escapeLike("\\%")).isEqualTo("\\\\\\%");
+        assertThat(TaskServiceImpl.escapeLike("plain")).isEqualTo("plain");
+    }
+
+    /**
+     * Verifies the substring pattern is lower-cased, escaped and wrapped in wildcards.
+     */
+    @Test
+    void likePatternLowerCasesAndWraps() {
+        assertThat(TaskServiceImpl.likePattern("Lab_Report")).isEqualTo("%lab\\_report%");
+    }
+
+    /**
+     * Verifies the trimmed term goes to the full-text search unchanged, the pattern to the substring fallback,
+     * and hits carry the term's words for highlighting.
+     */
+    @Test
+    void searchTasksPassesTrimmedTermAndPattern() {
+        Task task = new Task(userId, null, "Lab report", Priority.LOW);
+        when(taskRepository.searchTasksByUserId(userId, "Lab 100%", "%lab 100\\%%", 5)).thenReturn(List.of(task));
+
+        assertThat(taskService.searchTasks(userId, "  Lab 100%  ", 5))
+                .singleElement()
+                .satisfies(hit -> {
+                    assertThat(hit.getTitle()).isEqualTo("Lab report");
+                    assertThat(hit.getTitleHighlights()).isNotEmpty();
+                });
+    }
+
+    /**
+     * Verifies blank terms return nothing without querying.
+     */
+    @Test
+    void searchTasksIgnoresBlankTerms() {
+        assertThat(taskService.searchTasks(userId, null, 5)).isEmpty();
+        assertThat(taskService.searchTasks(userId, "   ", 5)).isEmpty();
+
+        verifyNoInteractions(taskRepository);
+    }
+}
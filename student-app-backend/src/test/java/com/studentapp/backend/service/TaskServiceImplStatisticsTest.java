@@ -0,0 +1,157 @@
+package com.studentapp.backend.service;
+
+import com.studentapp.backend.dto.TaskStatistics;
+import com.studentapp.backend.repository.TaskColumnRepository;
+import com.studentapp.backend.repository.TaskRepository;
+import com.studentapp.backend.search.SearchIndex;
+import com.studentapp.common.model.Task;
+import com.studentapp.common.model.Task.Priority;
+import com.studentapp.common.model.TaskColumn;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests for TaskServiceImpl dashboard statistics against an embedded database, including
+ * statement counts via Hibernate statistics.
+ */
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({TaskServiceImpl.class, SearchIndex.class})
+class TaskServiceImplStatisticsTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskColumnRepository columnRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final UUID userId = UUID.randomUUID();
+    private TaskColumn todo;
+    private TaskColumn done;
+    private Task overdue;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        todo = columnRepository.save(new TaskColumn(userId, "To Do", "#FF6B6B", 1024));
+        done = columnRepository.save(terminal(new TaskColumn(userId, "Done", "#4ECDC4", 2048)));
+        LocalDateTime yesterday = LocalDateTime.now().minusDays(1);
+        overdue = saveTask(todo, Priority.HIGH, yesterday);
+        saveTask(todo, Priority.HIGH, LocalDateTime.now().plusDays(2));
+        saveTask(todo, Priority.LOW, null);
+        saveTask(done, Priority.HIGH, yesterday);
+        saveTask(done, Priority.MEDIUM, null);
+        TaskColumn otherColumn = columnRepository.save(terminal(new TaskColumn(UUID.randomUUID(), "Done", "#4ECDC4", 1024)));
+        saveTask(otherColumn, Priority.LOW, yesterday);
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Verifies every dashboard statistic comes from a single statement.
+     */
+    @Test
+    void getTaskStatisticsSummaryUsesOneQuery() {
+        TaskStatistics summary = taskService.getTaskStatisticsSummary(userId);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(summary.totalTasks()).isEqualTo(5);
+        assertThat(summary.completedTasks()).isEqualTo(2);
+        assertThat(summary.overdueTasks()).isEqualTo(1);
+        assertThat(summary.countByPriority())
+                .isEqualTo(Map.of(Priority.HIGH, 3L, Priority.MEDIUM, 1L, Priority.LOW, 1L));
+        assertThat(summary.countByStatus()).isEqualTo(Map.of("To Do", 3L, "Done", 2L));
+    }
+
+    /**
+     * Verifies the /stats endpoint shapes are served from the summary.
+     */
+    @Test
+    void statsEndpointsKeepTheirShape() {
+        assertThat(taskService.getTaskStatistics(userId))
+                .isEqualTo(Map.of("totalTasks", 5L, "completedTasks", 2L, "overdueTasks", 1L));
+        assertThat(taskService.getTaskCountByPriority(userId)).containsEntry(Priority.HIGH, 3L);
+        assertThat(taskService.getTaskCountByStatus(userId)).containsEntry("Done", 2L);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    /**
+     * Verifies completion follows the task into and out of a terminal column, and that
+     * completed tasks drop out of the overdue list.
+     */
+    @Test
+    void movingIntoTerminalColumnCompletesTask() {
+        assertThat(taskService.getOverdueTasks(userId)).extracting(Task::getId).containsExactly(overdue.getId());
+
+        Task completed = taskService.moveTaskToColumn(overdue.getId(), done.getId(), userId);
+        LocalDateTime completedAt = completed.getCompletedAt();
+        assertThat(completedAt).isNotNull();
+        assertThat(taskService.getOverdueTasks(userId)).isEmpty();
+        assertThat(taskService.getTaskStatisticsSummary(userId).completedTasks()).isEqualTo(3);
+
+        assertThat(taskService.updateTaskPosition(overdue.getId(), done.getId(), 0, userId).getCompletedAt())
+                .isEqualTo(completedAt);
+        assertThat(taskService.moveTaskToColumn(overdue.getId(), todo.getId(), userId).getCompletedAt()).isNull();
+        assertThat(taskService.getOverdueTasks(userId)).hasSize(1);
+    }
+
+    /**
+     * Verifies switching a column's terminal flag completes and reopens the tasks already in it.
+     */
+    @Test
+    void switchingTerminalFlagUpdatesTasksInColumn() {
+        TaskColumn column = columnRepository.findById(todo.getId()).orElseThrow();
+        TaskColumn update = new TaskColumn(userId, column.getTitle(), column.getColor(), column.getPosition());
+        update.setId(column.getId());
+        update.setTerminal(true);
+        taskService.saveColumn(update, userId);
+
+        assertThat(taskService.getTaskStatisticsSummary(userId).completedTasks()).isEqualTo(5);
+        assertThat(taskService.getOverdueTasks(userId)).isEmpty();
+
+        update = new TaskColumn(userId, column.getTitle(), column.getColor(), column.getPosition());
+        update.setId(column.getId());
+        update.setTerminal(false);
+        taskService.saveColumn(update, userId);
+
+        assertThat(taskService.getTaskStatisticsSummary(userId).completedTasks()).isEqualTo(2);
+    }
+
+    private static TaskColumn terminal(TaskColumn column) {
+        column.setTerminal(true);
+        return column;
+    }
+
+    private Task saveTask(TaskColumn column, Priority priority, LocalDateTime dueDate) {
+        Task task = new Task(column.getUserId(), column, "Task", priority);
+        task.setDueDate(dueDate);
+        if (Boolean.TRUE.equals(column.getTerminal())) {
+            task.setCompletedAt(LocalDateTime.now());
+        }
+        return taskRepository.save(task);
+    }
+}
@@ -1,18 +1,20 @@
 package com.studentapp.common.model;
 
+import com.studentapp.common.id.TimeOrderedId;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
+@Cacheable
 @Table(name = "budget_limits", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"user_id", "category_id", "budget_month", "budget_year"})
 })
 public class BudgetLimit {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @TimeOrderedId
     private UUID id;
 
     @Column(name = "user_id", nullable = false)
@@ -4,20 +4,22 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.UUID;
 
+import com.studentapp.common.id.TimeOrderedId;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.EnumType;
-import jakarta.persistence.PrePersist;
 
 @Entity
 @Table(name = "calendar_events")
 public class CalendarEvent {
 
   @Id
-  private String id;
+  @TimeOrderedId
+  private UUID id;
 
   @Column(name = "event_name", nullable = false)
   private String eventName;
@@ -41,6 +43,24 @@ public class CalendarEvent {
   @Column(nullable = false)
   private UUID userId;
 
+  // iCalendar RRULE subset (FREQ, INTERVAL, BYDAY, COUNT, UNTIL); null for a one-off event.
+  // A recurring event is stored once, its start and end time describing the first occurrence.
+  @Column(name = "recurrence_rule")
+  private String recurrenceRule;
+
+  @Column(name = "recurrence_exceptions", columnDefinition = "TEXT")
+  private String recurrenceExceptions; // comma-separated start times of cancelled occurrences
+
+  // End of the last occurrence, derived from the rule on save; null while the series is unbounded
+  @Column(name = "recurrence_end")
+  private LocalDateTime recurrenceEnd;
+
+  // Not stored: set on occurrences expanded from a series to the start they were expanded with.
+  // The id and rule are the series', the start and end times the occurrence's own; saving an
+  // occurrence applies its edit to the series without moving the series to this date.
+  @Transient
+  private LocalDateTime occurrenceStart;
+
   public enum EventType {
     MEETING, PERSONAL, FINANCIAL, APPOINTMENT, OTHER
   }
@@ -49,13 +69,6 @@ public class CalendarEvent {
     // JPA requires a no-arg constructor
   }
 
-  @PrePersist
-  private void generateId() {
-    if (this.id == null) {
-      this.id = UUID.randomUUID().toString();
-    }
-  }
-
   public CalendarEvent(String title,String description, LocalDateTime startTime,
                        LocalDateTime endTime, String meetingLinks) {
     this.eventName = title;
@@ -66,11 +79,11 @@ public class CalendarEvent {
     this.meetingLinks = meetingLinks;
   }
 
-  public String getId() {
+  public UUID getId() {
     return id;
   }
 
-  public void setId(String id) {
+  public void setId(UUID id) {
     this.id = id;
   }
 
@@ -95,6 +108,18 @@ public class CalendarEvent {
   public UUID getUserId() { return userId; }
   public void setUserId(UUID userId) { this.userId = userId; }
 
+  public String getRecurrenceRule() { return recurrenceRule; }
+  public void setRecurrenceRule(String recurrenceRule) { this.recurrenceRule = recurrenceRule; }
+
+  public String getRecurrenceExceptions() { return recurrenceExceptions; }
+  public void setRecurrenceExceptions(String recurrenceExceptions) { this.recurrenceExceptions = recurrenceExceptions; }
+
+  public LocalDateTime getRecurrenceEnd() { return recurrenceEnd; }
+  public void setRecurrenceEnd(LocalDateTime recurrenceEnd) { this.recurrenceEnd = recurrenceEnd; }
+
+  public LocalDateTime getOccurrenceStart() { return occurrenceStart; }
+  public void setOccurrenceStart(LocalDateTime occurrenceStart) { this.occurrenceStart = occurrenceStart; }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
@@ -1,16 +1,18 @@
 package com.studentapp.common.model;
 
+import com.studentapp.common.id.TimeOrderedId;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 @Entity
+@Cacheable
 @Table(name = "expense_categories")
 public class ExpenseCategory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @TimeOrderedId
     private UUID id;
 
     @Column(name = "user_id", nullable = false)
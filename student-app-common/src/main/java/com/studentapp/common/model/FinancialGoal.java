@@ -1,5 +1,6 @@
 package com.studentapp.common.model;
 
+import com.studentapp.common.id.TimeOrderedId;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -11,7 +12,7 @@ import java.util.UUID;
 public class FinancialGoal {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @TimeOrderedId
     private UUID id;
 
     @Column(name = "user_id", nullable = false)
@@ -0,0 +1,101 @@
+package com.studentapp.common.model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Rollup of expenses per user, category and calendar month. Maintained incrementally
+ * on expense writes so finance analytics read one row per category instead of
+ * re-aggregating raw expenses.
+ */
+@Entity
+@Table(name = "monthly_category_spend")
+@IdClass(MonthlyCategorySpend.Key.class)
+public class MonthlyCategorySpend {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Id
+    @Column(name = "category_id", nullable = false)
+    private UUID categoryId;
+
+    @Id
+    @Column(name = "spend_year", nullable = false)
+    private Integer spendYear;
+
+    @Id
+    @Column(name = "spend_month", nullable = false)
+    private Integer spendMonth;
+
+    @Column(name = "total_amount", nullable = false, precision = 12, scale = 2)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    @Column(name = "expense_count", nullable = false)
+    private Long expenseCount = 0L;
+
+    public MonthlyCategorySpend() {}
+
+    public MonthlyCategorySpend(UUID userId, UUID categoryId, Integer spendYear, Integer spendMonth,
+                                BigDecimal totalAmount, Long expenseCount) {
+        this.userId = userId;
+        this.categoryId = categoryId;
+        this.spendYear = spendYear;
+        this.spendMonth = spendMonth;
+        this.totalAmount = totalAmount;
+        this.expenseCount = expenseCount;
+    }
+
+    // Getters and Setters
+    public UUID getUserId() { return userId; }
+    public void setUserId(UUID userId) { this.userId = userId; }
+
+    public UUID getCategoryId() { return categoryId; }
+    public void setCategoryId(UUID categoryId) { this.categoryId = categoryId; }
+
+    public Integer getSpendYear() { return spendYear; }
+    public void setSpendYear(Integer spendYear) { this.spendYear = spendYear; }
+
+    public Integer getSpendMonth() { return spendMonth; }
+    public void setSpendMonth(Integer spendMonth) { this.spendMonth = spendMonth; }
+
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+
+    public Long getExpenseCount() { return expenseCount; }
+    public void setExpenseCount(Long expenseCount) { this.expenseCount = expenseCount; }
+
+    public static class Key implements Serializable {
+        private UUID userId;
+        private UUID categoryId;
+        private Integer spendYear;
+        private Integer spendMonth;
+
+        public Key() {}
+
+        public Key(UUID userId, UUID categoryId, Integer spendYear, Integer spendMonth) {
+            this.userId = userId;
+            this.categoryId = categoryId;
+            this.spendYear = spendYear;
+            this.spendMonth = spendMonth;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return Objects.equals(userId, key.userId) && Objects.equals(categoryId, key.categoryId)
+                && Objects.equals(spendYear, key.spendYear) && Objects.equals(spendMonth, key.spendMonth);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, categoryId, spendYear, spendMonth);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.studentapp.common.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.studentapp.common.id.TimeOrderedId;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -12,7 +14,7 @@ import java.util.UUID;
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @TimeOrderedId
     private UUID id;
 
     @Column(name = "user_id", nullable = false)
@@ -42,7 +44,7 @@ public class Task {
     @Column(name = "due_date")
     private LocalDateTime dueDate;
 
-    @Column(name = "position")
+    @Column(name = "position", nullable = false)
     private Integer position = 0;
 
     @Column(name = "tags", length = 1000)
@@ -51,6 +53,11 @@ public class Task {
     @Column(name = "project_id")
     private UUID projectId; // for future project grouping
 
+    // Set by the service when the task enters a terminal column, cleared when it leaves one
+    @Column(name = "completed_at")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime completedAt;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -121,6 +128,9 @@ public class Task {
     public UUID getProjectId() { return projectId; }
     public void setProjectId(UUID projectId) { this.projectId = projectId; }
 
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
@@ -1,5 +1,6 @@
 package com.studentapp.common.model;
 
+import com.studentapp.common.id.TimeOrderedId;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -9,7 +10,7 @@ import java.util.UUID;
 public class TaskAttachment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @TimeOrderedId
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
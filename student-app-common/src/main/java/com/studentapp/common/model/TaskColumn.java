@@ -1,18 +1,20 @@
 package com.studentapp.common.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.studentapp.common.id.TimeOrderedId;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 @Entity
+@Cacheable
 @Table(name = "task_columns")
 @JsonIgnoreProperties({"column"})
 public class TaskColumn {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @TimeOrderedId
     private UUID id;
 
     @Column(name = "user_id", nullable = false)
@@ -27,6 +29,9 @@ public class TaskColumn {
     @Column(name = "position", nullable = false)
     private Integer position;
 
+    @Column(name = "is_terminal", nullable = false)
+    private Boolean terminal; // tasks in a terminal column (e.g. "Done") count as completed
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -34,6 +39,7 @@ public class TaskColumn {
     private LocalDateTime updatedAt;
 
     @OneToMany(mappedBy = "column", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
+    @OrderBy("position ASC, id ASC")
     @JsonIgnoreProperties("column")
     private List<Task> tasks;
 
@@ -50,6 +56,9 @@ public class TaskColumn {
 
     @PrePersist
     protected void onCreate() {
+        if (terminal == null) {
+            terminal = false;
+        }
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
     }
@@ -75,6 +84,9 @@ public class TaskColumn {
     public Integer getPosition() { return position; }
     public void setPosition(Integer position) { this.position = position; }
 
+    public Boolean getTerminal() { return terminal; }
+    public void setTerminal(Boolean terminal) { this.terminal = terminal; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
@@ -3,10 +3,9 @@ package com.studentapp.common.model;
 
 import java.util.UUID;
 
+import com.studentapp.common.id.TimeOrderedId;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 
@@ -14,7 +13,7 @@ import jakarta.persistence.Table;
 @Table(name = "users")
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @TimeOrderedId
     private UUID id;
 
     @Column(nullable = false, unique = true)
@@ -26,6 +25,11 @@ public class User {
     @Column(nullable = false)
     private String password;
 
+    // Bumped by the backend on every write to the user's searchable rows, never through the entity
+    @Column(name = "search_version", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "BIGINT DEFAULT 0 NOT NULL")
+    private long searchVersion;
+
     // Getters and setters
     public UUID getId() { return id; }
     public void setId(UUID id) { this.id = id; }
@@ -35,4 +39,5 @@ public class User {
     public void setEmail(String email) { this.email = email; }
     public String getPassword() { return password; }
     public void setPassword(String password) { this.password = password; }
+    public long getSearchVersion() { return searchVersion; }
 } 
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.studentapp.common.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for UuidV7 layout and ordering.
+ */
+class UuidV7Test {
+
+    /**
+     * Verifies the version and variant bits and that the timestamp reads back.
+     */
+    @Test
+    void layoutFollowsRfc9562() {
+        long now = System.currentTimeMillis();
+        UUID uuid = UuidV7.generate(now);
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertTrue(UuidV7.timestamp(uuid) >= now);
+    }
+
+    /**
+     * Verifies ids from the same millisecond, and beyond one millisecond's sequence space, keep increasing.
+     */
+    @Test
+    void idsIncreaseWithinAMillisecond() {
+        long now = System.currentTimeMillis();
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(UuidV7.generate(now));
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1).toString().compareTo(ids.get(i).toString()) < 0,
+                    "ids out of order at " + i);
+        }
+        assertEquals(ids.size(), new HashSet<>(ids).size());
+    }
+
+    /**
+     * Verifies a clock that steps backwards does not produce smaller ids.
+     */
+    @Test
+    void clockGoingBackwardsKeepsOrder() {
+        long now = System.currentTimeMillis();
+        UUID first = UuidV7.generate(now);
+        UUID second = UuidV7.generate(now - 1_000);
+
+        assertTrue(first.toString().compareTo(second.toString()) < 0);
+    }
+
+    /**
+     * Verifies timestamp() rejects random (version 4) ids.
+     */
+    @Test
+    void timestampRejectsOtherVersions() {
+        assertThrows(IllegalArgumentException.class, () -> UuidV7.timestamp(UUID.randomUUID()));
+    }
+}
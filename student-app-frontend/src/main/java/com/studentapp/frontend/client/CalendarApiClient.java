@@ -11,6 +11,8 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.net.URI;
 import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 
 /**
  * This class handles HTTP communication with the backend API.
@@ -34,9 +36,21 @@ public class CalendarApiClient {
   }
 
   public List<CalendarEvent> getEvents() {
+    return fetchEvents(URI.create(backendUrl));
+  }
+
+  /**
+   * Events overlapping [from, to), including multi-day events that start before the window.
+   */
+  public List<CalendarEvent> getEventsInRange(LocalDateTime from, LocalDateTime to) {
+    return fetchEvents(URI.create(backendUrl + "?from=" + from.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+      + "&to=" + to.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)));
+  }
+
+  private List<CalendarEvent> fetchEvents(URI uri) {
     try {
       HttpRequest.Builder builder = HttpRequest.newBuilder()
-        .uri(URI.create(backendUrl))
+        .uri(uri)
         .timeout(Duration.ofSeconds(10))
         .header("Accept", "application/json")
         .GET();
@@ -94,9 +108,15 @@ public class CalendarApiClient {
   }
 
   public boolean deleteEvent(String id) {
+    return deleteEvent(id, (LocalDateTime) null);
+  }
+
+  // With an occurrence start, cancels only that occurrence of a recurring series
+  public boolean deleteEvent(String id, LocalDateTime occurrenceStart) {
     try {
+      String query = occurrenceStart == null ? "" : "?occurrence=" + occurrenceStart;
       HttpRequest.Builder builder = HttpRequest.newBuilder()
-        .uri(URI.create(backendUrl + "/" + id))
+        .uri(URI.create(backendUrl + "/" + id + query))
         .timeout(Duration.ofSeconds(10))
         .DELETE();
       if (jwtToken != null) {
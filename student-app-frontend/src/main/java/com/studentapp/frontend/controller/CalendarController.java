@@ -21,9 +21,11 @@ import java.net.URL;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.layout.Priority;
@@ -34,7 +36,12 @@ public class CalendarController implements Initializable {
     private CalendarView calendarView;
     private String jwtToken;
     private final CalendarApiClient apiClient;
-    private List<CalendarEvent> allEvents = new ArrayList<>();
+    // Events per month, filled by the visible month and its prefetched neighbours
+    private final Map<YearMonth, CachedMonth> monthCache = new ConcurrentHashMap<>();
+    // Bumped by every cache clear; a load started before the clear must not repopulate the cache
+    private final AtomicLong cacheGeneration = new AtomicLong();
+
+    private record CachedMonth(long generation, List<CalendarEvent> events) {}
 
     public CalendarController() {
         this.apiClient = new CalendarApiClient();
@@ -51,6 +58,7 @@ public class CalendarController implements Initializable {
 
     public void setJwtToken(String token) {
         this.jwtToken = token;
+        clearMonthCache();
         if(jwtToken != null) {
             calendarView.setJwtToken(jwtToken);
         }
@@ -59,6 +67,7 @@ public class CalendarController implements Initializable {
     public void clearJwtToken() {
         this.jwtToken = null;
         apiClient.clearJwtToken();
+        clearMonthCache();
     }
 
     private void setupListeners() {
@@ -69,21 +78,75 @@ public class CalendarController implements Initializable {
     }
 
     private void loadEventsForMonth(YearMonth yearMonth) {
+        long generation = cacheGeneration.get();
         new Thread(() -> {
             apiClient.setJwtToken(jwtToken); // Ensure JWT token is set
-            List<CalendarEvent> events = apiClient.getEvents();
-            allEvents = events;
-            
-            // Remove the yearMonth filter to show all events
-            Map<LocalDate, List<CalendarEvent>> eventsByDate = events.stream()
-                    .filter(e -> e.getStartTime() != null)
-                    .collect(Collectors.groupingBy(e -> e.getStartTime().toLocalDate()));
-            
-            System.out.println("Events by date: " + eventsByDate);
-            Platform.runLater(() -> calendarView.updateCalendar(yearMonth, eventsByDate));
+            List<CalendarEvent> events = eventsForMonth(yearMonth, generation);
+
+            Map<LocalDate, List<CalendarEvent>> eventsByDate = groupByVisibleDate(yearMonth, events);
+            Platform.runLater(() -> {
+                // The user may have moved on while this month was loading, or a change may have
+                // cleared the cache and started a newer load
+                if (yearMonth.equals(calendarView.getCurrentYearMonth()) && generation == cacheGeneration.get()) {
+                    calendarView.updateCalendar(yearMonth, eventsByDate);
+                }
+            });
+
+            // Prefetch the months the user is most likely to flip to next
+            eventsForMonth(yearMonth.minusMonths(1), generation);
+            eventsForMonth(yearMonth.plusMonths(1), generation);
         }).start();
     }
 
+    private List<CalendarEvent> eventsForMonth(YearMonth yearMonth, long generation) {
+        CachedMonth cached = monthCache.get(yearMonth);
+        if (cached != null && cached.generation() == cacheGeneration.get()) {
+            return cached.events();
+        }
+        List<CalendarEvent> events = apiClient.getEventsInRange(
+                yearMonth.atDay(1).atStartOfDay(), yearMonth.plusMonths(1).atDay(1).atStartOfDay());
+        // Without a token the request is rejected; do not remember that as an empty month.
+        // An entry stamped with an older generation is ignored by the lookup above.
+        if (jwtToken != null && generation == cacheGeneration.get()) {
+            monthCache.put(yearMonth, new CachedMonth(generation, events));
+        }
+        return events;
+    }
+
+    // Events may span several months, so any change drops every cached month
+    private void reloadCurrentMonth() {
+        clearMonthCache();
+        loadEventsForMonth(calendarView.getCurrentYearMonth());
+    }
+
+    private void clearMonthCache() {
+        cacheGeneration.incrementAndGet();
+        monthCache.clear();
+    }
+
+    // A multi-day event shows on every day of the month it covers
+    private static Map<LocalDate, List<CalendarEvent>> groupByVisibleDate(YearMonth yearMonth, List<CalendarEvent> events) {
+        Map<LocalDate, List<CalendarEvent>> eventsByDate = new HashMap<>();
+        for (CalendarEvent event : events) {
+            LocalDateTime start = event.getStartTime();
+            if (start == null) {
+                continue;
+            }
+            LocalDateTime end = event.getEndTime() != null && event.getEndTime().isAfter(start) ? event.getEndTime() : start;
+            LocalDate lastDay = end.toLocalDate();
+            // An event ending at midnight does not occupy the day that just began
+            if (end.isAfter(start) && end.toLocalTime().equals(LocalTime.MIDNIGHT)) {
+                lastDay = lastDay.minusDays(1);
+            }
+            LocalDate first = start.toLocalDate().isBefore(yearMonth.atDay(1)) ? yearMonth.atDay(1) : start.toLocalDate();
+            LocalDate last = lastDay.isAfter(yearMonth.atEndOfMonth()) ? yearMonth.atEndOfMonth() : lastDay;
+            for (LocalDate day = first; !day.isAfter(last); day = day.plusDays(1)) {
+                eventsByDate.computeIfAbsent(day, d -> new ArrayList<>()).add(event);
+            }
+        }
+        return eventsByDate;
+    }
+
     private void handleAddEvent(LocalDate date) {
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/com/studentapp/frontend/add-event-view.fxml"));
@@ -164,7 +227,7 @@ public class CalendarController implements Initializable {
                     System.out.println("Add event: "+jwtToken);
                     apiClient.setJwtToken(jwtToken);
                     apiClient.addEvent(event);
-                    loadEventsForMonth(calendarView.getCurrentYearMonth());
+                    reloadCurrentMonth();
                     dialogStage.close();
                 } catch (Exception ex) {
                     ex.printStackTrace();
@@ -188,14 +251,15 @@ public class CalendarController implements Initializable {
         result.ifPresent(name -> {
             event.setEventName(name);
             apiClient.updateEvent(event);
-            loadEventsForMonth(calendarView.getCurrentYearMonth());
+            reloadCurrentMonth();
         });
     }
 
     private void handleDeleteEvent(CalendarEvent event) {
         apiClient.setJwtToken(jwtToken);
-        apiClient.deleteEvent(event.getId());
-        loadEventsForMonth(calendarView.getCurrentYearMonth());
+        // An occurrence of a recurring series is cancelled on its own, the series stays
+        apiClient.deleteEvent(event.getId().toString(), event.getOccurrenceStart());
+        reloadCurrentMonth();
     }
 
 
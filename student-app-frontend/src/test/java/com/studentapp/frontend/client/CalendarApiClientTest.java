@@ -13,8 +13,10 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.LocalDateTime;
+import java.util.UUID;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 /**
@@ -118,7 +120,7 @@ class CalendarApiClientTest {
     void testUpdateEvent() {
         apiClient.setJwtToken("valid-token");
         CalendarEvent event = new CalendarEvent();
-        event.setId("1");
+        event.setId(new UUID(0, 1));
         event.setEventName("Updated Event");
         event.setDescription("Updated Description");
         event.setStartTime(LocalDateTime.now());
@@ -248,6 +250,21 @@ class CalendarApiClientTest {
         assertDoesNotThrow(() -> apiClient.getEvents());
     }
 
+    /**
+     * Tests getEventsInRange sends the window as ISO date-time query parameters.
+     */
+    @Test
+    void testGetEventsInRangeSendsWindow() throws Exception {
+        when(mockHttpResponse.statusCode()).thenReturn(200);
+        when(mockHttpResponse.body()).thenReturn("[]");
+        when(mockHttpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(mockHttpResponse);
+        apiClient.setJwtToken("valid-token");
+        assertTrue(apiClient.getEventsInRange(LocalDateTime.of(2024, 2, 1, 0, 0), LocalDateTime.of(2024, 3, 1, 0, 0)).isEmpty());
+        verify(mockHttpClient).send(argThat(request -> request.uri().toString()
+                .endsWith("/api/calendar/events?from=2024-02-01T00:00:00&to=2024-03-01T00:00:00")), any(HttpResponse.BodyHandler.class));
+    }
+
     /**
      * Tests validation of event data before sending.
      */
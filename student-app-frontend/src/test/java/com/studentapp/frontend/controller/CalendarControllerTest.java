@@ -21,6 +21,7 @@ import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -108,7 +109,7 @@ class CalendarControllerTest {
         // Test loading events for a month
         List<CalendarEvent> mockEvents = new ArrayList<>();
         CalendarEvent event = new CalendarEvent();
-        event.setId("1");
+        event.setId(new UUID(0, 1));
         event.setEventName("Test Event");
         event.setStartTime(LocalDateTime.now());
         event.setEndTime(LocalDateTime.now().plusHours(1));
@@ -145,7 +146,7 @@ class CalendarControllerTest {
     void testEditEventDialog(FxRobot robot) {
         // Test that edit event dialog opens correctly
         CalendarEvent testEvent = new CalendarEvent();
-        testEvent.setId("1");
+        testEvent.setId(new UUID(0, 1));
         testEvent.setEventName("Test Event");
         testEvent.setStartTime(LocalDateTime.now());
         
@@ -161,7 +162,7 @@ class CalendarControllerTest {
     void testDeleteEvent(FxRobot robot) {
         // Test deleting an event
         CalendarEvent testEvent = new CalendarEvent();
-        testEvent.setId("1");
+        testEvent.setId(new UUID(0, 1));
         testEvent.setEventName("Test Event");
         
         // The deleteEvent method is not static, so we can't mock it this way
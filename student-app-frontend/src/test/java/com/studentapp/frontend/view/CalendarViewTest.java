@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.TimeoutException;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -62,7 +63,7 @@ class CalendarViewTest {
         Map<LocalDate, List<CalendarEvent>> eventsByDate = new HashMap<>();
         List<CalendarEvent> events = new ArrayList<>();
         CalendarEvent event1 = new CalendarEvent();
-        event1.setId("1");
+        event1.setId(new UUID(0, 1));
         event1.setEventName("Test Event 1");
         event1.setDescription("Test Description 1");
         event1.setStartTime(LocalDateTime.of(2025, 7, 12, 10, 0));
@@ -90,7 +91,7 @@ class CalendarViewTest {
         Map<LocalDate, List<CalendarEvent>> eventsByDate = new HashMap<>();
         List<CalendarEvent> events = new ArrayList<>();
         CalendarEvent event = new CalendarEvent();
-        event.setId("1");
+        event.setId(new UUID(0, 1));
         event.setEventName("Test Event");
         event.setDescription("Test Description");
         event.setStartTime(LocalDateTime.of(2025, 7, 12, 10, 0));
@@ -117,7 +118,7 @@ class CalendarViewTest {
         Map<LocalDate, List<CalendarEvent>> eventsByDate = new HashMap<>();
         List<CalendarEvent> events = new ArrayList<>();
         CalendarEvent event = new CalendarEvent();
-        event.setId("1");
+        event.setId(new UUID(0, 1));
         event.setEventName("Test Event");
         event.setDescription("Test Description");
         event.setStartTime(LocalDateTime.of(2025, 7, 12, 10, 0));
@@ -144,7 +145,7 @@ class CalendarViewTest {
         Map<LocalDate, List<CalendarEvent>> eventsByDate = new HashMap<>();
         List<CalendarEvent> events = new ArrayList<>();
         CalendarEvent event = new CalendarEvent();
-        event.setId("1");
+        event.setId(new UUID(0, 1));
         event.setEventName("Test Event");
         event.setDescription("Test Description");
         event.setStartTime(LocalDateTime.of(2025, 7, 12, 10, 0));
@@ -173,14 +174,14 @@ class CalendarViewTest {
         
         // Create conflicting events
         CalendarEvent event1 = new CalendarEvent();
-        event1.setId("1");
+        event1.setId(new UUID(0, 1));
         event1.setEventName("Event 1");
         event1.setStartTime(LocalDateTime.of(2025, 7, 12, 10, 0));
         event1.setEndTime(LocalDateTime.of(2025, 7, 12, 11, 0));
         events.add(event1);
         
         CalendarEvent event2 = new CalendarEvent();
-        event2.setId("2");
+        event2.setId(new UUID(0, 2));
         event2.setEventName("Event 2");
         event2.setStartTime(LocalDateTime.of(2025, 7, 12, 10, 30));
         event2.setEndTime(LocalDateTime.of(2025, 7, 12, 11, 30));
@@ -229,7 +230,7 @@ class CalendarViewTest {
         Map<LocalDate, List<CalendarEvent>> eventsByDate = new HashMap<>();
         List<CalendarEvent> events = new ArrayList<>();
         CalendarEvent event = new CalendarEvent();
-        event.setId("1");
+        event.setId(new UUID(0, 1));
         event.setEventName("Test Event");
         event.setDescription("Test Description");
         event.setStartTime(LocalDateTime.of(2025, 7, 12, 10, 0));
@@ -283,7 +284,7 @@ class CalendarViewTest {
         
         List<CalendarEvent> events1 = new ArrayList<>();
         CalendarEvent event1 = new CalendarEvent();
-        event1.setId("1");
+        event1.setId(new UUID(0, 1));
         event1.setEventName("Event 1");
         event1.setStartTime(LocalDateTime.of(2025, 7, 12, 10, 0));
         event1.setEndTime(LocalDateTime.of(2025, 7, 12, 11, 0));
@@ -291,7 +292,7 @@ class CalendarViewTest {
         
         List<CalendarEvent> events2 = new ArrayList<>();
         CalendarEvent event2 = new CalendarEvent();
-        event2.setId("2");
+        event2.setId(new UUID(0, 2));
         event2.setEventName("Event 2");
         event2.setStartTime(LocalDateTime.of(2025, 7, 13, 14, 0));
         event2.setEndTime(LocalDateTime.of(2025, 7, 13, 15, 0));
@@ -318,7 +319,7 @@ class CalendarViewTest {
         Map<LocalDate, List<CalendarEvent>> eventsByDate = new HashMap<>();
         List<CalendarEvent> events = new ArrayList<>();
         CalendarEvent event = new CalendarEvent();
-        event.setId("1");
+        event.setId(new UUID(0, 1));
         event.setEventName("Test Event");
         event.setDescription("Test Description");
         event.setStartTime(LocalDateTime.of(2025, 7, 12, 10, 0));
@@ -345,7 +346,7 @@ class CalendarViewTest {
         Map<LocalDate, List<CalendarEvent>> eventsByDate = new HashMap<>();
         List<CalendarEvent> events = new ArrayList<>();
         CalendarEvent event = new CalendarEvent();
-        event.setId("1");
+        event.setId(new UUID(0, 1));
         event.setEventName("Test Event");
         event.setDescription("This is a test description for the event");
         event.setStartTime(LocalDateTime.of(2025, 7, 12, 10, 0));
@@ -372,7 +373,7 @@ class CalendarViewTest {
         Map<LocalDate, List<CalendarEvent>> eventsByDate = new HashMap<>();
         List<CalendarEvent> events = new ArrayList<>();
         CalendarEvent event = new CalendarEvent();
-        event.setId("1");
+        event.setId(new UUID(0, 1));
         event.setEventName("All Day Event");
         event.setDescription("This is an all-day event");
         event.setStartTime(LocalDateTime.of(2025, 7, 12, 0, 0));
@@ -399,7 +400,7 @@ class CalendarViewTest {
         Map<LocalDate, List<CalendarEvent>> eventsByDate = new HashMap<>();
         List<CalendarEvent> events = new ArrayList<>();
         CalendarEvent event = new CalendarEvent();
-        event.setId("1");
+        event.setId(new UUID(0, 1));
         event.setEventName("Multi-Day Event");
         event.setDescription("This event spans multiple days");
         event.setStartTime(LocalDateTime.of(2025, 7, 12, 10, 0));
@@ -426,7 +427,7 @@ class CalendarViewTest {
         Map<LocalDate, List<CalendarEvent>> eventsByDate = new HashMap<>();
         List<CalendarEvent> events = new ArrayList<>();
         CalendarEvent event = new CalendarEvent();
-        event.setId("1");
+        event.setId(new UUID(0, 1));
         event.setEventName("High Priority Event");
         event.setDescription("This is a high priority event");
         event.setStartTime(LocalDateTime.of(2025, 7, 12, 10, 0));
@@ -453,7 +454,7 @@ class CalendarViewTest {
         Map<LocalDate, List<CalendarEvent>> eventsByDate = new HashMap<>();
         List<CalendarEvent> events = new ArrayList<>();
         CalendarEvent event = new CalendarEvent();
-        event.setId("1");
+        event.setId(new UUID(0, 1));
         event.setEventName("Categorized Event");
         event.setDescription("This event has a category");
         event.setStartTime(LocalDateTime.of(2025, 7, 12, 10, 0));
@@ -643,7 +644,7 @@ class CalendarViewTest {
         
         for (int i = 0; i < 100; i++) {
             CalendarEvent event = new CalendarEvent();
-            event.setId(String.valueOf(i));
+            event.setId(new UUID(0, i));
             event.setEventName("Event " + i);
             event.setStartTime(LocalDateTime.of(2025, 7, 12, i % 24, 0));
             event.setEndTime(LocalDateTime.of(2025, 7, 12, Math.min((i % 24) + 1, 23), 0));